@@ -0,0 +1,27 @@
+package com.compiladores.compilador.ast;
+
+// Atribuição: id '=' expressão ';'
+public class Assign extends Statement {
+
+    private final Identifier target;
+    private final Expression value;
+
+    public Assign(int line, int column, Identifier target, Expression value) {
+        super(line, column);
+        this.target = target;
+        this.value = value;
+    }
+
+    public Identifier getTarget() {
+        return target;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitAssign(this);
+    }
+}
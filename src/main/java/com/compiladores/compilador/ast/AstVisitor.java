@@ -0,0 +1,35 @@
+package com.compiladores.compilador.ast;
+
+/**
+ * Visitante da AST: cada fase (análise semântica, geração de código) implementa um método por tipo de nó.
+ * R é o tipo de retorno de cada visita e E a exceção que a fase pode lançar
+ * (CompilerException na análise semântica, RuntimeException na geração de código).
+ */
+public interface AstVisitor<R, E extends Exception> {
+
+    R visitProgram(Program node) throws E;
+
+    R visitVarDecl(VarDecl node) throws E;
+
+    R visitConstDecl(ConstDecl node) throws E;
+
+    R visitBlock(Block node) throws E;
+
+    R visitIf(If node) throws E;
+
+    R visitWhile(While node) throws E;
+
+    R visitAssign(Assign node) throws E;
+
+    R visitWrite(Write node) throws E;
+
+    R visitReadln(Readln node) throws E;
+
+    R visitBinary(Binary node) throws E;
+
+    R visitUnary(Unary node) throws E;
+
+    R visitLiteral(Literal node) throws E;
+
+    R visitIdentifier(Identifier node) throws E;
+}
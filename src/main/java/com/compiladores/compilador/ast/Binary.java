@@ -0,0 +1,36 @@
+package com.compiladores.compilador.ast;
+
+import com.compiladores.compilador.lexer.TokenKind;
+
+// Operação binária aritmética (+ - * /), relacional (== <> < > <= >=) ou lógica (and, or).
+public class Binary extends Expression {
+
+    private final TokenKind operator;
+    private final Expression left;
+    private final Expression right;
+
+    // A posição é a do operador.
+    public Binary(int line, int column, TokenKind operator, Expression left, Expression right) {
+        super(line, column);
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    public TokenKind getOperator() {
+        return operator;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitBinary(this);
+    }
+}
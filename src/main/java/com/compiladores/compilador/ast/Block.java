@@ -0,0 +1,23 @@
+package com.compiladores.compilador.ast;
+
+import java.util.List;
+
+// Bloco 'begin' ... 'end'; também é um comando, pois blocos podem ser aninhados.
+public class Block extends Statement {
+
+    private final List<Statement> statements;
+
+    public Block(int line, int column, List<Statement> statements) {
+        super(line, column);
+        this.statements = statements;
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitBlock(this);
+    }
+}
@@ -0,0 +1,14 @@
+package com.compiladores.compilador.ast;
+
+// Declaração de constante: 'final' id '=' valor ';' (o tipo vem do valor).
+public class ConstDecl extends Decl {
+
+    public ConstDecl(int line, int column, Identifier name, Expression value) {
+        super(line, column, name, value);
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitConstDecl(this);
+    }
+}
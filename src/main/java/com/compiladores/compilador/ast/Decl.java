@@ -0,0 +1,27 @@
+package com.compiladores.compilador.ast;
+
+// Declaração da seção inicial do programa: variável (VarDecl) ou constante (ConstDecl).
+public abstract class Decl extends Node {
+
+    private final Identifier name;
+    // Valor inicial (literal ou identificador); nulo quando a variável não é inicializada.
+    private final Expression initializer;
+
+    protected Decl(int line, int column, Identifier name, Expression initializer) {
+        super(line, column);
+        this.name = name;
+        this.initializer = initializer;
+    }
+
+    public Identifier getName() {
+        return name;
+    }
+
+    public Expression getInitializer() {
+        return initializer;
+    }
+
+    public boolean hasInitializer() {
+        return initializer != null;
+    }
+}
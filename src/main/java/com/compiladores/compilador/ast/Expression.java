@@ -0,0 +1,29 @@
+package com.compiladores.compilador.ast;
+
+import com.compiladores.compilador.lexer.LcType;
+
+/**
+ * Expressão da linguagem. O tipo começa como NULL e é preenchido pela análise semântica,
+ * de modo que a geração de código lê o tipo já verificado de cada nó.
+ */
+public abstract class Expression extends Node {
+
+    private LcType type = LcType.NULL;
+
+    protected Expression(int line, int column) {
+        super(line, column);
+    }
+
+    public LcType getType() {
+        return type;
+    }
+
+    public void setType(LcType type) {
+        this.type = type;
+    }
+
+    // Indica se a expressão é um único operando (literal ou identificador).
+    public boolean isOperand() {
+        return false;
+    }
+}
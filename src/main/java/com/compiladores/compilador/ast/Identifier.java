@@ -0,0 +1,48 @@
+package com.compiladores.compilador.ast;
+
+import com.compiladores.compilador.symboltable.Declaration;
+
+/**
+ * Uso (ou declaração) de um identificador. Guarda o nome como foi escrito e o id de símbolo
+ * normalizado pelo léxico; a análise semântica liga o nó à sua declaração.
+ */
+public class Identifier extends Expression {
+
+    private final String name;
+    private final int symbolId;
+    private Declaration declaration;
+
+    public Identifier(int line, int column, String name, int symbolId) {
+        super(line, column);
+        this.name = name;
+        this.symbolId = symbolId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    // Declaração a que o identificador foi ligado pela análise semântica (nula antes dela).
+    public Declaration getDeclaration() {
+        return declaration;
+    }
+
+    public void setDeclaration(Declaration declaration) {
+        this.declaration = declaration;
+        setType(declaration.getType());
+    }
+
+    @Override
+    public boolean isOperand() {
+        return true;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitIdentifier(this);
+    }
+}
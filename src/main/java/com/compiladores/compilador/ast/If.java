@@ -0,0 +1,38 @@
+package com.compiladores.compilador.ast;
+
+// Condicional: 'if' condição 'begin' comandos ['else' bloco] 'end'.
+public class If extends Statement {
+
+    private final Expression condition;
+    private final Block thenBlock;
+    // Bloco do 'else'; nulo quando não há.
+    private final Block elseBlock;
+
+    public If(int line, int column, Expression condition, Block thenBlock, Block elseBlock) {
+        super(line, column);
+        this.condition = condition;
+        this.thenBlock = thenBlock;
+        this.elseBlock = elseBlock;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Block getThenBlock() {
+        return thenBlock;
+    }
+
+    public Block getElseBlock() {
+        return elseBlock;
+    }
+
+    public boolean hasElse() {
+        return elseBlock != null;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitIf(this);
+    }
+}
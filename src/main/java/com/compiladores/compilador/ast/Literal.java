@@ -0,0 +1,36 @@
+package com.compiladores.compilador.ast;
+
+import com.compiladores.compilador.lexer.LcType;
+import com.compiladores.compilador.lexer.TokenKind;
+
+// Constante literal (inteiro, byte hexadecimal, string ou booleano), com o lexema como foi escrito.
+public class Literal extends Expression {
+
+    private final String lexeme;
+    private final TokenKind kind;
+
+    public Literal(int line, int column, String lexeme, TokenKind kind, LcType type) {
+        super(line, column);
+        this.lexeme = lexeme;
+        this.kind = kind;
+        setType(type);
+    }
+
+    public String getLexeme() {
+        return lexeme;
+    }
+
+    public TokenKind getKind() {
+        return kind;
+    }
+
+    @Override
+    public boolean isOperand() {
+        return true;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitLiteral(this);
+    }
+}
@@ -0,0 +1,27 @@
+package com.compiladores.compilador.ast;
+
+/**
+ * Nó base da árvore sintática abstrata (AST) produzida pelo SyntaticAnalyzer.
+ * Todo nó guarda a posição (linha e coluna) do token que o originou, usada nas mensagens de erro.
+ * As fases seguintes percorrem a árvore por meio de um AstVisitor.
+ */
+public abstract class Node {
+
+    private final int line;
+    private final int column;
+
+    protected Node(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public abstract <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E;
+}
@@ -0,0 +1,29 @@
+package com.compiladores.compilador.ast;
+
+import java.util.List;
+
+// Programa completo: seção de declarações seguida do bloco principal.
+public class Program extends Node {
+
+    private final List<Decl> declarations;
+    private final Block block;
+
+    public Program(List<Decl> declarations, Block block) {
+        super(block.getLine(), block.getColumn());
+        this.declarations = declarations;
+        this.block = block;
+    }
+
+    public List<Decl> getDeclarations() {
+        return declarations;
+    }
+
+    public Block getBlock() {
+        return block;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitProgram(this);
+    }
+}
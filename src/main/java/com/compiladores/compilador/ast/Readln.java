@@ -0,0 +1,21 @@
+package com.compiladores.compilador.ast;
+
+// Leitura: 'readln' ',' id ';'
+public class Readln extends Statement {
+
+    private final Identifier target;
+
+    public Readln(int line, int column, Identifier target) {
+        super(line, column);
+        this.target = target;
+    }
+
+    public Identifier getTarget() {
+        return target;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitReadln(this);
+    }
+}
@@ -0,0 +1,9 @@
+package com.compiladores.compilador.ast;
+
+// Comando do corpo do programa.
+public abstract class Statement extends Node {
+
+    protected Statement(int line, int column) {
+        super(line, column);
+    }
+}
@@ -0,0 +1,29 @@
+package com.compiladores.compilador.ast;
+
+import com.compiladores.compilador.lexer.TokenKind;
+
+// Operação unária; na linguagem LC, apenas a negação lógica 'not'.
+public class Unary extends Expression {
+
+    private final TokenKind operator;
+    private final Expression operand;
+
+    public Unary(int line, int column, TokenKind operator, Expression operand) {
+        super(line, column);
+        this.operator = operator;
+        this.operand = operand;
+    }
+
+    public TokenKind getOperator() {
+        return operator;
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitUnary(this);
+    }
+}
@@ -0,0 +1,23 @@
+package com.compiladores.compilador.ast;
+
+import com.compiladores.compilador.lexer.LcType;
+
+// Declaração de variável: tipo id ['=' valor] ';'
+public class VarDecl extends Decl {
+
+    private final LcType type;
+
+    public VarDecl(int line, int column, LcType type, Identifier name, Expression initializer) {
+        super(line, column, name, initializer);
+        this.type = type;
+    }
+
+    public LcType getType() {
+        return type;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitVarDecl(this);
+    }
+}
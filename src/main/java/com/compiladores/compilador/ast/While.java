@@ -0,0 +1,27 @@
+package com.compiladores.compilador.ast;
+
+// Laço: 'while' condição bloco.
+public class While extends Statement {
+
+    private final Expression condition;
+    private final Block body;
+
+    public While(int line, int column, Expression condition, Block body) {
+        super(line, column);
+        this.condition = condition;
+        this.body = body;
+    }
+
+    public Expression getCondition() {
+        return condition;
+    }
+
+    public Block getBody() {
+        return body;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitWhile(this);
+    }
+}
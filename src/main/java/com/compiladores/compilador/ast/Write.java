@@ -0,0 +1,30 @@
+package com.compiladores.compilador.ast;
+
+import java.util.List;
+
+// Escrita: ('write' | 'writeln') ',' valor {',' valor} ';'
+public class Write extends Statement {
+
+    private final boolean newLine;
+    private final List<Expression> arguments;
+
+    public Write(int line, int column, boolean newLine, List<Expression> arguments) {
+        super(line, column);
+        this.newLine = newLine;
+        this.arguments = arguments;
+    }
+
+    // Indica se é um 'writeln' (quebra a linha ao final).
+    public boolean isNewLine() {
+        return newLine;
+    }
+
+    public List<Expression> getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public <R, E extends Exception> R accept(AstVisitor<R, E> visitor) throws E {
+        return visitor.visitWrite(this);
+    }
+}
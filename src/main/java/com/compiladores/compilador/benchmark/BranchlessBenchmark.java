@@ -0,0 +1,95 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.codegen.AssemblyGenerator;
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.ir.IrBuilder;
+import com.compiladores.compilador.ir.IrProgram;
+import com.compiladores.compilador.ir.PassManager;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.parser.SyntaticAnalyzer;
+import com.compiladores.compilador.semantic.SemanticAnalyzer;
+import com.compiladores.compilador.symboltable.SymbolsTable;
+
+/**
+ * Compara o código gerado com e sem a seleção sem desvio (setcc/cmovcc) para um programa cujo
+ * laço decide com base em valores lidos da entrada, imprevisíveis para o preditor de desvios.
+ * O Assembly gerado é para Windows (MASM) e não pode ser executado aqui; por isso são contados
+ * os saltos condicionais no corpo do laço (cada um é executado a cada iteração e, com dados
+ * aleatórios, erra a previsão cerca de metade das vezes) e as instruções setcc/cmovcc.
+ *
+ * Uso: BranchlessBenchmark
+ */
+public class BranchlessBenchmark {
+
+    private static final String SOURCE = String.join("\n",
+            "int i;",
+            "int v;",
+            "int max;",
+            "int min;",
+            "int count;",
+            "int total;",
+            "boolean big;",
+            "begin",
+            "  i = 0;",
+            "  max = 0;",
+            "  min = 32767;",
+            "  count = 0;",
+            "  total = 0;",
+            "  while i < 1000 begin",
+            "    readln, v;",
+            "    if v > max begin max = v; end",
+            "    if v < min begin min = v; end",
+            "    if v > 16384 begin big = true; else begin big = false; end end",
+            "    if big begin count = count + 1; end",
+            "    if v > 100 begin total = total + v; else begin total = total - v; end end",
+            "    i = i + 1;",
+            "  end",
+            "  writeln, \"max=\", max, \" min=\", min, \" count=\", count, \" total=\", total;",
+            "end");
+
+    public static void main(String[] args) throws CompilerException {
+        System.out.printf("%-16s %12s %18s %14s%n", "Modo", "Instruções", "Saltos cond./iter.", "setcc/cmovcc");
+        report("com desvios", compile(false));
+        report("sem desvios", compile(true));
+    }
+
+    private static String compile(boolean branchless) throws CompilerException {
+        SymbolsTable table = new SymbolsTable();
+        new LexicalAnalyzer(table).analyzeSource(SOURCE);
+        Program program = new SyntaticAnalyzer(table).parseProgram();
+        new SemanticAnalyzer(table).analyze(program);
+        IrProgram ir = new IrBuilder().build(program);
+        PassManager.defaultPipeline(branchless).run(ir);
+        return new AssemblyGenerator(table, "branchless").generate(ir);
+    }
+
+    // Conta as instruções do corpo do laço principal (entre _loop1 e o salto de volta).
+    private static void report(String mode, String assembly) {
+        int instructions = 0;
+        int conditionalJumps = 0;
+        int selects = 0;
+        boolean inLoop = false;
+        for (String line : assembly.split("\n")) {
+            String text = line.trim();
+            if (text.equals("_loop1:")) {
+                inLoop = true;
+                continue;
+            }
+            if (!inLoop || text.isEmpty() || text.endsWith(":")) {
+                continue;
+            }
+            if (text.equals("jmp _loop1")) {
+                break;
+            }
+            instructions++;
+            if (text.startsWith("j") && !text.startsWith("jmp")) {
+                conditionalJumps++;
+            }
+            if (text.startsWith("set") || text.startsWith("cmov")) {
+                selects++;
+            }
+        }
+        System.out.printf("%-16s %12d %18d %14d%n", mode, instructions, conditionalJumps, selects);
+    }
+}
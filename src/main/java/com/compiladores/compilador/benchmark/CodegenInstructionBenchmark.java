@@ -0,0 +1,88 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.codegen.AssemblyGenerator;
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.ir.IrBuilder;
+import com.compiladores.compilador.ir.IrProgram;
+import com.compiladores.compilador.ir.PassManager;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.parser.SyntaticAnalyzer;
+import com.compiladores.compilador.semantic.SemanticAnalyzer;
+import com.compiladores.compilador.symboltable.SymbolsTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Conta as instruções Assembly geradas para os programas de exemplo, depois das passagens de
+ * otimização da IR e antes do otimizador peephole.
+ * Além do total, mostra quantas são push/pop e quantas acessam temporários em memória (spill),
+ * o que permite acompanhar o efeito da alocação de registradores e das otimizações da IR.
+ *
+ * Uso: CodegenInstructionBenchmark [diretório com arquivos .lc]
+ */
+public class CodegenInstructionBenchmark {
+
+    private static final String DEFAULT_DIR = "src/main/java/com/compiladores/compilador/io/LC_Codes/successes";
+
+    public static void main(String[] args) throws IOException, CompilerException {
+        Path dir = Path.of(args.length > 0 ? args[0] : DEFAULT_DIR);
+
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(dir)) {
+            files = entries.filter(file -> file.toString().endsWith(".lc")).sorted().toList();
+        }
+
+        System.out.printf("%-24s %8s %12s %10s %8s%n", "Programa", "IR", "Instruções", "push/pop", "Spill");
+        int[] total = new int[4];
+        for (Path file : files) {
+            String name = file.getFileName().toString().replaceFirst("[.][^.]+$", "");
+            int[] counts = compile(file, name);
+            System.out.printf("%-24s %8d %12d %10d %8d%n", name, counts[0], counts[1], counts[2], counts[3]);
+            for (int i = 0; i < total.length; i++) {
+                total[i] += counts[i];
+            }
+        }
+        System.out.printf("%-24s %8d %12d %10d %8d%n", "Total", total[0], total[1], total[2], total[3]);
+    }
+
+    // Compila o arquivo até o texto Assembly e conta as instruções da seção .code.
+    private static int[] compile(Path file, String name) throws IOException, CompilerException {
+        SymbolsTable table = new SymbolsTable();
+        new LexicalAnalyzer(table).analyzeSource(Files.readString(file));
+        Program program = new SyntaticAnalyzer(table).parseProgram();
+        new SemanticAnalyzer(table).analyze(program);
+        IrProgram ir = new IrBuilder().build(program);
+        PassManager.defaultPipeline().run(ir);
+        int irSize = ir.size();
+        String assembly = new AssemblyGenerator(table, name).generate(ir);
+
+        int instructions = 0;
+        int stack = 0;
+        int spill = 0;
+        boolean code = false;
+        for (String line : assembly.split("\n")) {
+            String text = line.trim();
+            if (text.equals(".code")) {
+                code = true;
+                continue;
+            }
+            // Ignora linhas vazias, rótulos e diretivas.
+            if (!code || text.isEmpty() || text.endsWith(":") || text.startsWith("end ")) {
+                continue;
+            }
+            instructions++;
+            if (text.startsWith("push ") || text.startsWith("pop ")) {
+                stack++;
+            }
+            if (text.contains("_tmp")) {
+                spill++;
+            }
+        }
+        return new int[]{irSize, instructions, stack, spill};
+    }
+}
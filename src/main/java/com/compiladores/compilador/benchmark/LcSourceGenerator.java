@@ -0,0 +1,50 @@
+package com.compiladores.compilador.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera programas LC sintética e semanticamente válidos para os benchmarks.
+ * A semente é fixa para que todas as execuções meçam exatamente a mesma entrada.
+ */
+class LcSourceGenerator {
+
+    private LcSourceGenerator() {
+    }
+
+    /**
+     * Gera um programa com 'variables' variáveis inteiras e 'statements' comandos no bloco principal,
+     * misturando atribuições aritméticas, condicionais, laços, escrita e comentários.
+     */
+    static List<String> generate(int variables, int statements) {
+        Random random = new Random(42);
+        List<String> lines = new ArrayList<>(variables + statements + 8);
+
+        lines.add("/* Programa gerado para benchmark */");
+        for (int i = 0; i < variables; i++) {
+            lines.add("int v" + i + ";");
+        }
+        lines.add("boolean flag = true;");
+        lines.add("string texto;");
+        lines.add("final LIMITE = 100;");
+        lines.add("{ Bloco Principal }");
+        lines.add("begin");
+
+        for (int i = 0; i < statements; i++) {
+            String a = "v" + random.nextInt(variables);
+            String b = "v" + random.nextInt(variables);
+            String c = "v" + random.nextInt(variables);
+            switch (random.nextInt(5)) {
+                case 0 -> lines.add("  " + a + " = " + b + " * " + random.nextInt(100) + " + (" + c + " - LIMITE) / 2;");
+                case 1 -> lines.add("  if " + a + " >= " + b + " begin " + c + " = " + c + " + 1; end");
+                case 2 -> lines.add("  while " + a + " < LIMITE begin " + a + " = " + a + " + 1; end { laco }");
+                case 3 -> lines.add("  writeln, \"valor: \", " + a + ";");
+                default -> lines.add("  " + a + " = " + random.nextInt(32767) + "; /* literal */");
+            }
+        }
+
+        lines.add("end");
+        return lines;
+    }
+}
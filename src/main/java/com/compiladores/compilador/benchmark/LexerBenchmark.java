@@ -0,0 +1,99 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.symboltable.SymbolsTable;
+
+import java.util.List;
+
+/**
+ * Compara a vazão do analisador léxico por autômato (LexicalAnalyzer) com a
+ * implementação original por expressões regulares (RegexLexicalAnalyzer), e mede
+ * também o modo de arquivo inteiro, em que o código é analisado de um único buffer.
+ * Antes de medir, confere que as duas implementações produzem a mesma sequência de tokens.
+ *
+ * Uso: LexerBenchmark [comandos] [repetições]
+ */
+public class LexerBenchmark {
+
+    public static void main(String[] args) throws CompilerException {
+        int statements = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        List<String> lines = LcSourceGenerator.generate(1_000, statements);
+        long chars = 0;
+        for (String line : lines) {
+            chars += line.length() + 1;
+        }
+
+        verifySameTokens(lines);
+        String wholeSource = String.join("\n", lines);
+
+        System.out.printf("Entrada: %d linhas, %.1f MB%n", lines.size(), chars / 1e6);
+        for (int round = 1; round <= rounds; round++) {
+            long regexNanos = timeRegex(lines);
+            long dfaNanos = timeDfa(lines);
+            long wholeNanos = timeWholeSource(wholeSource);
+            System.out.printf("Rodada %d: regex %8.1f MB/s | autômato %8.1f MB/s | arquivo inteiro %8.1f MB/s | ganho %.1fx%n",
+                    round, throughput(chars, regexNanos), throughput(chars, dfaNanos), throughput(chars, wholeNanos),
+                    (double) regexNanos / dfaNanos);
+        }
+    }
+
+    // Garante que o autômato é uma substituição exata da cascata de expressões regulares.
+    private static void verifySameTokens(List<String> lines) throws CompilerException {
+        SymbolsTable expected = new SymbolsTable();
+        SymbolsTable actual = new SymbolsTable();
+        RegexLexicalAnalyzer regex = new RegexLexicalAnalyzer(expected);
+        LexicalAnalyzer dfa = new LexicalAnalyzer(actual);
+
+        int lineNumber = 1;
+        for (String line : lines) {
+            regex.analyze(line, lineNumber);
+            dfa.analyze(line, lineNumber);
+            lineNumber++;
+        }
+
+        if (expected.getSize() != actual.getSize()) {
+            throw new IllegalStateException("Quantidade de tokens diferente: " + expected.getSize() + " x " + actual.getSize());
+        }
+        for (int i = 0; i < expected.getSize(); i++) {
+            String expectedToken = expected.currentToken(i).toString();
+            String actualToken = actual.currentToken(i).toString();
+            if (!expectedToken.equals(actualToken)) {
+                throw new IllegalStateException("Token " + i + " diferente: " + expectedToken + " x " + actualToken);
+            }
+        }
+    }
+
+    private static long timeRegex(List<String> lines) throws CompilerException {
+        RegexLexicalAnalyzer lexer = new RegexLexicalAnalyzer(new SymbolsTable());
+        long start = System.nanoTime();
+        int lineNumber = 1;
+        for (String line : lines) {
+            lexer.analyze(line, lineNumber++);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long timeDfa(List<String> lines) throws CompilerException {
+        LexicalAnalyzer lexer = new LexicalAnalyzer(new SymbolsTable());
+        long start = System.nanoTime();
+        int lineNumber = 1;
+        for (String line : lines) {
+            lexer.analyze(line, lineNumber++);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long timeWholeSource(String source) throws CompilerException {
+        LexicalAnalyzer lexer = new LexicalAnalyzer(new SymbolsTable());
+        long start = System.nanoTime();
+        lexer.analyzeSource(source);
+        return System.nanoTime() - start;
+    }
+
+    private static double throughput(long chars, long nanos) {
+        return chars / 1e6 / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,57 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.parser.SyntaticAnalyzer;
+import com.compiladores.compilador.symboltable.SymbolsTable;
+
+/**
+ * Teste de carga do analisador sintático: analisa 1 milhão de comandos em um único bloco.
+ * A análise roda em uma thread com pilha pequena (256 KB) para mostrar que a profundidade
+ * de recursão do parser depende apenas do aninhamento real, e não do número de comandos,
+ * dispensando o aumento de -Xss. Apenas a análise sintática é cronometrada.
+ *
+ * Uso: ParserStressBenchmark [comandos]
+ */
+public class ParserStressBenchmark {
+
+    private static final long STACK_SIZE = 256 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int statements = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        SymbolsTable table = new SymbolsTable();
+        new LexicalAnalyzer(table).analyzeSource(String.join("\n", LcSourceGenerator.generate(100, statements)));
+        System.out.printf("%,d comandos, %,d tokens%n", statements, table.getSize());
+
+        Program[] result = new Program[1];
+        Throwable[] failure = new Throwable[1];
+        long[] elapsed = new long[1];
+
+        Thread parser = new Thread(null, () -> {
+            try {
+                long start = System.nanoTime();
+                result[0] = new SyntaticAnalyzer(table).parseProgram();
+                elapsed[0] = System.nanoTime() - start;
+            } catch (CompilerException | StackOverflowError e) {
+                failure[0] = e;
+            }
+        }, "parser", STACK_SIZE);
+        parser.start();
+        parser.join();
+
+        if (failure[0] != null) {
+            System.out.println("Falha na análise sintática: " + failure[0]);
+            System.exit(1);
+        }
+
+        int parsed = result[0].getBlock().getStatements().size();
+        if (parsed != statements) {
+            System.out.printf("Esperados %,d comandos no bloco principal, encontrados %,d%n", statements, parsed);
+            System.exit(1);
+        }
+        System.out.printf("Análise sintática: %.2f ms | %.1f ns/token | pilha de %d KB%n",
+                elapsed[0] / 1e6, (double) elapsed[0] / table.getSize(), STACK_SIZE / 1024);
+    }
+}
@@ -0,0 +1,127 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.optimizer.PeepholeOptimizer;
+import com.compiladores.compilador.optimizer.PeepholeRules;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Vazão do otimizador Peephole em streaming sobre um arquivo .asm grande (por padrão 256 MB),
+ * com o pico de heap medido para um décimo do tamanho e para o tamanho inteiro: no modo
+ * streaming o pico não deve crescer com o arquivo. Antes, confere que o streaming produz a
+ * mesma saída que o modo em memória (sem as otimizações de desvios) num arquivo menor.
+ * Deve ser executado isoladamente e com pouco heap (ex: -Xmx64m) para mostrar que a memória
+ * não depende da entrada.
+ *
+ * Uso: PeepholeStreamingBenchmark [megabytes]
+ */
+public class PeepholeStreamingBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        long megabytes = args.length > 0 ? Long.parseLong(args[0]) : 256;
+        Path directory = Files.createTempDirectory("peephole");
+        try {
+            checkSameOutput(directory);
+            measure(directory, Math.max(1, megabytes / 10));
+            measure(directory, megabytes);
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void checkSameOutput(Path directory) throws IOException {
+        Path input = directory.resolve("check.asm");
+        Path streamed = directory.resolve("check_optimized.asm");
+        write(input, 1L << 20);
+        List<String> expected = new PeepholeOptimizer(PeepholeRules.defaults(), false)
+                .optimizeLines(Files.readAllLines(input));
+        new PeepholeOptimizer().optimizeStream(input, streamed);
+        if (!expected.equals(Files.readAllLines(streamed))) {
+            throw new IllegalStateException("A saída em streaming difere da saída em memória.");
+        }
+        System.out.printf("Saída em streaming igual à em memória (%d linhas)%n", expected.size());
+    }
+
+    private static void measure(Path directory, long megabytes) throws IOException {
+        Path input = directory.resolve("input.asm");
+        Path output = directory.resolve("input_optimized.asm");
+        long bytes = write(input, megabytes << 20);
+
+        PeepholeOptimizer optimizer = new PeepholeOptimizer();
+        System.gc();
+        resetPeakHeap();
+        long start = System.nanoTime();
+        optimizer.optimizeStream(input, output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%6d MB: %7.2f s, %7.1f MB/s, saída %d MB, pico de heap %.1f MB%n", megabytes, seconds,
+                bytes / 1e6 / seconds, Files.size(output) >> 20, peakHeap() / 1e6);
+        Files.delete(input);
+        Files.delete(output);
+    }
+
+    /**
+     * Escreve blocos repetidos com oportunidades para as regras (identidade, push/pop, recarga,
+     * imediato, salto para a próxima instrução) até o arquivo ter o tamanho pedido.
+     */
+    private static long write(Path file, long size) throws IOException {
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(".code\nstart:\n");
+            for (int block = 0; written < size; block++) {
+                String text = "_bloco" + block + ":\n"
+                        + "    mov eax, x\n"
+                        + "    add eax, 0\n"
+                        + "    push ebx\n"
+                        + "    add eax, ecx\n"
+                        + "    pop ebx\n"
+                        + "    mov x, eax\n"
+                        + "    mov eax, x\n"
+                        + "\n"
+                        + "    push 5\n"
+                        + "    pop edx\n"
+                        + "    mov ebx, 7\n"
+                        + "    add eax, ebx\n"
+                        + "    mov ebx, y\n"
+                        + "    imul eax, 4\n"
+                        + "    cmp eax, 10\n"
+                        + "    jmp _fim" + block + "\n"
+                        + "_fim" + block + ":\n";
+                writer.write(text);
+                written += text.length();
+            }
+            writer.write("end start\n");
+        }
+        return written;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
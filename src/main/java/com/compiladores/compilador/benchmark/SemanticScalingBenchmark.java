@@ -0,0 +1,57 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.parser.SyntaticAnalyzer;
+import com.compiladores.compilador.semantic.SemanticAnalyzer;
+import com.compiladores.compilador.symboltable.SymbolsTable;
+
+/**
+ * Mede como a análise semântica escala com o número de declarações.
+ * Para cada tamanho, o programa gerado tem N variáveis e N comandos; apenas a fase
+ * semântica é cronometrada (o léxico e a construção da AST são refeitos fora da medição,
+ * pois a análise anota os nós e preenche a tabela de declarações). Com a resolução de nomes em uma única passada, o tempo por
+ * declaração deve permanecer aproximadamente constante de 100 a 100 mil declarações.
+ *
+ * Uso: SemanticScalingBenchmark [repetições]
+ */
+public class SemanticScalingBenchmark {
+
+    private static final int[] SIZES = {100, 1_000, 10_000, 100_000};
+
+    public static void main(String[] args) throws CompilerException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        // Aquecimento, para que a primeira medição não inclua a compilação JIT.
+        for (int i = 0; i < 3; i++) {
+            timeSemantic(String.join("\n", LcSourceGenerator.generate(10_000, 10_000)));
+        }
+
+        double previousNanos = 0;
+        for (int size : SIZES) {
+            String source = String.join("\n", LcSourceGenerator.generate(size, size));
+
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < rounds; round++) {
+                best = Math.min(best, timeSemantic(source));
+            }
+
+            String growth = previousNanos == 0 ? "-" : String.format("%.1fx", best / previousNanos);
+            System.out.printf("%,9d declarações: %9.2f ms | %7.1f ns/declaração | crescimento %s%n",
+                    size, best / 1e6, (double) best / size, growth);
+            previousNanos = best;
+        }
+    }
+
+    private static long timeSemantic(String source) throws CompilerException {
+        SymbolsTable table = new SymbolsTable();
+        new LexicalAnalyzer(table).analyzeSource(source);
+        Program program = new SyntaticAnalyzer(table).parseProgram();
+        SemanticAnalyzer semantic = new SemanticAnalyzer(table);
+
+        long start = System.nanoTime();
+        semantic.analyze(program);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,70 @@
+package com.compiladores.compilador.benchmark;
+
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.lexer.Token;
+import com.compiladores.compilador.lexer.TokenStream;
+import com.compiladores.compilador.symboltable.SymbolsTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara a memória ocupada por token na TokenStream (arrays primitivos paralelos e
+ * lexemas internados) com a representação anterior: um ArrayList de objetos Token,
+ * cada um com a sua própria String de lexema.
+ * A medição usa o heap ocupado após coletas de lixo explícitas, então deve ser executada
+ * isoladamente (por exemplo com -Xmx2g) para resultados estáveis.
+ *
+ * Uso: TokenMemoryBenchmark [comandos]
+ */
+public class TokenMemoryBenchmark {
+
+    public static void main(String[] args) throws CompilerException {
+        int statements = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        List<String> lines = LcSourceGenerator.generate(1_000, statements);
+
+        long baseline = usedMemory();
+        SymbolsTable table = new SymbolsTable();
+        LexicalAnalyzer lexer = new LexicalAnalyzer(table);
+        int lineNumber = 1;
+        for (String line : lines) {
+            lexer.analyze(line, lineNumber++);
+        }
+        long streamBytes = usedMemory() - baseline;
+        TokenStream tokens = table.getTokens();
+        int count = tokens.size();
+
+        baseline = usedMemory();
+        ArrayList<Token> legacy = toLegacyList(tokens);
+        long legacyBytes = usedMemory() - baseline;
+
+        System.out.printf("Tokens: %d (lexemas distintos: %d)%n", count, tokens.getLexemes().size());
+        System.out.printf("ArrayList<Token>: %6.1f bytes/token (%.1f MB)%n", (double) legacyBytes / count, legacyBytes / 1e6);
+        System.out.printf("TokenStream:      %6.1f bytes/token (%.1f MB), estimativa estrutural %.1f bytes/token%n",
+                (double) streamBytes / count, streamBytes / 1e6, (double) tokens.footprintBytes() / count);
+
+        // Mantém as duas estruturas vivas até o fim da medição.
+        if (legacy.size() != table.getSize()) {
+            throw new IllegalStateException();
+        }
+    }
+
+    // Reconstrói a representação antiga: um objeto Token e uma String nova para cada ocorrência.
+    private static ArrayList<Token> toLegacyList(TokenStream tokens) {
+        ArrayList<Token> list = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String lexeme = new String(tokens.lexeme(i).toCharArray());
+            list.add(new Token(lexeme, tokens.kind(i), tokens.type(i), tokens.line(i), tokens.column(i)));
+        }
+        return list;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
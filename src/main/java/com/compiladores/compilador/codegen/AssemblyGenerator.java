@@ -1,26 +1,44 @@
 package com.compiladores.compilador.codegen;
 
-import com.compiladores.compilador.lexer.Token;
+import com.compiladores.compilador.ir.Condition;
+import com.compiladores.compilador.ir.Const;
+import com.compiladores.compilador.ir.Global;
+import com.compiladores.compilador.ir.Instruction;
+import com.compiladores.compilador.ir.IrProgram;
+import com.compiladores.compilador.ir.Opcode;
+import com.compiladores.compilador.ir.Operand;
+import com.compiladores.compilador.ir.Temp;
+import com.compiladores.compilador.ir.Var;
+import com.compiladores.compilador.lexer.LcType;
 import com.compiladores.compilador.symboltable.SymbolsTable;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Stack;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Responsável por gerar o código Assembly (MASM) a partir da tabela de símbolos.
- * Esta é a fase final do compilador, traduzindo as estruturas da linguagem fonte
+ * Responsável por gerar o código Assembly (MASM) a partir do código de três endereços (IR).
+ * Esta é a fase final do compilador, traduzindo as instruções da IR
  * para instruções de máquina de baixo nível.
+ *
+ * Os temporários da IR ficam nos registradores escolhidos pelo RegisterAllocator; cada operação
+ * é calculada direto no registrador do seu resultado, sem passar pela pilha. Temporários que não
+ * couberam nos registradores ficam em variáveis auxiliares na seção .data.
  */
 public class AssemblyGenerator {
 
     private final SymbolsTable symbolsTable;
-    private Token currentToken;
-    private int currentTokenIndex = 0;
 
-    // Caminho e nome do arquivo de saída.
+    // Caminho e nome do arquivo com o código não otimizado, escrito só para depuração.
     private final String path = "./src/main/java/com/compiladores/compilador/codegen/out";
     private String fileName = "";
 
@@ -29,81 +47,78 @@ public class AssemblyGenerator {
     private final StringBuilder dataSection = new StringBuilder();   // Seção .data para variáveis e constantes.
     private final StringBuilder codeSection = new StringBuilder();   // Seção .code para o código executável.
 
-    // Contadores para gerar rótulos (labels) únicos.
+    // Contador para gerar rótulos (labels) únicos de strings.
     private int stringCount = 1;
-    private int loopCounter = 1;
-    private int ifCounter = 1;
 
     // Flag para controlar a declaração de formatos de `scanf` e evitar duplicação.
     private boolean formatDSDeclared = false;
 
+    // Rótulos alvo de um salto para trás (início de laço); são separados por uma linha em branco.
+    private final Set<String> loopHeaders = new HashSet<>();
+
+    // Registradores dos temporários e posição da instrução sendo traduzida.
+    private RegisterAllocator allocation;
+    private int index;
+
+    // Registradores auxiliares tomados na instrução atual; os que estavam ocupados são salvos na pilha.
+    private int scratchMask = 0;
+    private int operandMask = 0;
+    private final Deque<Register> savedScratch = new ArrayDeque<>();
+    // Número de leituras de cada temporário, usado para juntar uma operação à atribuição seguinte.
+    private final Map<Temp, Integer> uses = new HashMap<>();
+
     // Construtor que inicializa o gerador com a tabela de símbolos e o nome do arquivo de saída.
     public AssemblyGenerator(SymbolsTable symbolsTable, String fileName) {
         this.symbolsTable = symbolsTable;
-        this.fileName = fileName + ".asm";
-        if (this.symbolsTable.getSize() > 0) {
-            this.currentToken = this.symbolsTable.currentToken(this.currentTokenIndex);
-        } else {
-            this.currentToken = null;
-        }
-    }
-
-    // Avança para o próximo token na tabela de símbolos.
-    private void nextToken() {
-        this.currentTokenIndex++;
-        if (this.currentTokenIndex < this.symbolsTable.getSize()) {
-            this.currentToken = this.symbolsTable.currentToken(this.currentTokenIndex);
-        } else {
-            this.currentToken = null; // Fim da tabela de símbolos.
-        }
-    }
-
-    // Método auxiliar para verificar se uma string é um operador relacional.
-    private boolean isRelationalOperator(String op) {
-        if (op == null) return false;
-        return op.equals("==") || op.equals("<>") || op.equals("<") || op.equals(">") || op.equals("<=") || op.equals(">=");
+        this.fileName = fileName + "_unoptimized.asm";
     }
 
-    // Cria o diretório de saída para os arquivos .asm, se ele não existir.
-    private void createOutDirectory() {
-        File outDir = new File(this.path);
-        if (!outDir.exists()) {
-            outDir.mkdirs();
-        }
+    /**
+     * Ponto de entrada público para iniciar o processo de conversão para Assembly. As linhas
+     * geradas vão direto para o otimizador Peephole, sem passar por um arquivo intermediário.
+     */
+    public List<String> convert(IrProgram program) {
+        return this.generate(program).lines().toList();
     }
 
-    // Escreve o conteúdo final do código Assembly em um arquivo .asm.
-    private void writeAssemblyCode(String assemblyCode) {
+    /**
+     * Escreve o código ainda não otimizado em '<nome>_unoptimized.asm', para depuração
+     * (opção --dump-asm do compilador).
+     */
+    public void writeDebugDump(List<String> lines) {
         File asmFile = new File(this.path, this.fileName);
-        try (FileWriter writer = new FileWriter(asmFile)) {
-            writer.write(assemblyCode);
-            System.out.println("Código Assembly escrito com sucesso no arquivo '" + this.fileName + "'.");
+        try {
+            Files.createDirectories(asmFile.toPath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(asmFile.toPath())) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+            System.out.println("Código Assembly não otimizado escrito no arquivo '" + this.fileName + "'.");
         } catch (IOException e) {
             System.out.println("Erro ao escrever no arquivo '" + this.fileName + "': " + e.getMessage());
         }
     }
 
-    // Ponto de entrada público para iniciar o processo de conversão para Assembly.
-    public void convert() {
-        this.createOutDirectory();
-        this.generateAssemblyCode();
-    }
-
-    // Orquestra a geração das seções do código Assembly e escreve o resultado no arquivo.
-    private void generateAssemblyCode() {
+    // Orquestra a geração das seções do código Assembly e devolve o texto do arquivo.
+    public String generate(IrProgram program) {
         StringBuilder assemblyCode = new StringBuilder();
 
+        // Os registradores são alocados antes, pois os temporários em memória precisam de espaço na seção .data.
+        this.allocation = RegisterAllocator.allocate(program.getInstructions());
+
         // Gera cada seção separadamente.
         this.generateHeader();
-        this.generateDataSection();
-        this.generateCodeSection();
+        this.generateDataSection(program);
+        this.generateCodeSection(program);
 
         // Concatena todas as seções para formar o arquivo final.
         assemblyCode.append(this.headerSection);
         assemblyCode.append(this.dataSection);
         assemblyCode.append(this.codeSection);
 
-        this.writeAssemblyCode(assemblyCode.toString());
+        return assemblyCode.toString();
     }
 
     /**
@@ -125,178 +140,216 @@ public class AssemblyGenerator {
     }
 
     /**
-     * Gera a seção .data, percorrendo a tabela de símbolos para encontrar
-     * declarações de variáveis e constantes e alocando espaço para elas.
+     * Gera a seção .data, percorrendo as declarações globais da IR
+     * e alocando espaço para variáveis e constantes.
      */
-    private void generateDataSection() {
+    private void generateDataSection(IrProgram program) {
         this.dataSection.append(".data\n");
-        int originalIndex = this.currentTokenIndex; // Salva a posição atual.
-        this.currentTokenIndex = 0; // Reseta para o início da tabela.
-        if (this.symbolsTable.getSize() > 0) {
-            this.currentToken = this.symbolsTable.currentToken(this.currentTokenIndex);
-            // Itera apenas sobre a parte de declarações do código.
-            while (this.currentToken != null && isDeclarationScope()) {
-                identifyDeclaration();
+        for (Global global : program.getGlobals()) {
+            if (global.isConstant()) {
+                generateConstant(global);
+            } else {
+                generateVariable(global);
             }
         }
-        // Restaura a posição original para a geração da seção de código.
-        this.currentTokenIndex = originalIndex;
-        if (this.currentTokenIndex < this.symbolsTable.getSize()) {
-            this.currentToken = this.symbolsTable.currentToken(this.currentTokenIndex);
-        } else {
-            this.currentToken = null;
-        }
-    }
-
-    // Itera sobre as declarações de variáveis e constantes e as traduz para diretivas MASM.
-    private void identifyDeclaration() {
-        // Trata declarações de constantes (final).
-        if (this.currentToken.getName().equalsIgnoreCase("final")) {
-            nextToken(); // Consome 'final'.
-            String constName = this.currentToken.getName();
-            nextToken(); // Consome o nome da constante.
-            nextToken(); // Consome '='.
-            String constValue = this.currentToken.getName();
-
-            // Constantes string são declaradas como 'db' e seu endereço é atribuído com 'equ'.
-            if (constValue.startsWith("\"")) {
-                String actualString = constValue.substring(1, constValue.length() - 1);
-                String strLabel = "const_str_" + constName;
-                this.dataSection.append(String.format("    %-15s db \"%s\", 0\n", strLabel, actualString));
-                this.dataSection.append(String.format("    %-15s equ addr %s\n", constName, strLabel));
-            } else { // Constantes numéricas são diretamente traduzidas com 'equ'.
-                this.dataSection.append(String.format("    %-15s equ %s\n", constName, formatValue(constValue, "int")));
-            }
-            nextToken(); // Consome o valor.
-            nextToken(); // Consome ';'.
-        } else {
-            String type = this.currentToken.getName();
-            String dataTypeMASM = primitiveTypeMASM(type);
-            nextToken(); // Consome o tipo.
-
-            // Loop para tratar múltiplas declarações na mesma linha (ex: int a, b;).
-            while (this.currentToken != null && !this.currentToken.getName().equals(";")) {
-                String dataName = this.currentToken.getName();
-                nextToken(); // Consome o nome da variável.
-                String dataValue = "0"; // Valor padrão para variáveis não inicializadas.
-
-                // Strings são alocadas com um buffer de 256 bytes.
-                if (type.equalsIgnoreCase("string")) {
-                    this.dataSection.append(String.format("    %-15s db 256 dup(0)\n", dataName));
-                } else {
-                    // Verifica se há uma inicialização de valor.
-                    if (this.currentToken.getName().equals("=")) {
-                        nextToken(); // Consome '='.
-                        dataValue = formatValue(this.currentToken.getName(), type);
-                        nextToken(); // Consome o valor.
-                    }
-                    this.dataSection.append(String.format("    %-15s %-5s %s\n", dataName, dataTypeMASM, dataValue));
-                }
+        // Temporários que não couberam nos registradores.
+        for (Temp temp : this.allocation.getSpilled()) {
+            this.dataSection.append(String.format("    %-15s %-5s %s\n", spillSlot(temp), "dd", "0"));
+        }
+    }
 
-                if (this.currentToken != null && this.currentToken.getName().equals(",")) {
-                    nextToken(); // Consome ','.
-                }
-            }
-            if (this.currentToken != null && this.currentToken.getName().equals(";")) {
-                nextToken(); // Consome ';'.
+    // Constantes string são declaradas como 'db' e seu endereço é atribuído com 'equ'.
+    private void generateConstant(Global global) {
+        String constName = global.getVar().getName();
+        String constValue = global.hasInitializer() ? textOf(global.getInitializer()) : "0";
+
+        if (constValue.startsWith("\"")) {
+            String actualString = constValue.substring(1, constValue.length() - 1);
+            String strLabel = "const_str_" + constName;
+            this.dataSection.append(String.format("    %-15s db \"%s\", 0\n", strLabel, actualString));
+            this.dataSection.append(String.format("    %-15s equ addr %s\n", constName, strLabel));
+        } else { // Constantes numéricas são diretamente traduzidas com 'equ'.
+            this.dataSection.append(String.format("    %-15s equ %s\n", constName, formatValue(constValue, LcType.INT)));
+        }
+    }
+
+    // Cada variável declarada vira uma diretiva de dados MASM.
+    private void generateVariable(Global global) {
+        String dataName = global.getVar().getName();
+        LcType type = global.getVar().getType();
+
+        // Strings são alocadas com um buffer de 256 bytes.
+        if (type == LcType.STRING) {
+            this.dataSection.append(String.format("    %-15s db 256 dup(0)\n", dataName));
+        } else {
+            String dataValue = "0"; // Valor padrão para variáveis não inicializadas.
+            if (global.hasInitializer()) {
+                dataValue = formatValue(textOf(global.getInitializer()), type);
             }
+            this.dataSection.append(String.format("    %-15s %-5s %s\n", dataName, primitiveTypeMASM(type), dataValue));
         }
     }
 
-    // Gera a seção .code, onde a lógica do programa é traduzida em instruções.
-    private void generateCodeSection() {
+    // Gera a seção .code, traduzindo cada instrução da IR em ordem.
+    private void generateCodeSection(IrProgram program) {
         this.codeSection.append(".code\n").append("start:\n");
-        this.beginGeneration();
+        findLoopHeaders(program.getInstructions());
+        List<Instruction> instructions = program.getInstructions();
+        countUses(instructions);
+        for (int i = 0; i < instructions.size(); i++) {
+            this.index = i;
+            this.operandMask = registersOf(instructions.get(i));
+            if (i + 1 < instructions.size() && generateReadModifyWrite(instructions.get(i), instructions.get(i + 1))) {
+                i++; // A atribuição foi gerada junto com a operação.
+            } else {
+                generateInstruction(instructions.get(i));
+            }
+            releaseScratch();
+        }
         // Finaliza o programa chamando a função ExitProcess.
         this.codeSection.append("\n    invoke ExitProcess, 0\n").append("end start\n");
     }
 
-    // Inicia a geração de código a partir do bloco principal 'begin'.
-    private void beginGeneration() {
-        // Avança todos os tokens da fase de declaração até encontrar 'begin'.
-        while (this.currentToken != null && !this.currentToken.getName().equalsIgnoreCase("begin")) {
-            nextToken();
-        }
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("begin")) {
-            nextToken(); // Consome 'begin'.
-        }
-
-        // Processa todos os comandos dentro do bloco principal.
-        while (this.currentToken != null && !this.currentToken.getName().equalsIgnoreCase("end")) {
-            identifyCommands();
-        }
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("end")) {
-            nextToken(); // Consome 'end'.
+    // Conta quantas vezes cada temporário é lido.
+    private void countUses(List<Instruction> instructions) {
+        for (Instruction instruction : instructions) {
+            for (Operand operand : new Operand[]{instruction.getLeft(), instruction.getRight()}) {
+                if (operand instanceof Temp temp) {
+                    this.uses.merge(temp, 1, Integer::sum);
+                }
+            }
+            for (Operand argument : instruction.getArguments()) {
+                if (argument instanceof Temp temp) {
+                    this.uses.merge(temp, 1, Integer::sum);
+                }
+            }
         }
     }
 
     /**
-     * Identifica o comando atual e delega para o método de geração apropriado.
-     * Atua como um dispatcher para os diferentes comandos da linguagem.
+     * Atualiza a variável direto na memória quando a operação só serve para gravar nela mesma:
+     *   t = x + y; x = t   ->   add x, y
+     *   t = not f; f = t   ->   xor f, 1
+     * Vale para add, sub, and, or e not, desde que o temporário não seja lido em outro lugar.
+     * O outro operando entra como imediato ou registrador (memória para memória não existe),
+     * com 8 bits quando a variável é boolean/byte.
      */
-    private void identifyCommands() {
-        if (this.currentToken == null) return;
-
-        switch (this.currentToken.getName().toLowerCase()) {
-            case "write", "writeln" -> identifyWrite();
-            case "readln" -> identifyRead();
-            case "while" -> identifyWhile();
-            case "if" -> identifyIf();
-            case ";" -> nextToken(); // Ignora comandos nulos (ponto e vírgula extra).
+    private boolean generateReadModifyWrite(Instruction operation, Instruction assignment) {
+        if (assignment.getOpcode() != Opcode.COPY || !(operation.getResult() instanceof Temp temp)
+                || !temp.equals(assignment.getLeft()) || this.uses.getOrDefault(temp, 0) != 1) {
+            return false;
+        }
+        Var target = (Var) assignment.getResult();
+        Operand other;
+        String mnemonic;
+        switch (operation.getOpcode()) {
+            case ADD, AND, OR -> {
+                if (!target.equals(operation.getLeft()) && !target.equals(operation.getRight())) {
+                    return false;
+                }
+                other = target.equals(operation.getLeft()) ? operation.getRight() : operation.getLeft();
+                mnemonic = operation.getOpcode() == Opcode.ADD ? "add" : operation.getOpcode() == Opcode.AND ? "and" : "or";
+            }
+            case SUB -> {
+                if (!target.equals(operation.getLeft())) {
+                    return false;
+                }
+                other = operation.getRight();
+                mnemonic = "sub";
+            }
+            case NOT -> {
+                if (!target.equals(operation.getLeft())) {
+                    return false;
+                }
+                other = Const.of(target.getType(), 1);
+                mnemonic = "xor";
+            }
             default -> {
-                // Se não for uma palavra-chave, assume que é uma atribuição (que começa com um ID).
-                if (this.currentToken.getClassification().equalsIgnoreCase("ID")) {
-                    identifyAssignment();
-                } else {
-                    // Ignora tokens inesperados que não sejam 'end'.
-                    if (!this.currentToken.getName().equalsIgnoreCase("end")) {
-                        nextToken();
+                return false;
+            }
+        }
+
+        boolean byteSized = target.getType().isByteSized();
+        String value;
+        if (isImmediate(other)) {
+            value = textOf(other, other.getType());
+        } else if (registerOf(other) != null) {
+            Register register = registerOf(other);
+            if (byteSized && register.name8() == null) {
+                return false;
+            }
+            value = byteSized ? register.name8() : register.toString();
+        } else {
+            Register scratch = acquireScratch(byteSized ? Register.BYTE_ADDRESSABLE : Register.ALL);
+            if (byteSized && other instanceof Var var) {
+                emit("mov " + scratch.name8() + ", " + var.getName());
+            } else {
+                load(scratch, other);
+            }
+            value = byteSized ? scratch.name8() : scratch.toString();
+        }
+        emit(mnemonic + " " + target.getName() + ", " + value);
+        return true;
+    }
+
+    // Um rótulo referenciado por um salto que vem depois dele é o início de um laço.
+    private void findLoopHeaders(List<Instruction> instructions) {
+        Set<String> defined = new HashSet<>();
+        for (Instruction instruction : instructions) {
+            switch (instruction.getOpcode()) {
+                case LABEL -> defined.add(instruction.getLabel());
+                case JUMP, BRANCH -> {
+                    if (defined.contains(instruction.getLabel())) {
+                        this.loopHeaders.add(instruction.getLabel());
                     }
                 }
+                default -> {
+                }
             }
         }
     }
 
-    // Gera código Assembly para os comandos 'write' e 'writeln' usando crt_printf.
-    private void identifyWrite() {
-        boolean breakLine = this.currentToken.getName().equalsIgnoreCase("writeln");
-        nextToken(); // Consome 'write' ou 'writeln'.
-        nextToken(); // Consome ','.
+    // Despacha cada instrução da IR para o método de geração correspondente.
+    private void generateInstruction(Instruction instruction) {
+        switch (instruction.getOpcode()) {
+            case ADD, SUB, MUL, DIV, AND, OR -> generateBinary(instruction);
+            case NOT -> generateNot(instruction);
+            case COMPARE -> generateCompare(instruction);
+            case COPY -> generateCopy(instruction);
+            case STRING_COPY -> generateStringCopy(instruction);
+            case READ -> generateRead(instruction);
+            case WRITE, WRITELN -> generateWrite(instruction);
+            case LABEL -> generateLabel(instruction);
+            case JUMP -> generateJump(instruction);
+            case BRANCH -> generateBranch(instruction);
+            case SELECT -> generateSelect(instruction);
+        }
+    }
 
+    // Gera código Assembly para os comandos 'write' e 'writeln' usando crt_printf.
+    private void generateWrite(Instruction instruction) {
         StringBuilder formatStr = new StringBuilder(); // String de formato para printf (ex: "%d %s").
         ArrayList<String> args = new ArrayList<>();   // Argumentos para printf.
 
         // Constrói a string de formato e a lista de argumentos.
-        while (this.currentToken != null && !this.currentToken.getName().equals(";")) {
-            if (this.currentToken.getClassification().equalsIgnoreCase("ID")) {
-                String varName = this.currentToken.getName();
-                String varType = this.symbolsTable.getSymbolType(varName);
-                if (varType == null) varType = "int"; // Fallback para tipo desconhecido.
-
-                if (varType.equalsIgnoreCase("string")) {
+        for (Operand argument : instruction.getArguments()) {
+            if (argument instanceof Var var) {
+                if (var.getType() == LcType.STRING) {
                     formatStr.append("%s");
-                    args.add("addr " + varName); // Para strings, passamos o endereço.
-                } else { // Trata literais de string no meio do write.
+                    args.add("addr " + var.getName()); // Para strings, passamos o endereço.
+                } else {
                     formatStr.append("%d");
-                    args.add(varName); // Para outros tipos, passamos o valor.
+                    args.add(var.getName()); // Para outros tipos, passamos o valor.
                 }
-            } else {
-                String literal = this.currentToken.getName().replace("\"", "").replace("'", "");
+            } else { // Trata literais de string no meio do write.
+                String literal = textOf(argument).replace("\"", "").replace("'", "");
                 formatStr.append(literal);
             }
-            nextToken();
-            if (this.currentToken != null && this.currentToken.getName().equals(",")) {
-                nextToken(); // Consome a vírgula entre os argumentos.
-            }
-        }
-
-        if (this.currentToken != null && this.currentToken.getName().equals(";")) {
-            nextToken(); // Consome o ';' final.
         }
 
         // Declara a string de formato na seção .data.
         String dataLabel = "str" + this.stringCount++;
-        String lineEnding = breakLine ? ", 13, 10, 0" : ", 0"; // Adiciona quebra de linha para writeln.
+        String lineEnding = instruction.getOpcode() == Opcode.WRITELN ? ", 13, 10, 0" : ", 0"; // Adiciona quebra de linha para writeln.
         this.dataSection.append(String.format("    %-15s db \"%s\"%s\n", dataLabel, formatStr.toString(), lineEnding));
 
         // Gera a chamada para a função printf.
@@ -308,14 +361,13 @@ public class AssemblyGenerator {
     }
 
     // Gera código Assembly para o comando 'readln' usando crt_scanf ou crt_gets.
-    private void identifyRead() {
-        nextToken(); // Consome 'readln'.
-        nextToken(); // Consome ','.
-        String variableName = this.currentToken.getName();
-        String varType = this.symbolsTable.getSymbolType(variableName);
+    private void generateRead(Instruction instruction) {
+        Var variable = (Var) instruction.getResult();
+        String variableName = variable.getName();
+        LcType varType = variable.getType();
 
         // Usa crt_scanf para tipos numéricos e booleanos.
-        if (varType != null && (varType.equalsIgnoreCase("int") || varType.equalsIgnoreCase("byte") || varType.equalsIgnoreCase("boolean"))) {
+        if (varType == LcType.INT || varType == LcType.BYTE || varType == LcType.BOOLEAN) {
             // Declara a string de formato "%d" uma única vez.
             if (!this.formatDSDeclared) {
                 this.dataSection.append(String.format("    %-15s db \"%%d\", 0\n", "format_d"));
@@ -325,252 +377,516 @@ public class AssemblyGenerator {
         } else { // Usa crt_gets para ler strings.
             this.codeSection.append("    invoke crt_gets, addr ").append(variableName).append("\n");
         }
+    }
 
-        nextToken(); // Consome o nome da variável.
-        if (this.currentToken != null && this.currentToken.getName().equals(";")) {
-            nextToken(); // Consome ';'.
+    // Rótulos de início de laço são precedidos por uma linha em branco.
+    private void generateLabel(Instruction instruction) {
+        if (this.loopHeaders.contains(instruction.getLabel())) {
+            this.codeSection.append("\n");
         }
+        this.codeSection.append(instruction.getLabel()).append(":\n");
+    }
+
+    // Salto incondicional; o salto de volta ao início de um laço também é separado por uma linha em branco.
+    private void generateJump(Instruction instruction) {
+        if (this.loopHeaders.contains(instruction.getLabel())) {
+            this.codeSection.append("\n");
+        }
+        this.codeSection.append("    jmp ").append(instruction.getLabel()).append("\n");
+    }
+
+    // Gera um salto condicional: compara os operandos e salta se a condição for verdadeira.
+    private void generateBranch(Instruction instruction) {
+        Condition condition = compare(instruction.getCondition(), instruction.getLeft(), instruction.getRight());
+        // Registradores salvos são restaurados antes do salto ('pop' não altera as flags).
+        releaseScratch();
+        emit(getJumpInstruction(condition) + " " + instruction.getLabel());
     }
 
-    // Gera a estrutura de um loop 'while' em Assembly, com labels e saltos.
-    private void identifyWhile() {
-        int localLoopCounter = this.loopCounter++;
-        String loopLabel = "_loop" + localLoopCounter;
-        String loopEndLabel = "_fimLoop" + localLoopCounter;
+    // Mapeia uma condição da IR para a instrução de salto condicional correspondente em Assembly.
+    private String getJumpInstruction(Condition condition) {
+        return switch (condition) {
+            case EQ -> "je";
+            case NE -> "jne";
+            case LT -> "jl";
+            case GT -> "jg";
+            case LE -> "jle";
+            case GE -> "jge";
+        };
+    }
 
-        this.codeSection.append("\n").append(loopLabel).append(":\n"); // Label de início do loop.
-        nextToken(); // Consome 'while'.
+    // Mapeia uma condição da IR para a instrução SETcc que materializa o seu resultado (0 ou 1).
+    private String getSetInstruction(Condition condition) {
+        return "set" + getJumpInstruction(condition).substring(1);
+    }
 
-        // Gera o código para a condição. O salto para o fim do loop ocorrerá se a condição for falsa.
-        generateConditionalExpression(loopEndLabel, true);
+    // Mapeia uma condição da IR para a instrução CMOVcc (cópia condicional).
+    private String getMoveInstruction(Condition condition) {
+        return "cmov" + getJumpInstruction(condition).substring(1);
+    }
 
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("begin")) {
-            nextToken(); // Consome 'begin'.
-        }
+    /**
+     * Seleção sem desvio: 'x = (l cond r) ? a : b'.
+     * Uma variável boolean/byte que recebe 1 ou 0 é gravada direto por setcc; nos demais casos,
+     * o valor do caso falso é carregado em um registrador e substituído por cmovcc.
+     */
+    private void generateSelect(Instruction instruction) {
+        Var target = (Var) instruction.getResult();
+        Operand whenTrue = instruction.getArguments().get(0);
+        Operand whenFalse = instruction.getArguments().get(1);
+        Condition condition = instruction.getCondition();
+        boolean byteSized = target.getType().isByteSized();
+
+        if (byteSized && isFlag(whenTrue, 1) && isFlag(whenFalse, 0)) {
+            condition = compare(condition, instruction.getLeft(), instruction.getRight());
+            emit(getSetInstruction(condition) + " " + target.getName());
+            return;
+        }
+        if (byteSized && isFlag(whenTrue, 0) && isFlag(whenFalse, 1)) {
+            condition = compare(condition, instruction.getLeft(), instruction.getRight());
+            emit(getSetInstruction(condition.negate()) + " " + target.getName());
+            return;
+        }
+
+        // cmov não aceita imediatos nem operandos de 8 bits: os valores passam por registradores de 32 bits.
+        Register result = acquireScratch(byteSized ? Register.BYTE_ADDRESSABLE : Register.ALL);
+        load(result, whenFalse);
+        String alternative = registerOrMemory(whenTrue, Register.ALL);
+        condition = compare(condition, instruction.getLeft(), instruction.getRight());
+        emit(getMoveInstruction(condition) + " " + result + ", " + alternative);
+        emit("mov " + target.getName() + ", " + (byteSized ? result.name8() : result.toString()));
+    }
 
-        // Gera o código para o corpo do loop.
-        while (this.currentToken != null && !this.currentToken.getName().equalsIgnoreCase("end")) {
-            identifyCommands();
-        }
+    private boolean isFlag(Operand operand, int value) {
+        return operand instanceof Const constant && constant.getValue() == value;
+    }
 
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("end")) {
-            nextToken(); // Consome 'end'.
+    // Gera código para uma atribuição: o valor vai do registrador (ou de um imediato) para a variável.
+    private void generateCopy(Instruction instruction) {
+        Var target = (Var) instruction.getResult();
+        Operand value = instruction.getLeft();
+        boolean byteSized = target.getType().isByteSized();
+
+        if (isImmediate(value)) {
+            // Valores conhecidos em tempo de compilação são gravados diretamente.
+            emit("mov " + target.getName() + ", " + textOf(value, value.getType()));
+            return;
         }
 
-        this.codeSection.append("\n    jmp ").append(loopLabel).append("\n"); // Salta de volta para o início do loop.
-        this.codeSection.append(loopEndLabel).append(":\n"); // Label de saída do loop.
+        Register register = registerOf(value);
+        if (register == null) { // Variável ou temporário em memória: passa por um registrador.
+            register = acquireScratch(byteSized ? Register.BYTE_ADDRESSABLE : Register.ALL);
+            load(register, value);
+        }
+        // Grava 8 bits para boolean/byte e 32 bits para int.
+        emit("mov " + target.getName() + ", " + (byteSized ? register.name8() : register.toString()));
     }
 
-    // Gera a estrutura de um condicional 'if-else' em Assembly.
-    private void identifyIf() {
-        int localIfCounter = this.ifCounter++;
-        String elseLabel = "_else" + localIfCounter;
-        String endIfLabel = "_fimIf" + localIfCounter;
+    // Atribuição de string usa a função crt_strcpy.
+    private void generateStringCopy(Instruction instruction) {
+        String variableName = ((Var) instruction.getResult()).getName();
+        String stringLiteral = ((Const) instruction.getLeft()).getLexeme();
+        String actualStringValue = stringLiteral.substring(1, stringLiteral.length() - 1);
 
-        nextToken(); // Consome 'if'.
-        // Gera a condição. Se for falsa, salta para o bloco 'else' (ou para o fim do 'if').
-        generateConditionalExpression(elseLabel, true);
+        // Declara a string na seção .data e invoca a cópia.
+        String stringLabelInData = "str_assign_" + this.stringCount++;
+        this.dataSection.append(String.format("    %-15s db \"%s\", 0\n", stringLabelInData, actualStringValue));
+        this.codeSection.append("    invoke crt_strcpy, addr ").append(variableName).append(", addr ").append(stringLabelInData).append("\n");
+    }
+
+    // Gera uma operação binária no registrador do resultado: 'op destino, segundo operando'.
+    private void generateBinary(Instruction instruction) {
+        if (instruction.getOpcode() == Opcode.DIV) {
+            generateDivision(instruction);
+            return;
+        }
+        if (instruction.getOpcode() == Opcode.MUL && generateConstantMultiplication(instruction)) {
+            return;
+        }
+        Operand left = instruction.getLeft();
+        Operand right = instruction.getRight();
+        String mnemonic = switch (instruction.getOpcode()) {
+            case ADD -> "add";
+            case SUB -> "sub";
+            case MUL -> "imul";
+            case AND -> "and";
+            default -> "or";
+        };
 
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("begin")) {
-            nextToken();
+        Register target = target(instruction.getResult(), Register.ALL);
+        if (registerOf(right) == target && registerOf(left) != target) {
+            // O segundo operando já ocupa o registrador do resultado.
+            if (instruction.getOpcode() == Opcode.SUB) {
+                emit("neg " + target); // a - b = -b + a
+                emit("add " + target + ", " + source(left));
+            } else {
+                emitOperation(mnemonic, instruction, target, left);
+            }
+        } else {
+            load(target, left);
+            emitOperation(mnemonic, instruction, target, right);
         }
+        store(instruction.getResult(), target);
+    }
 
-        // Processa o corpo do IF
-        while (this.currentToken != null && !this.currentToken.getName().equalsIgnoreCase("end") && !this.currentToken.getName().equalsIgnoreCase("else")) {
-            identifyCommands();
+    /**
+     * Emite 'op destino, operando'. Em 'and'/'or' de booleanos, uma variável de 8 bits entra
+     * direto com a parte baixa do destino ('and al, f'): os bits altos, zerados, não mudam.
+     */
+    private void emitOperation(String mnemonic, Instruction instruction, Register target, Operand operand) {
+        boolean logical = instruction.getOpcode() == Opcode.AND || instruction.getOpcode() == Opcode.OR;
+        if (logical && isByteMemory(operand) && target.name8() != null) {
+            emit(mnemonic + " " + target.name8() + ", " + ((Var) operand).getName());
+        } else {
+            emit(mnemonic + " " + target + ", " + source(operand));
         }
+    }
 
-        // Verifica se temos um bloco else
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("else")) {
-            // Se o bloco IF foi executado, salta sobre o bloco ELSE.
-            this.codeSection.append("    jmp ").append(endIfLabel).append("\n");
-            this.codeSection.append(elseLabel).append(":\n");
-            nextToken(); // Consome 'else'.
-            if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("begin")) {
-                nextToken(); // Consome 'begin' do else.
+    /**
+     * Multiplicação por constante com instruções mais rápidas que 'imul' quando o fator permite:
+     * 2^k vira 'shl'; 3, 5 e 9 (vezes 2^k) viram 'lea' (e 'shl'); 2^k + 1 e 2^k - 1 viram 'shl'
+     * seguido de 'add'/'sub' do valor original. Fatores negativos terminam com 'neg'.
+     * Retorna falso se o fator não se encaixa em nenhum caso, e a instrução segue como 'imul'.
+     */
+    private boolean generateConstantMultiplication(Instruction instruction) {
+        Operand value;
+        int factor;
+        if (instruction.getRight() instanceof Const constant) {
+            value = instruction.getLeft();
+            factor = constant.getValue();
+        } else if (instruction.getLeft() instanceof Const constant) {
+            value = instruction.getRight();
+            factor = constant.getValue();
+        } else {
+            return false;
+        }
+
+        int magnitude = Math.abs(factor);
+        int shift = Integer.numberOfTrailingZeros(Math.max(magnitude, 1));
+        int odd = magnitude >> shift;
+        Register target = registerOf(instruction.getResult());
+        boolean valueInTarget = target != null && registerOf(value) == target;
+        int power = StrengthReduction.log2(magnitude - 1) > 0 ? magnitude - 1 : magnitude + 1;
+        if (magnitude > 1 && odd != 1 && StrengthReduction.leaFactor(odd) == 0
+                && (StrengthReduction.log2(power) < 0 || valueInTarget)) {
+            return false;
+        }
+
+        target = target(instruction.getResult(), Register.ALL);
+        if (magnitude == 0) {
+            emit("xor " + target + ", " + target);
+        } else if (odd == 1) {
+            load(target, value);
+            if (shift > 0) {
+                emit("shl " + target + ", " + shift);
             }
-            // Processa o corpo do ELSE.
-            while (this.currentToken != null && !this.currentToken.getName().equalsIgnoreCase("end")) {
-                identifyCommands();
+        } else if (StrengthReduction.leaFactor(odd) != 0) {
+            // lea calcula x + x*(f-1) direto do registrador do valor, sem copiá-lo antes.
+            Register base = registerOf(value);
+            if (base == null) {
+                load(target, value);
+                base = target;
             }
-            if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("end")) {
-                nextToken(); // Consome o 'end' do ELSE
+            emit("lea " + target + ", [" + base + "+" + base + "*" + (odd - 1) + "]");
+            if (shift > 0) {
+                emit("shl " + target + ", " + shift);
             }
-            this.codeSection.append(endIfLabel).append(":\n");
         } else {
-            // Sem bloco else, o elseLabel é o fim do IF
-            this.codeSection.append(elseLabel).append(":\n");
+            // x * (2^k ± 1) = (x << k) ± x; o valor original ainda é lido depois do deslocamento.
+            load(target, value);
+            emit("shl " + target + ", " + StrengthReduction.log2(power));
+            emit((power < magnitude ? "add " : "sub ") + target + ", " + source(value));
         }
-
-        // Consome o 'end' que fecha a estrutura IF (ou IF-ELSE aninhado).
-        if (this.currentToken != null && this.currentToken.getName().equalsIgnoreCase("end")) {
-            nextToken();
+        if (factor < 0) {
+            emit("neg " + target);
         }
+        store(instruction.getResult(), target);
+        return true;
     }
 
-    // Gera código para uma expressão condicional, resultando em um salto.
-    private void generateConditionalExpression(String targetLabel, boolean jumpIfConditionFalse) {
-        String firstOperand = this.currentToken.getName();
-        String type = symbolsTable.getSymbolType(firstOperand);
-        nextToken(); // Consome o primeiro operando.
+    // Divisão de 32 bits: o dividendo fica em eax, estendido para edx, e o quociente volta em eax.
+    private void generateDivision(Instruction instruction) {
+        if (instruction.getRight() instanceof Const divisor && divisor.getValue() != 0) {
+            generateConstantDivision(instruction, divisor.getValue());
+            return;
+        }
+        load(Register.EAX, instruction.getLeft());
+        // O divisor não pode estar em eax/edx nem ser um imediato.
+        String divisor = registerOrMemory(instruction.getRight(), Register.ALL & ~Register.DIVISION);
+        emit("cdq"); // Estende o sinal de eax para edx.
+        emit("idiv " + divisor); // Quociente em eax, resto em edx.
 
-        // Verifica se é uma comparação explícita (ex: n >= 10).
-        if (isRelationalOperator(this.currentToken.getName())) {
-            String operator = this.currentToken.getName();
-            nextToken();
-            String secondOperand = this.currentToken.getName();
-            nextToken();
+        Register target = registerOf(instruction.getResult());
+        if (target == null) {
+            emit("mov " + spillSlot((Temp) instruction.getResult()) + ", eax");
+        } else if (target != Register.EAX) {
+            emit("mov " + target + ", eax");
+        }
+    }
 
-            // Usa 'eax' (32 bits) para inteiros, 'al' (8 bits) para bytes/booleanos.
-            String reg = "eax";
-            if (type != null && (type.equalsIgnoreCase("boolean") || type.equalsIgnoreCase("byte"))) {
-                reg = "al";
+    /**
+     * Divisão por constante sem 'idiv'. A divisão com sinal trunca em direção a zero, por isso
+     * dividendos negativos precisam de correção antes do deslocamento aritmético:
+     *   - por 2^k: soma 2^k - 1 ao dividendo negativo e desloca 'sar' de k bits;
+     *   - pelos demais: multiplica pelo número mágico, fica com a parte alta (edx), corrige com o
+     *     dividendo quando o sinal do multiplicador difere do divisor, desloca e soma 1 se negativo.
+     */
+    private void generateConstantDivision(Instruction instruction, int divisor) {
+        Operand dividend = instruction.getLeft();
+        int magnitude = Math.abs(divisor);
+        int shift = StrengthReduction.log2(magnitude);
+        if (shift >= 0) {
+            Register target = target(instruction.getResult(), Register.ALL);
+            load(target, dividend);
+            if (shift > 0) {
+                Register bias = acquireScratch(Register.ALL & ~target.mask());
+                emit("mov " + bias + ", " + target);
+                if (shift > 1) {
+                    emit("sar " + bias + ", 31"); // -1 se negativo, 0 caso contrário.
+                }
+                emit("shr " + bias + ", " + (32 - shift)); // 2^k - 1 se negativo.
+                emit("add " + target + ", " + bias);
+                emit("sar " + target + ", " + shift);
             }
+            if (divisor < 0) {
+                emit("neg " + target);
+            }
+            store(instruction.getResult(), target);
+            return;
+        }
+
+        StrengthReduction.Magic magic = StrengthReduction.magic(divisor);
+        // O dividendo é lido depois que eax/edx recebem o produto: não pode estar neles nem ser imediato.
+        String value = text32(dividend);
+        Register register = registerOf(dividend);
+        if (isImmediate(dividend) || isByteMemory(dividend) || register == Register.EAX || register == Register.EDX) {
+            Register scratch = acquireScratch(Register.ALL & ~Register.DIVISION);
+            load(scratch, dividend);
+            value = scratch.toString();
+        }
+        emit("mov eax, " + magic.multiplier());
+        emit("imul " + value); // edx:eax = dividendo * multiplicador
+        if (divisor > 0 && magic.multiplier() < 0) {
+            emit("add edx, " + value);
+        } else if (divisor < 0 && magic.multiplier() > 0) {
+            emit("sub edx, " + value);
+        }
+        if (magic.shift() > 0) {
+            emit("sar edx, " + magic.shift());
+        }
+        emit("mov eax, edx");
+        emit("shr eax, 31"); // 1 se o quociente é negativo, para truncar em direção a zero.
+        emit("add eax, edx");
+
+        Register target = registerOf(instruction.getResult());
+        if (target == null) {
+            emit("mov " + spillSlot((Temp) instruction.getResult()) + ", eax");
+        } else if (target != Register.EAX) {
+            emit("mov " + target + ", eax");
+        }
+    }
+
+    // Comparações usadas como valor resultam em 0 ou 1.
+    private void generateCompare(Instruction instruction) {
+        Register target = target(instruction.getResult(), Register.BYTE_ADDRESSABLE);
+        Condition condition = compare(instruction.getCondition(), instruction.getLeft(), instruction.getRight());
+        emit(getSetInstruction(condition) + " " + target.name8());
+        emit("movzx " + target + ", " + target.name8());
+        store(instruction.getResult(), target);
+    }
+
+    // 'not' inverte o bit menos significativo do valor booleano.
+    private void generateNot(Instruction instruction) {
+        Register target = target(instruction.getResult(), Register.ALL);
+        load(target, instruction.getLeft());
+        emit("xor " + target + ", 1");
+        store(instruction.getResult(), target);
+    }
 
-            // Carrega os operandos, compara e salta.
-            this.codeSection.append("    mov ").append(reg).append(", ").append(formatValue(firstOperand, type)).append("\n");
-            this.codeSection.append("    cmp ").append(reg).append(", ").append(formatValue(secondOperand, type)).append("\n");
+    /**
+     * Emite 'cmp' e devolve a condição a testar depois dele. O primeiro operando não pode ser
+     * imediato: se só ele for, os operandos são trocados e a condição também (5 < x vira x > 5).
+     * Variáveis e imediatos são usados direto (cmp x, 10); entre duas variáveis, a primeira
+     * passa por um registrador. Entre variáveis boolean/byte a comparação é de 8 bits.
+     */
+    private Condition compare(Condition condition, Operand left, Operand right) {
+        if (isImmediate(left) && !isImmediate(right)) {
+            Operand swapped = left;
+            left = right;
+            right = swapped;
+            condition = condition.swap();
+        }
+        LcType type = left.getType();
+        if (type.isByteSized() && !left.isTemp() && !right.isTemp()) {
+            String first = textOf(left, type);
+            if (!isByteMemory(left) || !isImmediate(right)) {
+                Register scratch = acquireScratch(Register.BYTE_ADDRESSABLE);
+                emit("mov " + scratch.name8() + ", " + first);
+                first = scratch.name8();
+            }
+            emit("cmp " + first + ", " + textOf(right, type));
+            return condition;
+        }
+        // Booleano em registrador contra variável de 8 bits: usa a parte baixa do registrador.
+        Register leftRegister = registerOf(left);
+        Register rightRegister = registerOf(right);
+        if (isByteMemory(right) && leftRegister != null && leftRegister.name8() != null) {
+            emit("cmp " + leftRegister.name8() + ", " + ((Var) right).getName());
+            return condition;
+        }
+        if (isByteMemory(left) && rightRegister != null && rightRegister.name8() != null) {
+            emit("cmp " + ((Var) left).getName() + ", " + rightRegister.name8());
+            return condition;
+        }
+
+        String first = registerOrMemory(left, Register.ALL);
+        String second = source(right);
+        if (isMemory(left) && isMemory(right)) {
+            Register scratch = acquireScratch(Register.ALL);
+            load(scratch, left);
+            first = scratch.toString();
+        }
+        emit("cmp " + first + ", " + second);
+        return condition;
+    }
 
-            String jumpInstruction = getJumpInstruction(operator, jumpIfConditionFalse);
-            this.codeSection.append("    ").append(jumpInstruction).append(" ").append(targetLabel).append("\n");
+    // Registrador onde o resultado é calculado: o do temporário ou, se ele está em memória, um auxiliar.
+    private Register target(Operand result, int allowed) {
+        Register register = registerOf(result);
+        return register != null ? register : acquireScratch(allowed);
+    }
 
-        } else { // Trata comparações booleanas implícitas (ex: while naoTerminou).
-            String reg = "al"; // Booleans são sempre bytes.
+    // Grava em memória o resultado de um temporário que não coube nos registradores.
+    private void store(Operand result, Register register) {
+        if (registerOf(result) == null) {
+            emit("mov " + spillSlot((Temp) result) + ", " + register);
+        }
+    }
 
-            this.codeSection.append("    mov ").append(reg).append(", ").append(firstOperand).append("\n");
-            this.codeSection.append("    cmp ").append(reg).append(", 1\n"); // Compara com 'true' (1).
+    // Carrega um operando em um registrador de 32 bits (variáveis de 8 bits são estendidas com zeros).
+    private void load(Register register, Operand operand) {
+        if (isByteMemory(operand)) {
+            emit("movzx " + register + ", " + ((Var) operand).getName());
+        } else if (registerOf(operand) != register) {
+            emit("mov " + register + ", " + text32(operand));
+        }
+    }
 
-            String jumpInstruction = jumpIfConditionFalse ? "jne" : "je"; // jne: salta se não for verdadeiro.
-            this.codeSection.append("    ").append(jumpInstruction).append(" ").append(targetLabel).append("\n");
+    // Operando fonte de 32 bits: registrador, memória ou imediato; variáveis de 8 bits passam por um auxiliar.
+    private String source(Operand operand) {
+        if (isByteMemory(operand)) {
+            Register scratch = acquireScratch(Register.ALL);
+            load(scratch, operand);
+            return scratch.toString();
         }
+        return text32(operand);
     }
 
-    // Mapeia um operador relacional para a instrução de salto condicional correspondente em Assembly.
-    private String getJumpInstruction(String operator, boolean jumpIfConditionFalse) {
-        return switch (operator) {
-            case "==" -> jumpIfConditionFalse ? "jne" : "je";
-            case "<>" -> jumpIfConditionFalse ? "je" : "jne";
-            case "<" -> jumpIfConditionFalse ? "jge" : "jl";
-            case ">" -> jumpIfConditionFalse ? "jle" : "jg";
-            case "<=" -> jumpIfConditionFalse ? "jg" : "jle";
-            case ">=" -> jumpIfConditionFalse ? "jl" : "jge";
-            default -> ""; // Caso inválido
-        };
+    // Operando que não pode ser imediato (primeiro operando de 'cmp', divisor de 'idiv').
+    private String registerOrMemory(Operand operand, int allowed) {
+        if (isImmediate(operand) || isByteMemory(operand)) {
+            Register scratch = acquireScratch(allowed);
+            load(scratch, operand);
+            return scratch.toString();
+        }
+        return text32(operand);
     }
 
-    // Gera código para um comando de atribuição.
-    private void identifyAssignment() {
-        String variableName = this.currentToken.getName();
-        String varType = this.symbolsTable.getSymbolType(variableName);
-        if (varType == null) varType = "int"; // Fallback.
+    // Texto de um operando de 32 bits: registrador ou memória do temporário, variável ou imediato.
+    private String text32(Operand operand) {
+        if (operand instanceof Temp temp) {
+            Register register = this.allocation.registerOf(temp);
+            return register != null ? register.toString() : spillSlot(temp);
+        }
+        return textOf(operand, operand.getType());
+    }
 
-        nextToken(); // Consome o nome da variável.
-        nextToken(); // Consome '='.
+    // Literais e constantes declaradas com 'final' (traduzidas com 'equ') são imediatos.
+    private boolean isImmediate(Operand operand) {
+        return operand.isConst() || operand instanceof Var var && var.isConstant();
+    }
 
-        // Atribuição de string usa a função crt_strcpy.
-        if (varType.equalsIgnoreCase("string")) {
-            String stringLiteral = this.currentToken.getName();
-            String actualStringValue;
+    // Variáveis de 8 bits precisam ser estendidas antes de participar de uma operação de 32 bits.
+    private boolean isByteMemory(Operand operand) {
+        return operand instanceof Var var && !var.isConstant() && var.getType().isByteSized();
+    }
 
-            // Validação para remover aspas de forma segura.
-            if (stringLiteral.length() >= 2 && stringLiteral.startsWith("\"") && stringLiteral.endsWith("\"")) {
-                actualStringValue = stringLiteral.substring(1, stringLiteral.length() - 1);
-            } else {
-                // Emite um aviso se o valor não for uma string entre aspas.
-                System.err.println("[Aviso de Geração de Código] Atribuição para string '" + variableName + "' com valor malformado: " + stringLiteral);
-                actualStringValue = ""; // Usa uma string vazia para evitar crash.
-            }
+    // Operando de 32 bits em memória: variável int ou temporário que não coube nos registradores.
+    private boolean isMemory(Operand operand) {
+        if (operand instanceof Temp temp) {
+            return this.allocation.isSpilled(temp);
+        }
+        return operand instanceof Var var && !var.isConstant() && !var.getType().isByteSized();
+    }
 
-            // Declara a string na seção .data e invoca a cópia.
-            String stringLabelInData = "str_assign_" + this.stringCount++;
-            this.dataSection.append(String.format("    %-15s db \"%s\", 0\n", stringLabelInData, actualStringValue));
-            this.codeSection.append("    invoke crt_strcpy, addr ").append(variableName).append(", addr ").append(stringLabelInData).append("\n");
-            nextToken();
-        } else { // Para tipos numéricos/booleanos, avalia a expressão.
-            ArrayList<Token> expressionTokens = new ArrayList<>();
-            while (this.currentToken != null && !this.currentToken.getName().equals(";")) {
-                expressionTokens.add(this.currentToken);
-                nextToken();
-            }
-            evaluateExpression(expressionTokens);
+    private Register registerOf(Operand operand) {
+        return operand instanceof Temp temp ? this.allocation.registerOf(temp) : null;
+    }
 
-            // O resultado da expressão está no topo da pilha do processador.
-            this.codeSection.append("    pop eax\n");
-            // Move o resultado para a variável correta (8 bits para boolean/byte, 32 bits para int).
-            if (varType.equalsIgnoreCase("boolean") || varType.equalsIgnoreCase("byte")) {
-                this.codeSection.append("    mov ").append(variableName).append(", al\n");
-            } else {
-                this.codeSection.append("    mov ").append(variableName).append(", eax\n");
+    // Máscara dos registradores dos temporários lidos ou escritos pela instrução.
+    private int registersOf(Instruction instruction) {
+        int mask = 0;
+        for (Operand operand : new Operand[]{instruction.getResult(), instruction.getLeft(), instruction.getRight()}) {
+            Register register = registerOf(operand);
+            if (register != null) {
+                mask |= register.mask();
             }
         }
+        return mask;
+    }
 
-        if (this.currentToken != null && this.currentToken.getName().equals(";")) {
-            nextToken(); // Consome ';' final.
-        }
+    private String spillSlot(Temp temp) {
+        return "_tmp" + temp.getId();
     }
 
     /**
-     * Avalia uma expressão aritmética infixa usando o algoritmo Shunting-yard
-     * para gerar código Assembly em ordem pós-fixa (usando a pilha do processador).
+     * Toma um registrador auxiliar para a instrução atual, de preferência um que não guarde nenhum
+     * temporário vivo. Sob pressão, um registrador ocupado (que não seja operando da instrução)
+     * é salvo na pilha e restaurado ao final da instrução.
      */
-    private void evaluateExpression(ArrayList<Token> tokens) {
-        Stack<String> ops = new Stack<>(); // Pilha para operadores.
-
-        for (Token token : tokens) {
-            String name = token.getName();
-
-            // Se o token for um operando (ID ou constante), empurra seu valor na pilha do processador.
-            if (token.getClassification().equalsIgnoreCase("ID") || token.getClassification().equalsIgnoreCase("CONST") || name.equalsIgnoreCase("true") || name.equalsIgnoreCase("false")) {
-                String valueToPush = formatValue(name, token.getType());
-                this.codeSection.append("    push ").append(valueToPush).append("\n");
-            } else if (name.equals("(")) { // Empilha parênteses de abertura.
-                ops.push(name);
-            } else if (name.equals(")")) { // Ao encontrar ')', desempilha operadores até encontrar '('.
-                while (!ops.empty() && !ops.peek().equals("(")) {
-                    generateOp(ops.pop());
-                }
-                if (!ops.empty()) ops.pop(); // Descarta o '('.
-            } else if (isOperator(name)) { // Se for um operador aritmético...
-                // Desempilha operadores com maior ou igual precedência antes de empilhar o atual.
-                while (!ops.empty() && hasPrecedence(ops.peek(), name)) {
-                    generateOp(ops.pop());
-                }
-                ops.push(name);
-            }
+    private Register acquireScratch(int allowed) {
+        Register register = Register.first(allowed & ~this.allocation.busyAt(this.index) & ~this.scratchMask);
+        if (register == null) {
+            register = Register.first(allowed & ~this.operandMask & ~this.scratchMask);
+            emit("push " + register);
+            this.savedScratch.push(register);
+        }
+        this.scratchMask |= register.mask();
+        return register;
+    }
+
+    // Libera os auxiliares da instrução, restaurando os que foram salvos.
+    private void releaseScratch() {
+        while (!this.savedScratch.isEmpty()) {
+            emit("pop " + this.savedScratch.pop());
         }
-        // Desempilha e aplica os operadores restantes.
-        while (!ops.empty()) {
-            generateOp(ops.pop());
-        }
-    }
-
-    // Gera a instrução Assembly para um operador aritmético (+, -, *, /).
-    private void generateOp(String op) {
-        // Retira os dois operandos do topo da pilha para os registradores.
-        this.codeSection.append("    pop ebx\n"); // Segundo operando.
-        this.codeSection.append("    pop eax\n"); // Primeiro operando.
-        switch (op) {
-            case "+" -> this.codeSection.append("    add eax, ebx\n");
-            case "-" -> this.codeSection.append("    sub eax, ebx\n");
-            case "*" -> this.codeSection.append("    imul eax, ebx\n");
-            case "/" -> {
-                // Prepara para a divisão de 32 bits.
-                this.codeSection.append("    cdq\n"); // Estende o sinal de eax para edx.
-                this.codeSection.append("    idiv ebx\n"); // Quociente em eax, resto em edx.
-            }
+        this.scratchMask = 0;
+    }
+
+    private void emit(String instruction) {
+        this.codeSection.append("    ").append(instruction).append("\n");
+    }
+
+    // Texto de um operando como aparece no código fonte (lexema do literal ou nome da variável).
+    private String textOf(Operand operand) {
+        if (operand instanceof Const constant) {
+            return constant.getLexeme();
         }
-        this.codeSection.append("    push eax\n"); // Empurra o resultado de volta para a pilha.
+        return operand.toString();
     }
 
-    // Verifica se o token atual está no escopo de declaração.
-    private boolean isDeclarationScope() {
-        return this.currentToken != null && (isPrimitiveType() || this.currentToken.getName().equalsIgnoreCase("final"));
+    // Texto de um operando no Assembly: literais são formatados de acordo com o tipo.
+    private String textOf(Operand operand, LcType type) {
+        if (operand instanceof Const constant) {
+            return formatValue(constant.getLexeme(), type);
+        }
+        return operand.toString();
     }
 
     // Formata um valor da linguagem fonte para o formato correto em Assembly.
-    private String formatValue(String value, String type) {
+    private String formatValue(String value, LcType type) {
         if (value == null) return "0";
-        if (type != null && type.equalsIgnoreCase("boolean")) {
+        if (type == LcType.BOOLEAN) {
             // Verificação para Fh (true) e 0h (false).
             if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("1") || value.equalsIgnoreCase("Fh"))
                 return "1";
@@ -578,38 +894,18 @@ public class AssemblyGenerator {
                 return "0";
         }
         // Converte o formato 0hXX para XXh para bytes.
-        if (value.toLowerCase().startsWith("0h") && type != null && type.equalsIgnoreCase("byte")) {
+        if (value.toLowerCase().startsWith("0h") && type == LcType.BYTE) {
             return value.substring(2) + "h";
         }
         return value;
     }
 
     // Mapeia um tipo primitivo da linguagem para a diretiva de dados correspondente do MASM.
-    private String primitiveTypeMASM(String type) {
-        return switch (type.toLowerCase()) {
-            case "int" -> "dd"; // Define Double Word (32 bits)
-            case "boolean", "byte" -> "db"; // Define Byte (8 bits)
+    private String primitiveTypeMASM(LcType type) {
+        return switch (type) {
+            case INT -> "dd"; // Define Double Word (32 bits)
+            case BOOLEAN, BYTE -> "db"; // Define Byte (8 bits)
             default -> "";
         };
     }
-
-    // Verifica se o token atual é um tipo primitivo da linguagem.
-    private boolean isPrimitiveType() {
-        if (this.currentToken == null) return false;
-        String name = this.currentToken.getName().toLowerCase();
-        return name.equals("int") || name.equals("string") || name.equals("boolean") || name.equals("byte");
-    }
-
-    // Verifica se uma string é um operador aritmético.
-    private boolean isOperator(String op) {
-        return op.matches("[+\\-*/]");
-    }
-
-    // Verifica a precedência entre dois operadores aritméticos.
-    private boolean hasPrecedence(String op1, String op2) {
-        if (op1.equals("(") || op1.equals(")")) return false;
-        if ((op1.equals("*") || op1.equals("/")) && (op2.equals("+") || op2.equals("-"))) return true;
-        if ((op1.equals("*") || op1.equals("/")) && (op2.equals("*") || op2.equals("/"))) return true;
-        return (op1.equals("+") || op1.equals("-")) && (op2.equals("+") || op2.equals("-"));
-    }
 }
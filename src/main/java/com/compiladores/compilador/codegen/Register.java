@@ -0,0 +1,46 @@
+package com.compiladores.compilador.codegen;
+
+// Registradores de uso geral de 32 bits disponíveis para os temporários da IR.
+public enum Register {
+    EAX("eax", "al"),
+    EBX("ebx", "bl"),
+    ECX("ecx", "cl"),
+    EDX("edx", "dl"),
+    ESI("esi", null),
+    EDI("edi", null);
+
+    // Máscaras de conjuntos de registradores, usadas nas restrições da alocação.
+    public static final int ALL = (1 << values().length) - 1;
+    // Registradores com parte baixa de 8 bits (necessária para setcc e para gravar bytes).
+    public static final int BYTE_ADDRESSABLE = EAX.mask() | EBX.mask() | ECX.mask() | EDX.mask();
+    // Registradores que as funções da biblioteca C podem alterar (convenção de chamada do Windows).
+    public static final int CALLER_SAVED = EAX.mask() | ECX.mask() | EDX.mask();
+    // Registradores alterados por cdq/idiv.
+    public static final int DIVISION = EAX.mask() | EDX.mask();
+
+    private final String name32;
+    private final String name8;
+
+    Register(String name32, String name8) {
+        this.name32 = name32;
+        this.name8 = name8;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public String name8() {
+        return name8;
+    }
+
+    // Primeiro registrador (na ordem de declaração) presente na máscara, ou nulo se ela estiver vazia.
+    public static Register first(int mask) {
+        return mask == 0 ? null : values()[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    @Override
+    public String toString() {
+        return name32;
+    }
+}
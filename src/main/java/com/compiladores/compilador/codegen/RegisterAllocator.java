@@ -0,0 +1,240 @@
+package com.compiladores.compilador.codegen;
+
+import com.compiladores.compilador.ir.Instruction;
+import com.compiladores.compilador.ir.Opcode;
+import com.compiladores.compilador.ir.Operand;
+import com.compiladores.compilador.ir.Temp;
+import com.compiladores.compilador.ir.Var;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alocação de registradores por varredura linear (linear scan) para os temporários da IR.
+ *
+ * Cada temporário tem um intervalo de vida [primeira ocorrência, última ocorrência] na ordem
+ * das instruções; um temporário usado dentro de um laço mas definido antes dele vive até o
+ * salto de volta. Os intervalos são percorridos por ordem de início, e um registrador fica livre
+ * assim que o intervalo que o ocupa termina, podendo ser reaproveitado pelo resultado da mesma
+ * instrução. Quando não há registrador livre, vai para a memória o intervalo que termina mais tarde.
+ *
+ * Restrições:
+ * - intervalos que atravessam uma chamada (readln, write, atribuição de string) não usam
+ *   eax, ecx e edx, que a biblioteca C pode alterar;
+ * - intervalos que atravessam uma divisão, e o divisor, não usam eax e edx (cdq/idiv);
+ * - resultados de comparação e valores gravados em variáveis de 8 bits usam um registrador
+ *   com parte baixa de 8 bits.
+ */
+public final class RegisterAllocator {
+
+    private final Map<Temp, Register> registers = new HashMap<>();
+    private final List<Temp> spilled = new ArrayList<>();
+    // Para cada instrução, os registradores ocupados por temporários vivos nela.
+    private final int[] busy;
+
+    private RegisterAllocator(int size) {
+        this.busy = new int[size];
+    }
+
+    // Intervalo de vida de um temporário e as suas restrições.
+    private static final class Interval {
+        final Temp temp;
+        int start;
+        int end;
+        int allowed = Register.ALL;
+        Register hint;
+        Register register;
+
+        Interval(Temp temp, int index) {
+            this.temp = temp;
+            this.start = index;
+            this.end = index;
+        }
+
+        boolean crosses(int index) {
+            return start < index && index < end;
+        }
+    }
+
+    public static RegisterAllocator allocate(List<Instruction> instructions) {
+        RegisterAllocator allocation = new RegisterAllocator(instructions.size());
+        List<Interval> intervals = buildIntervals(instructions);
+        applyConstraints(instructions, intervals);
+        allocation.scan(intervals);
+        return allocation;
+    }
+
+    // Registrador do temporário, ou nulo se ele foi para a memória.
+    public Register registerOf(Temp temp) {
+        return registers.get(temp);
+    }
+
+    public boolean isSpilled(Temp temp) {
+        return !registers.containsKey(temp);
+    }
+
+    // Temporários mantidos em memória, na ordem em que foram descartados dos registradores.
+    public List<Temp> getSpilled() {
+        return spilled;
+    }
+
+    // Máscara dos registradores ocupados por temporários vivos na instrução (operandos e resultado incluídos).
+    public int busyAt(int index) {
+        return busy[index];
+    }
+
+    private static List<Interval> buildIntervals(List<Instruction> instructions) {
+        Map<Temp, Interval> byTemp = new LinkedHashMap<>();
+        for (int i = 0; i < instructions.size(); i++) {
+            Instruction instruction = instructions.get(i);
+            touch(byTemp, instruction.getResult(), i);
+            touch(byTemp, instruction.getLeft(), i);
+            touch(byTemp, instruction.getRight(), i);
+            for (Operand argument : instruction.getArguments()) {
+                touch(byTemp, argument, i);
+            }
+        }
+        List<Interval> intervals = new ArrayList<>(byTemp.values());
+        extendAcrossLoops(instructions, intervals);
+        return intervals;
+    }
+
+    private static void touch(Map<Temp, Interval> byTemp, Operand operand, int index) {
+        if (operand instanceof Temp temp) {
+            Interval interval = byTemp.computeIfAbsent(temp, t -> new Interval(t, index));
+            interval.end = index;
+        }
+    }
+
+    // Um temporário definido antes de um laço e usado dentro dele precisa sobreviver até o salto de volta.
+    private static void extendAcrossLoops(List<Instruction> instructions, List<Interval> intervals) {
+        Map<String, Integer> labels = new HashMap<>();
+        List<int[]> loops = new ArrayList<>(); // {início, salto de volta}
+        for (int i = 0; i < instructions.size(); i++) {
+            Instruction instruction = instructions.get(i);
+            switch (instruction.getOpcode()) {
+                case LABEL -> labels.put(instruction.getLabel(), i);
+                case JUMP, BRANCH -> {
+                    Integer header = labels.get(instruction.getLabel());
+                    if (header != null) {
+                        loops.add(new int[]{header, i});
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        boolean changed = !loops.isEmpty();
+        while (changed) { // Repete para propagar a extensão por laços aninhados.
+            changed = false;
+            for (Interval interval : intervals) {
+                for (int[] loop : loops) {
+                    if (interval.start < loop[0] && interval.end >= loop[0] && interval.end < loop[1]) {
+                        interval.end = loop[1];
+                        changed = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void applyConstraints(List<Instruction> instructions, List<Interval> intervals) {
+        Map<Temp, Interval> byTemp = new HashMap<>();
+        for (Interval interval : intervals) {
+            byTemp.put(interval.temp, interval);
+        }
+        for (Interval interval : intervals) {
+            for (int i = interval.start + 1; i < interval.end; i++) {
+                switch (instructions.get(i).getOpcode()) {
+                    case READ, WRITE, WRITELN, STRING_COPY -> interval.allowed &= ~Register.CALLER_SAVED;
+                    case DIV -> {
+                        if (StrengthReduction.usesDivisionRegisters(instructions.get(i))) {
+                            interval.allowed &= ~Register.DIVISION;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        for (Instruction instruction : instructions) {
+            switch (instruction.getOpcode()) {
+                case DIV -> {
+                    restrict(byTemp, instruction.getRight(), ~Register.DIVISION);
+                    // O quociente fica em eax: é o melhor lugar para o resultado.
+                    byTemp.get((Temp) instruction.getResult()).hint = Register.EAX;
+                }
+                case COMPARE -> restrict(byTemp, instruction.getResult(), Register.BYTE_ADDRESSABLE);
+                case COPY -> {
+                    if (((Var) instruction.getResult()).getType().isByteSized()) {
+                        restrict(byTemp, instruction.getLeft(), Register.BYTE_ADDRESSABLE);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static void restrict(Map<Temp, Interval> byTemp, Operand operand, int allowed) {
+        if (operand instanceof Temp temp) {
+            byTemp.get(temp).allowed &= allowed;
+        }
+    }
+
+    private void scan(List<Interval> intervals) {
+        intervals.sort(Comparator.comparingInt((Interval interval) -> interval.start)
+                .thenComparingInt(interval -> interval.temp.getId()));
+        List<Interval> active = new ArrayList<>();
+        int activeMask = 0;
+
+        for (Interval current : intervals) {
+            // Libera os registradores dos intervalos que terminam até o início deste.
+            for (int i = active.size() - 1; i >= 0; i--) {
+                Interval interval = active.get(i);
+                if (interval.end <= current.start) {
+                    activeMask &= ~interval.register.mask();
+                    active.remove(i);
+                }
+            }
+
+            int free = current.allowed & ~activeMask;
+            if (free != 0) {
+                current.register = current.hint != null && (free & current.hint.mask()) != 0
+                        ? current.hint : Register.first(free);
+            } else {
+                // Sem registrador livre: vai para a memória quem termina mais tarde.
+                Interval victim = null;
+                for (Interval interval : active) {
+                    if ((current.allowed & interval.register.mask()) != 0
+                            && (victim == null || interval.end > victim.end)) {
+                        victim = interval;
+                    }
+                }
+                if (victim == null || victim.end <= current.end) {
+                    spilled.add(current.temp);
+                    continue;
+                }
+                current.register = victim.register;
+                victim.register = null;
+                active.remove(victim);
+                spilled.add(victim.temp);
+            }
+            active.add(current);
+            activeMask |= current.register.mask();
+        }
+
+        for (Interval interval : intervals) {
+            if (interval.register != null) {
+                registers.put(interval.temp, interval.register);
+                for (int i = interval.start; i <= interval.end; i++) {
+                    busy[i] |= interval.register.mask();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.compiladores.compilador.codegen;
+
+import com.compiladores.compilador.ir.Const;
+import com.compiladores.compilador.ir.Instruction;
+import com.compiladores.compilador.ir.Opcode;
+
+/**
+ * Cálculos usados na redução de força das operações com constantes: 'imul' e 'idiv' por uma
+ * constante são trocados por deslocamentos, 'lea' e multiplicação pelo "número mágico" (o
+ * inverso do divisor em ponto fixo), bem mais rápidos que a divisão.
+ */
+final class StrengthReduction {
+
+    private StrengthReduction() {
+    }
+
+    // Expoente k se o valor for 2^k, ou -1 caso contrário.
+    static int log2(int value) {
+        return value > 0 && (value & (value - 1)) == 0 ? Integer.numberOfTrailingZeros(value) : -1;
+    }
+
+    // Fator que 'lea r, [x + x*(f-1)]' multiplica (3, 5 ou 9), ou 0 se o valor não é um deles.
+    static int leaFactor(int value) {
+        return value == 3 || value == 5 || value == 9 ? value : 0;
+    }
+
+    /**
+     * A divisão por potência de dois (ou por ±1) é feita com deslocamentos e não usa eax/edx;
+     * as demais divisões (idiv ou número mágico) ocupam os dois registradores.
+     */
+    static boolean usesDivisionRegisters(Instruction instruction) {
+        if (instruction.getOpcode() != Opcode.DIV) {
+            return false;
+        }
+        return !(instruction.getRight() instanceof Const divisor) || divisor.getValue() == 0
+                || log2(Math.abs(divisor.getValue())) < 0;
+    }
+
+    /**
+     * Multiplicador e deslocamento para a divisão com sinal por uma constante (|d| >= 2 e que
+     * não seja potência de dois), pelo algoritmo de Granlund e Montgomery (Hacker's Delight,
+     * seção 10-4): o quociente é a parte alta de x * M deslocada de 's' bits, mais 1 se negativo.
+     */
+    static Magic magic(int divisor) {
+        final long twoTo31 = 0x80000000L;
+        long absolute = Math.abs((long) divisor);
+        long t = twoTo31 + (divisor < 0 ? 1 : 0);
+        long absoluteNc = t - 1 - t % absolute; // Maior múltiplo de |d| menos 1 que cabe em 2^31.
+        int p = 31;
+        long q1 = twoTo31 / absoluteNc;
+        long r1 = twoTo31 - q1 * absoluteNc;
+        long q2 = twoTo31 / absolute;
+        long r2 = twoTo31 - q2 * absolute;
+        long delta;
+        do {
+            p++;
+            q1 = 2 * q1;
+            r1 = 2 * r1;
+            if (r1 >= absoluteNc) {
+                q1++;
+                r1 -= absoluteNc;
+            }
+            q2 = 2 * q2;
+            r2 = 2 * r2;
+            if (r2 >= absolute) {
+                q2++;
+                r2 -= absolute;
+            }
+            delta = absolute - r2;
+        } while (q1 < delta || q1 == delta && r1 == 0);
+
+        int multiplier = (int) (q2 + 1); // Os 32 bits baixos; pode ficar negativo.
+        return new Magic(divisor < 0 ? -multiplier : multiplier, p - 32);
+    }
+
+    record Magic(int multiplier, int shift) {
+    }
+}
@@ -85,6 +85,16 @@ public class ErrorHandler {
                 "' na linha " + token.getLine() + ", coluna " + token.getColumn());
     }
 
+    public static void semanticErrorConstantOutOfRange(int value, int line, int column) throws CompilerException {
+        throw new CompilerException("Erro Semântico: o valor da expressão constante (" + value +
+                ") está fora do intervalo permitido (-32768 a 32767), na linha " + line + ", coluna " + column);
+    }
+
+    public static void semanticErrorDivisionByZero(int line, int column) throws CompilerException {
+        throw new CompilerException("Erro Semântico: divisão por zero em expressão constante na linha " + line +
+                ", coluna " + column);
+    }
+
     // ========== MÉTODOS AUXILIARES PARA CONSTRUIR MENSAGENS ==========
 
     private static String buildSemanticAssignmentMessage(Token wrongToken, Token declaredToken) {
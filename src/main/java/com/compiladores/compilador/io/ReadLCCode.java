@@ -6,6 +6,12 @@ import com.compiladores.compilador.lexer.LexicalAnalyzer;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 // Responsável pela leitura do arquivo de código-fonte (.LC).
 public class ReadLCCode {
@@ -34,4 +40,23 @@ public class ReadLCCode {
             System.err.println("Erro ao ler o arquivo: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Mapeia o arquivo inteiro em memória e o analisa de uma só vez.
+     * O conteúdo é decodificado em um único CharBuffer (sem uma String por linha), o que
+     * permite que comentários de bloco ocupem várias linhas.
+     */
+    public void readWholeFileAndAnalyze(String filePath, LexicalAnalyzer lexicalAnalyzer) throws CompilerException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // Usa o mesmo charset do FileReader do modo linha a linha.
+            CharBuffer source = Charset.defaultCharset().decode(mapped);
+
+            lexicalAnalyzer.analyzeSource(source);
+        } catch (IOException e) {
+            // Em caso de erro de leitura de arquivo, exibe uma mensagem no erro padrão.
+            System.err.println("Erro ao ler o arquivo: " + e.getMessage());
+        }
+    }
+}
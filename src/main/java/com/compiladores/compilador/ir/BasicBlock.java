@@ -0,0 +1,59 @@
+package com.compiladores.compilador.ir;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bloco básico: sequência de instruções executadas sempre do início ao fim.
+ * Só a primeira instrução pode ser um rótulo, e só a última pode ser um salto.
+ */
+public final class BasicBlock {
+
+    private final int index;
+    private final List<Instruction> instructions = new ArrayList<>();
+    private final List<BasicBlock> successors = new ArrayList<>();
+    private final List<BasicBlock> predecessors = new ArrayList<>();
+
+    BasicBlock(int index) {
+        this.index = index;
+    }
+
+    // Posição do bloco na ordem original das instruções.
+    public int getIndex() {
+        return index;
+    }
+
+    public List<Instruction> getInstructions() {
+        return instructions;
+    }
+
+    public List<BasicBlock> getSuccessors() {
+        return successors;
+    }
+
+    public List<BasicBlock> getPredecessors() {
+        return predecessors;
+    }
+
+    // Rótulo que inicia o bloco, ou nulo se ele começa logo após um salto.
+    public String getLabel() {
+        return !instructions.isEmpty() && instructions.get(0).getOpcode() == Opcode.LABEL
+                ? instructions.get(0).getLabel() : null;
+    }
+
+    public Instruction getLast() {
+        return instructions.isEmpty() ? null : instructions.get(instructions.size() - 1);
+    }
+
+    void addSuccessor(BasicBlock successor) {
+        if (!successors.contains(successor)) {
+            successors.add(successor);
+            successor.predecessors.add(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "B" + index;
+    }
+}
@@ -0,0 +1,273 @@
+package com.compiladores.compilador.ir;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Eliminação de subexpressões comuns por numeração de valores: uma expressão já calculada,
+ * cujos operandos não mudaram desde então, não é calculada de novo; os usos do seu
+ * temporário passam a usar o temporário do primeiro cálculo.
+ *
+ * Dentro de um bloco básico a tabela de expressões disponíveis é atualizada instrução a
+ * instrução. Entre blocos, cada bloco herda a tabela do seu dominador imediato (que sempre
+ * executa antes dele), menos as expressões com variáveis que podem ser alteradas nos caminhos
+ * entre os dois. Qualquer escrita numa variável (atribuição, readln, seleção) invalida as
+ * expressões que a usam.
+ */
+public class CommonSubexpressionElimination implements Pass {
+
+    private int eliminated;
+
+    @Override
+    public String name() {
+        return "Subexpressões comuns";
+    }
+
+    @Override
+    public int eliminated() {
+        return eliminated;
+    }
+
+    @Override
+    public void run(IrProgram program) {
+        eliminated = 0;
+        ControlFlowGraph graph = ControlFlowGraph.build(program.getInstructions());
+        Map<BasicBlock, List<BasicBlock>> children = dominatorTree(graph);
+        Map<Temp, Operand> replacements = new HashMap<>();
+        AvailableExpressions available = new AvailableExpressions();
+
+        // Percorre a árvore de dominadores em profundidade; ao sair de um bloco a tabela volta
+        // ao estado em que o seu dominador a deixou.
+        Deque<Visit> pending = new ArrayDeque<>();
+        pending.push(new Visit(graph.getEntry(), -1));
+        while (!pending.isEmpty()) {
+            Visit visit = pending.pop();
+            if (visit.mark() >= 0) {
+                // Depois da saída da entrada não há mais blocos, e nada precisa ser desfeito.
+                if (!pending.isEmpty()) {
+                    available.rollback(visit.mark());
+                }
+                continue;
+            }
+            BasicBlock block = visit.block();
+            pending.push(new Visit(block, available.mark()));
+            // As alterações feitas na entrada nunca são desfeitas e não precisam ser registradas.
+            available.setRecording(block != graph.getEntry());
+            BasicBlock dominator = graph.immediateDominator(block);
+            if (dominator != block) {
+                for (Var var : writtenBetween(dominator, block)) {
+                    available.invalidate(var);
+                }
+            }
+            number(block, available, replacements);
+            for (BasicBlock child : children.getOrDefault(block, List.of())) {
+                pending.push(new Visit(child, -1));
+            }
+        }
+
+        if (eliminated > 0) {
+            program.setInstructions(graph.toInstructions());
+        }
+    }
+
+    // Entrada num bloco (marca negativa) ou saída dele, desfazendo as alterações desde a marca.
+    private record Visit(BasicBlock block, int mark) {
+    }
+
+    private static Map<BasicBlock, List<BasicBlock>> dominatorTree(ControlFlowGraph graph) {
+        Map<BasicBlock, List<BasicBlock>> children = new HashMap<>();
+        for (BasicBlock block : graph.reversePostorder()) {
+            BasicBlock dominator = graph.immediateDominator(block);
+            if (dominator != block) {
+                children.computeIfAbsent(dominator, key -> new ArrayList<>()).add(block);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Variáveis escritas em algum bloco que pode executar depois de 'dominator' e antes de
+     * 'block': os blocos alcançados voltando pelos predecessores de 'block' sem passar por
+     * 'dominator' (inclusive o próprio 'block', se ele estiver num laço).
+     */
+    private static Set<Var> writtenBetween(BasicBlock dominator, BasicBlock block) {
+        Set<Var> written = new HashSet<>();
+        Set<BasicBlock> visited = new HashSet<>();
+        Deque<BasicBlock> pending = new ArrayDeque<>(block.getPredecessors());
+        while (!pending.isEmpty()) {
+            BasicBlock current = pending.pop();
+            if (current == dominator || !visited.add(current)) {
+                continue;
+            }
+            for (Instruction instruction : current.getInstructions()) {
+                if (instruction.getResult() instanceof Var var) {
+                    written.add(var);
+                }
+            }
+            pending.addAll(current.getPredecessors());
+        }
+        return written;
+    }
+
+    // Numera as expressões do bloco, removendo as que já estão disponíveis.
+    private void number(BasicBlock block, AvailableExpressions available, Map<Temp, Operand> replacements) {
+        List<Instruction> kept = new ArrayList<>(block.getInstructions().size());
+        for (Instruction instruction : block.getInstructions()) {
+            substitute(instruction, replacements);
+            Operand result = instruction.getResult();
+            if (result instanceof Var var) {
+                available.invalidate(var);
+            } else if (Expression.of(instruction) instanceof Expression expression) {
+                Temp previous = available.get(expression);
+                if (previous != null) {
+                    replacements.put((Temp) result, previous);
+                    eliminated++;
+                    continue;
+                }
+                available.put(expression, (Temp) result);
+            }
+            kept.add(instruction);
+        }
+        block.getInstructions().clear();
+        block.getInstructions().addAll(kept);
+    }
+
+    // Troca os temporários eliminados pelos que guardam o mesmo valor.
+    private static void substitute(Instruction instruction, Map<Temp, Operand> replacements) {
+        if (replacements.isEmpty()) {
+            return;
+        }
+        instruction.setLeft(replacement(instruction.getLeft(), replacements));
+        instruction.setRight(replacement(instruction.getRight(), replacements));
+        if (!instruction.getArguments().isEmpty()) {
+            List<Operand> arguments = new ArrayList<>(instruction.getArguments().size());
+            for (Operand argument : instruction.getArguments()) {
+                arguments.add(replacement(argument, replacements));
+            }
+            instruction.setArguments(arguments);
+        }
+    }
+
+    private static Operand replacement(Operand operand, Map<Temp, Operand> replacements) {
+        Operand value = operand instanceof Temp temp ? replacements.get(temp) : null;
+        return value != null ? value : operand;
+    }
+
+    /**
+     * Expressão pura identificada pela operação e pelos operandos. Operações comutativas e
+     * comparações são normalizadas para que a + b e b + a, ou a < b e b > a, sejam iguais.
+     */
+    private record Expression(Opcode opcode, Condition condition, Operand left, Operand right) {
+
+        static Expression of(Instruction instruction) {
+            Opcode opcode = instruction.getOpcode();
+            Operand left = instruction.getLeft();
+            Operand right = instruction.getRight();
+            return switch (opcode) {
+                case ADD, MUL, AND, OR -> ordered(left, right)
+                        ? new Expression(opcode, null, left, right) : new Expression(opcode, null, right, left);
+                case SUB, DIV -> new Expression(opcode, null, left, right);
+                case NOT -> new Expression(opcode, null, left, null);
+                case COMPARE -> {
+                    Condition condition = instruction.getCondition();
+                    if (condition == Condition.GT || condition == Condition.GE
+                            || (condition == Condition.EQ || condition == Condition.NE) && !ordered(left, right)) {
+                        yield new Expression(opcode, condition.swap(), right, left);
+                    }
+                    yield new Expression(opcode, condition, left, right);
+                }
+                default -> null;
+            };
+        }
+
+        // Ordem qualquer, mas fixa durante a passagem, entre os operandos de uma operação comutativa.
+        private static boolean ordered(Operand left, Operand right) {
+            int order = Integer.compare(left.hashCode(), right.hashCode());
+            return order != 0 ? order < 0 : left.toString().compareTo(right.toString()) <= 0;
+        }
+    }
+
+    /**
+     * Tabela de expressões disponíveis, com índice das expressões que usam cada variável e um
+     * registro das alterações para desfazê-las ao voltar na árvore de dominadores.
+     */
+    private static final class AvailableExpressions {
+
+        private final Map<Expression, Temp> values = new HashMap<>();
+        private final Map<Var, Set<Expression>> users = new HashMap<>();
+        // Alterações feitas: a expressão e o valor anterior (nulo se ela não estava na tabela).
+        private final List<Expression> changedExpressions = new ArrayList<>();
+        private final List<Temp> previousValues = new ArrayList<>();
+        private boolean recording;
+
+        Temp get(Expression expression) {
+            return values.get(expression);
+        }
+
+        void put(Expression expression, Temp value) {
+            record(expression);
+            store(expression, value);
+        }
+
+        void invalidate(Var var) {
+            Set<Expression> expressions = users.get(var);
+            if (expressions == null) {
+                return;
+            }
+            for (Expression expression : new ArrayList<>(expressions)) {
+                record(expression);
+                store(expression, null);
+            }
+        }
+
+        void setRecording(boolean recording) {
+            this.recording = recording;
+        }
+
+        int mark() {
+            return changedExpressions.size();
+        }
+
+        // Desfaz as alterações feitas depois da marca, da mais recente para a mais antiga.
+        void rollback(int mark) {
+            for (int i = changedExpressions.size() - 1; i >= mark; i--) {
+                store(changedExpressions.remove(i), previousValues.remove(i));
+            }
+        }
+
+        private void record(Expression expression) {
+            if (!recording) {
+                return;
+            }
+            changedExpressions.add(expression);
+            previousValues.add(values.get(expression));
+        }
+
+        private void store(Expression expression, Temp value) {
+            if (value == null) {
+                values.remove(expression);
+            } else {
+                values.put(expression, value);
+            }
+            index(expression.left(), expression, value != null);
+            index(expression.right(), expression, value != null);
+        }
+
+        private void index(Operand operand, Expression expression, boolean available) {
+            if (!(operand instanceof Var var)) {
+                return;
+            }
+            if (available) {
+                users.computeIfAbsent(var, key -> new HashSet<>()).add(expression);
+            } else if (users.containsKey(var)) {
+                users.get(var).remove(expression);
+            }
+        }
+    }
+}
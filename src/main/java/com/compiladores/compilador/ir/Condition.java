@@ -0,0 +1,58 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.TokenKind;
+
+// Condição de uma comparação ou de um salto condicional.
+public enum Condition {
+    EQ("=="),
+    NE("<>"),
+    LT("<"),
+    GT(">"),
+    LE("<="),
+    GE(">=");
+
+    private final String symbol;
+
+    Condition(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    // Condição oposta, usada para saltar quando a condição do 'if'/'while' é falsa.
+    public Condition negate() {
+        return switch (this) {
+            case EQ -> NE;
+            case NE -> EQ;
+            case LT -> GE;
+            case GT -> LE;
+            case LE -> GT;
+            case GE -> LT;
+        };
+    }
+
+    // Condição equivalente com os operandos trocados (a < b equivale a b > a).
+    public Condition swap() {
+        return switch (this) {
+            case EQ, NE -> this;
+            case LT -> GT;
+            case GT -> LT;
+            case LE -> GE;
+            case GE -> LE;
+        };
+    }
+
+    public static Condition fromOperator(TokenKind operator) {
+        return switch (operator) {
+            case EQ_EQ -> EQ;
+            case NOT_EQ -> NE;
+            case LT -> LT;
+            case GT -> GT;
+            case LE -> LE;
+            case GE -> GE;
+            default -> throw new IllegalArgumentException("Operador não relacional: " + operator);
+        };
+    }
+}
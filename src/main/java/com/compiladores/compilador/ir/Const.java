@@ -0,0 +1,66 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.LcType;
+
+/**
+ * Valor literal. Guarda o lexema original (usado na formatação do Assembly e nas strings do
+ * 'write') e, para int, byte e boolean, o valor numérico, usado pelas otimizações.
+ */
+public final class Const extends Operand {
+
+    private final String lexeme;
+    private final int value;
+
+    public Const(LcType type, String lexeme, int value) {
+        super(type);
+        this.lexeme = lexeme;
+        this.value = value;
+    }
+
+    // Cria a constante a partir do lexema reconhecido pelo léxico (ex: 10, 0h1F, Fh, "texto").
+    public static Const fromLexeme(LcType type, String lexeme) {
+        return new Const(type, lexeme, valueOf(type, lexeme));
+    }
+
+    // Constante numérica calculada pelo compilador (o lexema é o próprio valor em decimal).
+    public static Const of(LcType type, int value) {
+        return new Const(type, Integer.toString(value), value);
+    }
+
+    public String getLexeme() {
+        return lexeme;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isConst() {
+        return true;
+    }
+
+    private static int valueOf(LcType type, String lexeme) {
+        return switch (type) {
+            case INT -> Integer.parseInt(lexeme);
+            case BYTE -> Integer.parseInt(lexeme.substring(2), 16); // Formato 0hXX.
+            case BOOLEAN -> lexeme.equalsIgnoreCase("Fh") ? 1 : 0;  // Fh (true) e 0h (false).
+            default -> 0;
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Const constant && constant.getType() == getType() && constant.lexeme.equals(lexeme);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getType().hashCode() + lexeme.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return lexeme;
+    }
+}
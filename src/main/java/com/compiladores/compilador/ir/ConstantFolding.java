@@ -0,0 +1,176 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.exceptions.ErrorHandler;
+import com.compiladores.compilador.lexer.LcType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dobramento de constantes: operações cujos operandos são literais, constantes 'final' ou
+ * temporários já dobrados são calculadas em tempo de compilação, e o temporário do resultado
+ * passa a ser o próprio valor. Assim, 'x = N * 4 + 2;' vira uma única cópia de um literal.
+ *
+ * Os valores seguem o intervalo do int da linguagem (16 bits, de -32768 a 32767): um resultado
+ * fora dele, ou uma divisão por zero, é um erro de compilação.
+ * Condições constantes em 'if'/'while' viram um salto incondicional (ou desaparecem), e o código
+ * que deixa de ser alcançável é removido.
+ */
+public class ConstantFolding implements Pass {
+
+    private static final int MIN_INT = -32768;
+    private static final int MAX_INT = 32767;
+
+    @Override
+    public String name() {
+        return "Dobramento de constantes";
+    }
+
+    @Override
+    public void run(IrProgram program) throws CompilerException {
+        // Valor conhecido de cada constante 'final' e de cada temporário dobrado.
+        Map<Operand, Const> known = constantsOf(program);
+        List<Instruction> folded = new ArrayList<>(program.size());
+
+        for (Instruction instruction : program.getInstructions()) {
+            instruction.setLeft(substitute(instruction.getLeft(), known));
+            instruction.setRight(substitute(instruction.getRight(), known));
+
+            Opcode opcode = instruction.getOpcode();
+            boolean computable = opcode.isBinary() || opcode == Opcode.NOT
+                    || opcode == Opcode.COMPARE || opcode == Opcode.BRANCH;
+            if (computable && isConstant(instruction.getLeft())
+                    && (opcode == Opcode.NOT || isConstant(instruction.getRight()))) {
+                int value = evaluate(instruction);
+                if (opcode == Opcode.BRANCH) {
+                    // Salto sempre tomado vira incondicional; salto nunca tomado é removido.
+                    if (value != 0) {
+                        folded.add(Instruction.jump(instruction.getLabel()));
+                    }
+                } else {
+                    known.put(instruction.getResult(), Const.of(instruction.getResult().getType(), value));
+                }
+                continue;
+            }
+            folded.add(instruction);
+        }
+        program.setInstructions(removeUnreachable(folded));
+    }
+
+    // Constantes 'final' com valor numérico ou booleano, inclusive as definidas por outra constante.
+    private static Map<Operand, Const> constantsOf(IrProgram program) {
+        Map<Operand, Const> constants = new HashMap<>();
+        for (Global global : program.getGlobals()) {
+            if (!global.isConstant() || !global.hasInitializer()) {
+                continue;
+            }
+            Operand initializer = global.getInitializer();
+            if (initializer instanceof Const constant && isNumeric(constant.getType())) {
+                constants.put(global.getVar(), constant);
+            } else if (constants.containsKey(initializer)) {
+                constants.put(global.getVar(), constants.get(initializer));
+            }
+        }
+        return constants;
+    }
+
+    private static boolean isNumeric(LcType type) {
+        return type == LcType.INT || type == LcType.BYTE || type == LcType.BOOLEAN;
+    }
+
+    private static Operand substitute(Operand operand, Map<Operand, Const> known) {
+        Const value = operand == null ? null : known.get(operand);
+        return value != null ? value : operand;
+    }
+
+    private static boolean isConstant(Operand operand) {
+        return operand != null && operand.isConst() && isNumeric(operand.getType());
+    }
+
+    // Calcula a operação; comparações e saltos resultam em 1 (verdadeiro) ou 0 (falso).
+    private static int evaluate(Instruction instruction) throws CompilerException {
+        int left = ((Const) instruction.getLeft()).getValue();
+        int right = instruction.getRight() instanceof Const constant ? constant.getValue() : 0;
+        return switch (instruction.getOpcode()) {
+            case ADD -> checkRange(left + right, instruction);
+            case SUB -> checkRange(left - right, instruction);
+            case MUL -> checkRange(left * right, instruction);
+            case DIV -> {
+                if (right == 0) {
+                    ErrorHandler.semanticErrorDivisionByZero(instruction.getLine(), instruction.getColumn());
+                }
+                yield checkRange(left / right, instruction);
+            }
+            case AND -> left & right;
+            case OR -> left | right;
+            case NOT -> left ^ 1;
+            case COMPARE, BRANCH -> holds(instruction.getCondition(), left, right) ? 1 : 0;
+            default -> throw new IllegalArgumentException("Instrução sem valor constante: " + instruction);
+        };
+    }
+
+    private static int checkRange(int value, Instruction instruction) throws CompilerException {
+        if (value < MIN_INT || value > MAX_INT) {
+            ErrorHandler.semanticErrorConstantOutOfRange(value, instruction.getLine(), instruction.getColumn());
+        }
+        return value;
+    }
+
+    private static boolean holds(Condition condition, int left, int right) {
+        return switch (condition) {
+            case EQ -> left == right;
+            case NE -> left != right;
+            case LT -> left < right;
+            case GT -> left > right;
+            case LE -> left <= right;
+            case GE -> left >= right;
+        };
+    }
+
+    /**
+     * Remove o código que nunca executa: as instruções entre um salto incondicional e o próximo
+     * rótulo usado, os rótulos que nenhum salto referencia e os saltos para a instrução seguinte.
+     * Repete até estabilizar, pois remover um salto pode deixar outro rótulo sem uso.
+     */
+    static List<Instruction> removeUnreachable(List<Instruction> instructions) {
+        boolean changed = true;
+        while (changed) {
+            Set<String> targets = new HashSet<>();
+            for (Instruction instruction : instructions) {
+                if (instruction.getOpcode() == Opcode.JUMP || instruction.getOpcode() == Opcode.BRANCH) {
+                    targets.add(instruction.getLabel());
+                }
+            }
+
+            List<Instruction> kept = new ArrayList<>(instructions.size());
+            boolean reachable = true;
+            for (Instruction instruction : instructions) {
+                if (instruction.getOpcode() == Opcode.LABEL) {
+                    if (!targets.contains(instruction.getLabel())) {
+                        continue;
+                    }
+                    Instruction previous = kept.isEmpty() ? null : kept.get(kept.size() - 1);
+                    if (previous != null && previous.getOpcode() == Opcode.JUMP
+                            && previous.getLabel().equals(instruction.getLabel())) {
+                        kept.remove(kept.size() - 1); // Salto para a instrução seguinte.
+                    }
+                    reachable = true;
+                } else if (!reachable) {
+                    continue;
+                }
+                kept.add(instruction);
+                if (instruction.getOpcode() == Opcode.JUMP) {
+                    reachable = false;
+                }
+            }
+            changed = kept.size() != instructions.size();
+            instructions = kept;
+        }
+        return instructions;
+    }
+}
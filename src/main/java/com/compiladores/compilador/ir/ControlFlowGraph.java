@@ -0,0 +1,236 @@
+package com.compiladores.compilador.ir;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Grafo de fluxo de controle da IR: as instruções divididas em blocos básicos ligados pelos
+ * saltos e pela passagem direta de um bloco ao seguinte. As passagens podem alterar as
+ * instruções dos blocos e depois reconstruir a lista com {@link #toInstructions()}, que mantém
+ * a ordem original dos blocos.
+ */
+public final class ControlFlowGraph {
+
+    private final List<BasicBlock> blocks = new ArrayList<>();
+    private final Map<String, BasicBlock> labels = new HashMap<>();
+    private List<BasicBlock> reversePostorder;
+    private BasicBlock[] dominators;
+
+    private ControlFlowGraph() {
+    }
+
+    public static ControlFlowGraph build(List<Instruction> instructions) {
+        ControlFlowGraph graph = new ControlFlowGraph();
+        BasicBlock current = null;
+        for (Instruction instruction : instructions) {
+            // Um rótulo sempre inicia um novo bloco; um salto sempre termina o bloco atual.
+            if (current == null || instruction.getOpcode() == Opcode.LABEL && !current.getInstructions().isEmpty()) {
+                current = graph.newBlock();
+            }
+            current.getInstructions().add(instruction);
+            if (instruction.getOpcode() == Opcode.LABEL) {
+                graph.labels.put(instruction.getLabel(), current);
+            }
+            if (instruction.getOpcode() == Opcode.JUMP || instruction.getOpcode() == Opcode.BRANCH) {
+                current = null;
+            }
+        }
+        if (graph.blocks.isEmpty()) {
+            graph.newBlock();
+        }
+
+        for (BasicBlock block : graph.blocks) {
+            Instruction last = block.getLast();
+            Opcode opcode = last == null ? null : last.getOpcode();
+            if (opcode == Opcode.JUMP || opcode == Opcode.BRANCH) {
+                block.addSuccessor(graph.labels.get(last.getLabel()));
+            }
+            if (opcode != Opcode.JUMP && block.getIndex() + 1 < graph.blocks.size()) {
+                block.addSuccessor(graph.blocks.get(block.getIndex() + 1));
+            }
+        }
+        return graph;
+    }
+
+    private BasicBlock newBlock() {
+        BasicBlock block = new BasicBlock(blocks.size());
+        blocks.add(block);
+        return block;
+    }
+
+    public List<BasicBlock> getBlocks() {
+        return blocks;
+    }
+
+    public BasicBlock getEntry() {
+        return blocks.get(0);
+    }
+
+    // Bloco iniciado pelo rótulo, ou nulo se o rótulo não existe.
+    public BasicBlock blockOf(String label) {
+        return labels.get(label);
+    }
+
+    // Instruções de todos os blocos, na ordem original.
+    public List<Instruction> toInstructions() {
+        List<Instruction> instructions = new ArrayList<>();
+        for (BasicBlock block : blocks) {
+            instructions.addAll(block.getInstructions());
+        }
+        return instructions;
+    }
+
+    // Blocos alcançáveis a partir da entrada, em pós-ordem reversa (cada bloco antes dos seus
+    // sucessores, exceto nos arcos de volta dos laços).
+    public List<BasicBlock> reversePostorder() {
+        if (reversePostorder == null) {
+            List<BasicBlock> postorder = new ArrayList<>();
+            boolean[] visited = new boolean[blocks.size()];
+            // Busca em profundidade iterativa: cada entrada guarda o bloco e o próximo sucessor a visitar.
+            Deque<int[]> stack = new ArrayDeque<>();
+            stack.push(new int[]{0, 0});
+            visited[0] = true;
+            while (!stack.isEmpty()) {
+                int[] top = stack.peek();
+                BasicBlock block = blocks.get(top[0]);
+                if (top[1] < block.getSuccessors().size()) {
+                    BasicBlock successor = block.getSuccessors().get(top[1]++);
+                    if (!visited[successor.getIndex()]) {
+                        visited[successor.getIndex()] = true;
+                        stack.push(new int[]{successor.getIndex(), 0});
+                    }
+                } else {
+                    postorder.add(block);
+                    stack.pop();
+                }
+            }
+            Collections.reverse(postorder);
+            reversePostorder = postorder;
+        }
+        return reversePostorder;
+    }
+
+    public boolean isReachable(BasicBlock block) {
+        return immediateDominators()[block.getIndex()] != null;
+    }
+
+    // Dominador imediato do bloco; a entrada é o seu próprio dominador e blocos inalcançáveis não têm.
+    public BasicBlock immediateDominator(BasicBlock block) {
+        return immediateDominators()[block.getIndex()];
+    }
+
+    // Verdadeiro se todo caminho da entrada até 'block' passa por 'dominator'.
+    public boolean dominates(BasicBlock dominator, BasicBlock block) {
+        BasicBlock[] idom = immediateDominators();
+        if (idom[block.getIndex()] == null || idom[dominator.getIndex()] == null) {
+            return false;
+        }
+        BasicBlock current = block;
+        while (current != dominator) {
+            BasicBlock next = idom[current.getIndex()];
+            if (next == current) {
+                return false;
+            }
+            current = next;
+        }
+        return true;
+    }
+
+    /**
+     * Dominadores pelo algoritmo iterativo de Cooper, Harvey e Kennedy: percorre os blocos em
+     * pós-ordem reversa intersectando os dominadores dos predecessores até nada mudar.
+     */
+    private BasicBlock[] immediateDominators() {
+        if (dominators == null) {
+            List<BasicBlock> order = reversePostorder();
+            int[] position = new int[blocks.size()];
+            for (int i = 0; i < order.size(); i++) {
+                position[order.get(i).getIndex()] = i;
+            }
+            BasicBlock[] idom = new BasicBlock[blocks.size()];
+            BasicBlock entry = getEntry();
+            idom[entry.getIndex()] = entry;
+
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (BasicBlock block : order) {
+                    if (block == entry) {
+                        continue;
+                    }
+                    BasicBlock candidate = null;
+                    for (BasicBlock predecessor : block.getPredecessors()) {
+                        if (idom[predecessor.getIndex()] == null) {
+                            continue;
+                        }
+                        candidate = candidate == null ? predecessor : intersect(idom, position, predecessor, candidate);
+                    }
+                    if (candidate != idom[block.getIndex()]) {
+                        idom[block.getIndex()] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            dominators = idom;
+        }
+        return dominators;
+    }
+
+    private static BasicBlock intersect(BasicBlock[] idom, int[] position, BasicBlock a, BasicBlock b) {
+        while (a != b) {
+            while (position[a.getIndex()] > position[b.getIndex()]) {
+                a = idom[a.getIndex()];
+            }
+            while (position[b.getIndex()] > position[a.getIndex()]) {
+                b = idom[b.getIndex()];
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Laços naturais: cada arco de um bloco para um dos seus dominadores é um arco de volta, e o
+     * laço é formado pelo cabeçalho mais os blocos que alcançam o arco sem passar por ele.
+     * Arcos de volta para o mesmo cabeçalho formam um só laço. Os laços internos vêm primeiro.
+     */
+    public List<Loop> findLoops() {
+        Map<BasicBlock, Set<BasicBlock>> bodies = new LinkedHashMap<>();
+        for (BasicBlock block : reversePostorder()) {
+            for (BasicBlock successor : block.getSuccessors()) {
+                if (!dominates(successor, block)) {
+                    continue;
+                }
+                Set<BasicBlock> body = bodies.computeIfAbsent(successor,
+                        header -> new TreeSet<>(Comparator.comparingInt(BasicBlock::getIndex)));
+                body.add(successor);
+                Deque<BasicBlock> pending = new ArrayDeque<>();
+                if (body.add(block)) {
+                    pending.push(block);
+                }
+                while (!pending.isEmpty()) {
+                    for (BasicBlock predecessor : pending.pop().getPredecessors()) {
+                        if (isReachable(predecessor) && body.add(predecessor)) {
+                            pending.push(predecessor);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Loop> loops = new ArrayList<>();
+        for (Map.Entry<BasicBlock, Set<BasicBlock>> entry : bodies.entrySet()) {
+            loops.add(new Loop(entry.getKey(), entry.getValue()));
+        }
+        loops.sort(Comparator.comparingInt(loop -> loop.getBlocks().size()));
+        return loops;
+    }
+}
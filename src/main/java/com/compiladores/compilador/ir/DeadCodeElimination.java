@@ -0,0 +1,172 @@
+package com.compiladores.compilador.ir;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Eliminação de código morto guiada pela análise de longevidade (liveness) sobre o grafo de
+ * fluxo de controle:
+ *   - blocos que não podem ser alcançados a partir do início são removidos;
+ *   - atribuições cujo valor nunca é lido (sobrescrito antes ou nunca usado até o fim do
+ *     programa) e temporários sem uso são removidos;
+ *   - declarações que nenhuma instrução usa saem da seção .data.
+ *
+ * A leitura (readln) nunca é removida, pois consome a entrada, e a divisão só é removida quando
+ * o divisor é uma constante diferente de zero, pois removê-la esconderia um erro de execução.
+ * A análise é repetida até nada mudar, já que remover uma instrução pode tornar mortas as
+ * instruções que calculavam os seus operandos em outros blocos.
+ */
+public class DeadCodeElimination implements Pass {
+
+    private int eliminated;
+
+    @Override
+    public String name() {
+        return "Código morto";
+    }
+
+    @Override
+    public int eliminated() {
+        return eliminated;
+    }
+
+    @Override
+    public void run(IrProgram program) {
+        eliminated = 0;
+        List<Instruction> instructions = program.getInstructions();
+        boolean changed = true;
+        while (changed) {
+            ControlFlowGraph graph = ControlFlowGraph.build(instructions);
+            changed = removeUnreachableBlocks(graph) | removeDeadInstructions(graph);
+            instructions = graph.toInstructions();
+        }
+        // Rótulos que perderam todos os saltos e saltos para a instrução seguinte.
+        program.setInstructions(ConstantFolding.removeUnreachable(instructions));
+        removeUnusedGlobals(program);
+    }
+
+    private boolean removeUnreachableBlocks(ControlFlowGraph graph) {
+        boolean changed = false;
+        for (BasicBlock block : graph.getBlocks()) {
+            if (!graph.isReachable(block) && !block.getInstructions().isEmpty()) {
+                eliminated += block.getInstructions().size();
+                block.getInstructions().clear();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean removeDeadInstructions(ControlFlowGraph graph) {
+        Map<BasicBlock, Set<Operand>> liveOut = liveness(graph);
+        boolean changed = false;
+        for (BasicBlock block : graph.getBlocks()) {
+            Set<Operand> live = new HashSet<>(liveOut.getOrDefault(block, Set.of()));
+            List<Instruction> instructions = block.getInstructions();
+            List<Instruction> kept = new ArrayList<>(instructions.size());
+            // Percorre o bloco de trás para frente, mantendo o conjunto de valores ainda lidos adiante.
+            for (int i = instructions.size() - 1; i >= 0; i--) {
+                Instruction instruction = instructions.get(i);
+                Operand result = instruction.getResult();
+                if (result != null && !live.contains(result) && isRemovable(instruction)) {
+                    eliminated++;
+                    changed = true;
+                    continue;
+                }
+                transfer(instruction, live);
+                kept.add(instruction);
+            }
+            Collections.reverse(kept);
+            instructions.clear();
+            instructions.addAll(kept);
+        }
+        return changed;
+    }
+
+    /**
+     * Valores vivos na saída de cada bloco: os que algum caminho a partir dali lê antes de
+     * escrever. Ao fim do programa nada está vivo, pois as variáveis não são mais lidas.
+     */
+    private static Map<BasicBlock, Set<Operand>> liveness(ControlFlowGraph graph) {
+        List<BasicBlock> order = new ArrayList<>(graph.reversePostorder());
+        Collections.reverse(order); // Sucessores antes dos predecessores converge mais rápido.
+
+        Map<BasicBlock, Set<Operand>> liveIn = new HashMap<>();
+        Map<BasicBlock, Set<Operand>> liveOut = new HashMap<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (BasicBlock block : order) {
+                Set<Operand> out = new HashSet<>();
+                for (BasicBlock successor : block.getSuccessors()) {
+                    out.addAll(liveIn.getOrDefault(successor, Set.of()));
+                }
+                Set<Operand> in = new HashSet<>(out);
+                List<Instruction> instructions = block.getInstructions();
+                for (int i = instructions.size() - 1; i >= 0; i--) {
+                    transfer(instructions.get(i), in);
+                }
+                liveOut.put(block, out);
+                if (!in.equals(liveIn.get(block))) {
+                    liveIn.put(block, in);
+                    changed = true;
+                }
+            }
+        }
+        return liveOut;
+    }
+
+    // Atualiza o conjunto de valores vivos ao passar, de trás para frente, pela instrução.
+    private static void transfer(Instruction instruction, Set<Operand> live) {
+        if (instruction.getResult() != null) {
+            live.remove(instruction.getResult());
+        }
+        addUse(instruction.getLeft(), live);
+        addUse(instruction.getRight(), live);
+        for (Operand argument : instruction.getArguments()) {
+            addUse(argument, live);
+        }
+    }
+
+    private static void addUse(Operand operand, Set<Operand> live) {
+        if (operand instanceof Var || operand instanceof Temp) {
+            live.add(operand);
+        }
+    }
+
+    private static boolean isRemovable(Instruction instruction) {
+        return switch (instruction.getOpcode()) {
+            case ADD, SUB, MUL, AND, OR, NOT, COMPARE, COPY, STRING_COPY, SELECT -> true;
+            case DIV -> instruction.getRight() instanceof Const divisor && divisor.getValue() != 0;
+            default -> false;
+        };
+    }
+
+    // Mantém só as declarações usadas pelas instruções ou pelo valor inicial de outra mantida.
+    private static void removeUnusedGlobals(IrProgram program) {
+        Set<Operand> used = new HashSet<>();
+        for (Instruction instruction : program.getInstructions()) {
+            addUse(instruction.getResult(), used);
+            addUse(instruction.getLeft(), used);
+            addUse(instruction.getRight(), used);
+            for (Operand argument : instruction.getArguments()) {
+                addUse(argument, used);
+            }
+        }
+        List<Global> globals = program.getGlobals();
+        // Uma constante pode ser definida por outra declarada antes; por isso a lista é lida ao contrário.
+        for (int i = globals.size() - 1; i >= 0; i--) {
+            Global global = globals.get(i);
+            if (!used.contains(global.getVar())) {
+                globals.remove(i);
+            } else if (global.hasInitializer()) {
+                addUse(global.getInitializer(), used);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.compiladores.compilador.ir;
+
+/**
+ * Variável ou constante da seção de declarações, com o valor inicial (nulo se não houver).
+ * O valor é uma constante literal ou, para constantes, o nome de outra declaração.
+ */
+public final class Global {
+
+    private final Var var;
+    private final Operand initializer;
+
+    public Global(Var var, Operand initializer) {
+        this.var = var;
+        this.initializer = initializer;
+    }
+
+    public Var getVar() {
+        return var;
+    }
+
+    public Operand getInitializer() {
+        return initializer;
+    }
+
+    public boolean hasInitializer() {
+        return initializer != null;
+    }
+
+    public boolean isConstant() {
+        return var.isConstant();
+    }
+}
@@ -0,0 +1,146 @@
+package com.compiladores.compilador.ir;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversão de 'if' em seleção sem desvio (SELECT), traduzida para setcc/cmovcc no Assembly.
+ * Em laços que decidem com base em dados imprevisíveis, um salto mal previsto custa bem mais
+ * que calcular os dois lados e escolher o resultado.
+ *
+ * Formas convertidas, em que cada bloco só atribui a mesma variável:
+ *   if c begin x = a; else begin x = b; end end    ->  x = c ? a : b
+ *   if c begin x = a; end                          ->  x = c ? a : x
+ * O valor atribuído pode ser uma expressão curta sem efeitos colaterais (sem divisão, que pode
+ * falhar); as suas instruções passam a ser executadas antes da seleção, nos dois caminhos.
+ */
+public class IfConversion implements Pass {
+
+    // Limite de instruções calculadas antecipadamente em cada bloco.
+    private static final int MAX_SPECULATED = 4;
+
+    @Override
+    public String name() {
+        return "Conversão de if em cmov/setcc";
+    }
+
+    @Override
+    public void run(IrProgram program) {
+        List<Instruction> instructions = program.getInstructions();
+        Map<String, Integer> references = countReferences(instructions);
+        List<Instruction> converted = new ArrayList<>(instructions.size());
+
+        int i = 0;
+        while (i < instructions.size()) {
+            Instruction instruction = instructions.get(i);
+            if (instruction.getOpcode() == Opcode.BRANCH) {
+                int consumed = tryConvert(instructions, i, references, converted);
+                if (consumed > 0) {
+                    i += consumed;
+                    continue;
+                }
+            }
+            converted.add(instruction);
+            i++;
+        }
+        program.setInstructions(converted);
+    }
+
+    private static Map<String, Integer> countReferences(List<Instruction> instructions) {
+        Map<String, Integer> references = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.getOpcode() == Opcode.JUMP || instruction.getOpcode() == Opcode.BRANCH) {
+                references.merge(instruction.getLabel(), 1, Integer::sum);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Tenta converter o 'if' que começa no BRANCH da posição 'start' (o salto para o 'else'
+     * quando a condição é falsa). Retorna o número de instruções consumidas, ou 0 se o padrão
+     * não se aplica.
+     */
+    private static int tryConvert(List<Instruction> instructions, int start, Map<String, Integer> references,
+                                  List<Instruction> out) {
+        Instruction branch = instructions.get(start);
+        String elseLabel = branch.getLabel();
+        if (references.get(elseLabel) != 1) {
+            return 0;
+        }
+
+        Block thenBlock = Block.parse(instructions, start + 1);
+        if (thenBlock == null) {
+            return 0;
+        }
+        int next = thenBlock.end;
+        Var target = (Var) thenBlock.assignment.getResult();
+
+        // if sem else: o salto leva direto ao rótulo do fim.
+        if (isLabel(instructions, next, elseLabel)) {
+            out.addAll(thenBlock.speculated);
+            out.add(select(branch, target, target, thenBlock.assignment.getLeft()));
+            return next + 1 - start;
+        }
+
+        // if com else: salto para o fim, rótulo do else, bloco do else e rótulo do fim.
+        if (next + 1 >= instructions.size() || instructions.get(next).getOpcode() != Opcode.JUMP
+                || !isLabel(instructions, next + 1, elseLabel)) {
+            return 0;
+        }
+        String endLabel = instructions.get(next).getLabel();
+        Block elseBlock = Block.parse(instructions, next + 2);
+        if (elseBlock == null || !elseBlock.assignment.getResult().equals(target)
+                || !isLabel(instructions, elseBlock.end, endLabel) || references.get(endLabel) != 1) {
+            return 0;
+        }
+        out.addAll(thenBlock.speculated);
+        out.addAll(elseBlock.speculated);
+        // O BRANCH salta para o else quando a sua condição é verdadeira.
+        out.add(select(branch, target, elseBlock.assignment.getLeft(), thenBlock.assignment.getLeft()));
+        return elseBlock.end + 1 - start;
+    }
+
+    private static Instruction select(Instruction branch, Var target, Operand whenTrue, Operand whenFalse) {
+        return Instruction.select(branch.getCondition(), target, branch.getLeft(), branch.getRight(), whenTrue, whenFalse)
+                .at(branch.getLine(), branch.getColumn());
+    }
+
+    private static boolean isLabel(List<Instruction> instructions, int index, String label) {
+        return index < instructions.size() && instructions.get(index).getOpcode() == Opcode.LABEL
+                && instructions.get(index).getLabel().equals(label);
+    }
+
+    // Bloco convertível: instruções puras que calculam temporários, seguidas de uma única atribuição.
+    private static final class Block {
+        final List<Instruction> speculated = new ArrayList<>();
+        Instruction assignment;
+        int end; // Posição logo após a atribuição.
+
+        static Block parse(List<Instruction> instructions, int start) {
+            Block block = new Block();
+            int i = start;
+            while (i < instructions.size() && isPure(instructions.get(i))) {
+                if (block.speculated.size() == MAX_SPECULATED) {
+                    return null;
+                }
+                block.speculated.add(instructions.get(i++));
+            }
+            if (i == instructions.size() || instructions.get(i).getOpcode() != Opcode.COPY) {
+                return null;
+            }
+            block.assignment = instructions.get(i);
+            block.end = i + 1;
+            return block;
+        }
+
+        private static boolean isPure(Instruction instruction) {
+            return switch (instruction.getOpcode()) {
+                case ADD, SUB, MUL, AND, OR, NOT, COMPARE -> true;
+                default -> false;
+            };
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.LcType;
+
+import java.util.List;
+
+/**
+ * Instrução de três endereços (quádrupla): operação, resultado e até dois operandos.
+ * Rótulos e saltos referenciam os rótulos pelo nome; 'write' leva a sua lista de argumentos.
+ * Os operandos podem ser substituídos pelas passagens de otimização.
+ *
+ * Formas:
+ *   resultado = esquerdo op direito        (ADD, SUB, MUL, DIV, AND, OR)
+ *   resultado = not esquerdo               (NOT)
+ *   resultado = esquerdo cond direito      (COMPARE, resulta em 0 ou 1)
+ *   resultado = esquerdo                   (COPY, STRING_COPY)
+ *   readln resultado | write args          (READ, WRITE, WRITELN)
+ *   rotulo: | goto rotulo                  (LABEL, JUMP)
+ *   if esquerdo cond direito goto rotulo   (BRANCH)
+ *   resultado = esquerdo cond direito ? a : b   (SELECT, com a e b nos argumentos)
+ */
+public final class Instruction {
+
+    private final Opcode opcode;
+    private final LcType type;
+    private Operand result;
+    private Operand left;
+    private Operand right;
+    private Condition condition;
+    private final String label;
+    private List<Operand> arguments;
+    // Posição no código fonte da expressão que originou a instrução (0 se não houver).
+    private int line;
+    private int column;
+
+    private Instruction(Opcode opcode, LcType type, Operand result, Operand left, Operand right,
+                        Condition condition, String label, List<Operand> arguments) {
+        this.opcode = opcode;
+        this.type = type;
+        this.result = result;
+        this.left = left;
+        this.right = right;
+        this.condition = condition;
+        this.label = label;
+        this.arguments = arguments;
+    }
+
+    public static Instruction binary(Opcode opcode, Temp result, Operand left, Operand right) {
+        return new Instruction(opcode, result.getType(), result, left, right, null, null, List.of());
+    }
+
+    public static Instruction not(Temp result, Operand operand) {
+        return new Instruction(Opcode.NOT, LcType.BOOLEAN, result, operand, null, null, null, List.of());
+    }
+
+    // O tipo da comparação é o dos operandos; o resultado é sempre 'boolean'.
+    public static Instruction compare(Condition condition, Temp result, Operand left, Operand right) {
+        return new Instruction(Opcode.COMPARE, left.getType(), result, left, right, condition, null, List.of());
+    }
+
+    public static Instruction copy(Var target, Operand value) {
+        return new Instruction(Opcode.COPY, target.getType(), target, value, null, null, null, List.of());
+    }
+
+    public static Instruction stringCopy(Var target, Const value) {
+        return new Instruction(Opcode.STRING_COPY, LcType.STRING, target, value, null, null, null, List.of());
+    }
+
+    public static Instruction read(Var target) {
+        return new Instruction(Opcode.READ, target.getType(), target, null, null, null, null, List.of());
+    }
+
+    public static Instruction write(boolean newLine, List<Operand> arguments) {
+        return new Instruction(newLine ? Opcode.WRITELN : Opcode.WRITE, LcType.NULL, null, null, null,
+                null, null, List.copyOf(arguments));
+    }
+
+    public static Instruction label(String name) {
+        return new Instruction(Opcode.LABEL, LcType.NULL, null, null, null, null, name, List.of());
+    }
+
+    public static Instruction jump(String target) {
+        return new Instruction(Opcode.JUMP, LcType.NULL, null, null, null, null, target, List.of());
+    }
+
+    // Salta para 'target' quando 'left condition right' é verdadeira; o tipo é o dos operandos.
+    public static Instruction branch(Condition condition, Operand left, Operand right, String target) {
+        return new Instruction(Opcode.BRANCH, left.getType(), null, left, right, condition, target, List.of());
+    }
+
+    // Atribui 'whenTrue' se 'left condition right' for verdadeira e 'whenFalse' caso contrário.
+    public static Instruction select(Condition condition, Var target, Operand left, Operand right,
+                                     Operand whenTrue, Operand whenFalse) {
+        return new Instruction(Opcode.SELECT, left.getType(), target, left, right, condition, null,
+                List.of(whenTrue, whenFalse));
+    }
+
+    // Registra a posição no código fonte, usada nas mensagens de erro das passagens.
+    public Instruction at(int line, int column) {
+        this.line = line;
+        this.column = column;
+        return this;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public Opcode getOpcode() {
+        return opcode;
+    }
+
+    public LcType getType() {
+        return type;
+    }
+
+    public Operand getResult() {
+        return result;
+    }
+
+    public void setResult(Operand result) {
+        this.result = result;
+    }
+
+    public Operand getLeft() {
+        return left;
+    }
+
+    public void setLeft(Operand left) {
+        this.left = left;
+    }
+
+    public Operand getRight() {
+        return right;
+    }
+
+    public void setRight(Operand right) {
+        this.right = right;
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    public void setCondition(Condition condition) {
+        this.condition = condition;
+    }
+
+    // Nome do rótulo definido (LABEL) ou de destino (JUMP, BRANCH).
+    public String getLabel() {
+        return label;
+    }
+
+    public List<Operand> getArguments() {
+        return arguments;
+    }
+
+    public void setArguments(List<Operand> arguments) {
+        this.arguments = List.copyOf(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return switch (opcode) {
+            case ADD, SUB, MUL, DIV, AND, OR -> result + " = " + left + " " + opcode.symbol() + " " + right;
+            case NOT -> result + " = not " + left;
+            case COMPARE -> result + " = " + left + " " + condition.symbol() + " " + right;
+            case COPY -> result + " = " + left;
+            case STRING_COPY -> result + " = strcpy " + left;
+            case READ -> "readln " + result;
+            case WRITE, WRITELN -> opcode.symbol() + " " + arguments;
+            case LABEL -> label + ":";
+            case JUMP -> "goto " + label;
+            case BRANCH -> "if " + left + " " + condition.symbol() + " " + right + " goto " + label;
+            case SELECT -> result + " = " + left + " " + condition.symbol() + " " + right + " ? "
+                    + arguments.get(0) + " : " + arguments.get(1);
+        };
+    }
+}
@@ -0,0 +1,274 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.ast.Assign;
+import com.compiladores.compilador.ast.AstVisitor;
+import com.compiladores.compilador.ast.Binary;
+import com.compiladores.compilador.ast.Block;
+import com.compiladores.compilador.ast.ConstDecl;
+import com.compiladores.compilador.ast.Decl;
+import com.compiladores.compilador.ast.Expression;
+import com.compiladores.compilador.ast.Identifier;
+import com.compiladores.compilador.ast.If;
+import com.compiladores.compilador.ast.Literal;
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.ast.Readln;
+import com.compiladores.compilador.ast.Statement;
+import com.compiladores.compilador.ast.Unary;
+import com.compiladores.compilador.ast.VarDecl;
+import com.compiladores.compilador.ast.While;
+import com.compiladores.compilador.ast.Write;
+import com.compiladores.compilador.lexer.LcType;
+import com.compiladores.compilador.lexer.TokenKind;
+import com.compiladores.compilador.symboltable.Declaration;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Traduz a AST verificada pela análise semântica para o código de três endereços.
+ * As expressões são percorridas em pós-ordem: cada operação grava o resultado em um novo
+ * temporário, e literais e identificadores viram operandos diretamente, sem instrução.
+ * 'if' e 'while' viram rótulos e saltos condicionais, com os mesmos nomes de rótulo
+ * usados no Assembly (_loopN/_fimLoopN e _elseN/_fimIfN); as condições com 'and'/'or'
+ * usam rótulos intermediários _condN.
+ */
+public class IrBuilder implements AstVisitor<Operand, RuntimeException> {
+
+    private final IrProgram program = new IrProgram();
+
+    // Operando de cada declaração; os usos são ligados à declaração pela análise semântica.
+    private final Map<Declaration, Var> vars = new IdentityHashMap<>();
+
+    // Contadores para gerar rótulos únicos.
+    private int loopCounter = 1;
+    private int ifCounter = 1;
+    private int conditionCounter = 1;
+
+    public IrProgram build(Program program) {
+        program.accept(this);
+        return this.program;
+    }
+
+    private void emit(Instruction instruction) {
+        program.getInstructions().add(instruction);
+    }
+
+    // O nome usado no código é o da declaração, mesmo que o uso tenha sido escrito com outra caixa.
+    private Var varOf(Declaration declaration) {
+        return vars.computeIfAbsent(declaration,
+                d -> new Var(d.getName(), d.getType(), d.isConstant()));
+    }
+
+    @Override
+    public Operand visitProgram(Program node) {
+        for (Decl declaration : node.getDeclarations()) {
+            declaration.accept(this);
+        }
+        node.getBlock().accept(this);
+        return null;
+    }
+
+    @Override
+    public Operand visitVarDecl(VarDecl node) {
+        return declare(node);
+    }
+
+    @Override
+    public Operand visitConstDecl(ConstDecl node) {
+        return declare(node);
+    }
+
+    private Operand declare(Decl node) {
+        Var var = varOf(node.getName().getDeclaration());
+        Operand initializer = null;
+        if (node.hasInitializer()) {
+            Expression value = node.getInitializer();
+            // Um identificador ainda não resolvido (ex: final A = B;) é mantido pelo nome.
+            initializer = value instanceof Identifier identifier && identifier.getDeclaration() == null
+                    ? new Var(identifier.getName(), LcType.NULL, true)
+                    : value.accept(this);
+        }
+        program.getGlobals().add(new Global(var, initializer));
+        return null;
+    }
+
+    @Override
+    public Operand visitBlock(Block node) {
+        for (Statement statement : node.getStatements()) {
+            statement.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Operand visitIf(If node) {
+        int localIfCounter = this.ifCounter++;
+        String elseLabel = "_else" + localIfCounter;
+        String endIfLabel = "_fimIf" + localIfCounter;
+
+        // Se a condição for falsa, salta para o bloco 'else' (ou para o fim do 'if').
+        branchIfFalse(node.getCondition(), elseLabel);
+        node.getThenBlock().accept(this);
+
+        if (node.hasElse()) {
+            emit(Instruction.jump(endIfLabel));
+            emit(Instruction.label(elseLabel));
+            node.getElseBlock().accept(this);
+            emit(Instruction.label(endIfLabel));
+        } else {
+            emit(Instruction.label(elseLabel));
+        }
+        return null;
+    }
+
+    @Override
+    public Operand visitWhile(While node) {
+        int localLoopCounter = this.loopCounter++;
+        String loopLabel = "_loop" + localLoopCounter;
+        String loopEndLabel = "_fimLoop" + localLoopCounter;
+
+        emit(Instruction.label(loopLabel));
+        branchIfFalse(node.getCondition(), loopEndLabel);
+        node.getBody().accept(this);
+        emit(Instruction.jump(loopLabel));
+        emit(Instruction.label(loopEndLabel));
+        return null;
+    }
+
+    /**
+     * Gera o salto para 'target' quando a condição é falsa (código de desvio).
+     * 'and' e 'or' são avaliados em curto-circuito, saltando assim que o resultado é conhecido,
+     * e 'not' apenas troca o sentido do salto: nenhum valor booleano intermediário é calculado.
+     * Uma comparação vira um único BRANCH; qualquer outra expressão é comparada com 'true' (1).
+     */
+    private void branchIfFalse(Expression condition, String target) {
+        if (condition instanceof Binary binary && binary.getOperator() == TokenKind.AND) {
+            // Basta um lado falso.
+            branchIfFalse(binary.getLeft(), target);
+            branchIfFalse(binary.getRight(), target);
+        } else if (condition instanceof Binary binary && binary.getOperator() == TokenKind.OR) {
+            // Se o lado esquerdo for verdadeiro, o direito nem é avaliado.
+            String trueLabel = newConditionLabel();
+            branchIfTrue(binary.getLeft(), trueLabel);
+            branchIfFalse(binary.getRight(), target);
+            emit(Instruction.label(trueLabel));
+        } else if (condition instanceof Unary unary) {
+            branchIfTrue(unary.getOperand(), target);
+        } else {
+            branch(condition, false, target);
+        }
+    }
+
+    // Gera o salto para 'target' quando a condição é verdadeira (simétrico a branchIfFalse).
+    private void branchIfTrue(Expression condition, String target) {
+        if (condition instanceof Binary binary && binary.getOperator() == TokenKind.OR) {
+            // Basta um lado verdadeiro.
+            branchIfTrue(binary.getLeft(), target);
+            branchIfTrue(binary.getRight(), target);
+        } else if (condition instanceof Binary binary && binary.getOperator() == TokenKind.AND) {
+            // Se o lado esquerdo for falso, o direito nem é avaliado.
+            String falseLabel = newConditionLabel();
+            branchIfFalse(binary.getLeft(), falseLabel);
+            branchIfTrue(binary.getRight(), target);
+            emit(Instruction.label(falseLabel));
+        } else if (condition instanceof Unary unary) {
+            branchIfFalse(unary.getOperand(), target);
+        } else {
+            branch(condition, true, target);
+        }
+    }
+
+    // Salto de uma condição simples: comparação (os lados podem ser expressões) ou valor booleano.
+    private void branch(Expression condition, boolean whenTrue, String target) {
+        Instruction instruction;
+        if (condition instanceof Binary binary && binary.getOperator().isRelational()) {
+            Operand left = binary.getLeft().accept(this);
+            Operand right = binary.getRight().accept(this);
+            Condition relation = Condition.fromOperator(binary.getOperator());
+            instruction = Instruction.branch(whenTrue ? relation : relation.negate(), left, right, target);
+        } else {
+            Operand value = condition.accept(this);
+            instruction = Instruction.branch(whenTrue ? Condition.EQ : Condition.NE, value,
+                    Const.of(LcType.BOOLEAN, 1), target);
+        }
+        emit(instruction.at(condition.getLine(), condition.getColumn()));
+    }
+
+    private String newConditionLabel() {
+        return "_cond" + this.conditionCounter++;
+    }
+
+    @Override
+    public Operand visitAssign(Assign node) {
+        Var target = varOf(node.getTarget().getDeclaration());
+        Expression value = node.getValue();
+
+        if (target.getType() == LcType.STRING) {
+            // Strings são copiadas a partir de um literal; qualquer outro valor não é suportado.
+            String text = value instanceof Literal literal ? literal.getLexeme() : nameOf(value);
+            if (!(text.length() >= 2 && text.startsWith("\"") && text.endsWith("\""))) {
+                System.err.println("[Aviso de Geração de Código] Atribuição para string '" + target.getName() + "' com valor malformado: " + text);
+                text = "\"\""; // Usa uma string vazia para evitar crash.
+            }
+            emit(Instruction.stringCopy(target, Const.fromLexeme(LcType.STRING, text)));
+        } else {
+            emit(Instruction.copy(target, value.accept(this)));
+        }
+        return null;
+    }
+
+    private static String nameOf(Expression value) {
+        return value instanceof Identifier identifier ? identifier.getName() : "";
+    }
+
+    @Override
+    public Operand visitWrite(Write node) {
+        List<Operand> arguments = new ArrayList<>();
+        for (Expression argument : node.getArguments()) {
+            arguments.add(argument.accept(this));
+        }
+        emit(Instruction.write(node.isNewLine(), arguments));
+        return null;
+    }
+
+    @Override
+    public Operand visitReadln(Readln node) {
+        emit(Instruction.read(varOf(node.getTarget().getDeclaration())));
+        return null;
+    }
+
+    @Override
+    public Operand visitBinary(Binary node) {
+        Operand left = node.getLeft().accept(this);
+        Operand right = node.getRight().accept(this);
+        Temp result = program.newTemp(node.getType());
+        if (node.getOperator().isRelational()) {
+            emit(Instruction.compare(Condition.fromOperator(node.getOperator()), result, left, right)
+                    .at(node.getLine(), node.getColumn()));
+        } else {
+            emit(Instruction.binary(Opcode.fromOperator(node.getOperator()), result, left, right)
+                    .at(node.getLine(), node.getColumn()));
+        }
+        return result;
+    }
+
+    @Override
+    public Operand visitUnary(Unary node) {
+        Operand operand = node.getOperand().accept(this);
+        Temp result = program.newTemp(LcType.BOOLEAN);
+        emit(Instruction.not(result, operand).at(node.getLine(), node.getColumn()));
+        return result;
+    }
+
+    @Override
+    public Operand visitLiteral(Literal node) {
+        return Const.fromLexeme(node.getType(), node.getLexeme());
+    }
+
+    @Override
+    public Operand visitIdentifier(Identifier node) {
+        return varOf(node.getDeclaration());
+    }
+}
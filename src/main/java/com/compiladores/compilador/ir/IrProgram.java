@@ -0,0 +1,60 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.LcType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Programa na forma de código de três endereços: as declarações globais e a sequência linear
+ * de instruções do bloco principal. As passagens de otimização alteram a lista de instruções
+ * no lugar; o gerador de Assembly a percorre do início ao fim.
+ */
+public final class IrProgram {
+
+    private final List<Global> globals = new ArrayList<>();
+    private List<Instruction> instructions = new ArrayList<>();
+    private int tempCount = 0;
+
+    public List<Global> getGlobals() {
+        return globals;
+    }
+
+    public List<Instruction> getInstructions() {
+        return instructions;
+    }
+
+    // Substitui a sequência de instruções (para passagens que reconstroem a lista).
+    public void setInstructions(List<Instruction> instructions) {
+        this.instructions = instructions;
+    }
+
+    public int size() {
+        return instructions.size();
+    }
+
+    public Temp newTemp(LcType type) {
+        return new Temp(++tempCount, type);
+    }
+
+    public int getTempCount() {
+        return tempCount;
+    }
+
+    // Listagem legível do programa, uma instrução por linha (para depuração).
+    public String dump() {
+        StringBuilder text = new StringBuilder();
+        for (Global global : globals) {
+            text.append(global.isConstant() ? "final " : global.getVar().getType().lcName() + " ")
+                    .append(global.getVar().getName());
+            if (global.hasInitializer()) {
+                text.append(" = ").append(global.getInitializer());
+            }
+            text.append('\n');
+        }
+        for (Instruction instruction : instructions) {
+            text.append(instruction.getOpcode() == Opcode.LABEL ? "" : "    ").append(instruction).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.compiladores.compilador.ir;
+
+import java.util.Set;
+
+/**
+ * Laço natural do grafo de fluxo: o cabeçalho domina todos os blocos do laço, e ao menos um
+ * deles salta de volta para o cabeçalho. Cada 'while' da linguagem forma um laço.
+ */
+public final class Loop {
+
+    private final BasicBlock header;
+    private final Set<BasicBlock> blocks;
+
+    Loop(BasicBlock header, Set<BasicBlock> blocks) {
+        this.header = header;
+        this.blocks = blocks;
+    }
+
+    public BasicBlock getHeader() {
+        return header;
+    }
+
+    // Blocos do laço, na ordem original das instruções.
+    public Set<BasicBlock> getBlocks() {
+        return blocks;
+    }
+
+    public boolean contains(BasicBlock block) {
+        return blocks.contains(block);
+    }
+}
@@ -0,0 +1,129 @@
+package com.compiladores.compilador.ir;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Movimentação de código invariante de laço: cálculos cujo resultado é o mesmo em todas as
+ * iterações de um 'while' saem do laço e passam a ser feitos uma só vez, logo antes do rótulo
+ * do cabeçalho (o pré-cabeçalho, executado apenas na entrada do laço).
+ *
+ * Uma instrução é invariante quando é pura (aritmética, lógica ou comparação) e cada operando é
+ * uma constante, uma variável que o laço não altera ou um temporário calculado fora do laço ou
+ * por outra instrução invariante. Como cada temporário tem uma única definição, mover essa
+ * definição para antes do laço não muda o valor visto pelos seus usos.
+ *
+ * O cálculo movido passa a ser feito mesmo se o laço não executar nenhuma vez; por isso a
+ * divisão só é movida quando o divisor é uma constante diferente de zero, e nunca pode falhar.
+ */
+public class LoopInvariantCodeMotion implements Pass {
+
+    @Override
+    public String name() {
+        return "Invariantes de laço";
+    }
+
+    @Override
+    public void run(IrProgram program) {
+        ControlFlowGraph graph = ControlFlowGraph.build(program.getInstructions());
+        boolean changed = false;
+        // Os laços internos vêm primeiro: o que sai deles vai para um bloco do laço externo e
+        // ainda pode ser movido de novo, se também for invariante nele.
+        for (Loop loop : graph.findLoops()) {
+            BasicBlock preheader = preheader(graph, loop);
+            if (preheader == null) {
+                continue;
+            }
+            List<Instruction> hoisted = hoist(loop);
+            if (!hoisted.isEmpty()) {
+                preheader.getInstructions().addAll(hoisted);
+                changed = true;
+            }
+        }
+        if (changed) {
+            program.setInstructions(graph.toInstructions());
+        }
+    }
+
+    /**
+     * Bloco ao fim do qual o código movido é colocado: o bloco imediatamente anterior ao
+     * cabeçalho, que deve passar direto para ele. Só é usado se todas as outras entradas do
+     * cabeçalho vêm de dentro do laço; caso contrário o laço não é otimizado.
+     */
+    private static BasicBlock preheader(ControlFlowGraph graph, Loop loop) {
+        BasicBlock header = loop.getHeader();
+        if (header.getIndex() == 0 || header.getLabel() == null) {
+            return null;
+        }
+        BasicBlock previous = graph.getBlocks().get(header.getIndex() - 1);
+        if (loop.contains(previous) || !previous.getSuccessors().contains(header)
+                || previous.getLast() != null && previous.getLast().getOpcode() == Opcode.JUMP) {
+            return null;
+        }
+        for (BasicBlock predecessor : header.getPredecessors()) {
+            if (predecessor != previous && !loop.contains(predecessor)) {
+                return null;
+            }
+        }
+        return previous;
+    }
+
+    // Retira do laço as instruções invariantes, na ordem em que podem ser executadas.
+    private static List<Instruction> hoist(Loop loop) {
+        Set<Var> modified = new HashSet<>();
+        Set<Temp> definedInLoop = new HashSet<>();
+        for (BasicBlock block : loop.getBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                Operand result = instruction.getResult();
+                if (result instanceof Var var) {
+                    modified.add(var);
+                } else if (result instanceof Temp temp) {
+                    definedInLoop.add(temp);
+                }
+            }
+        }
+
+        // Repete até nada mudar: mover uma instrução pode tornar invariantes as que usam o seu resultado.
+        List<Instruction> hoisted = new ArrayList<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (BasicBlock block : loop.getBlocks()) {
+                Iterator<Instruction> iterator = block.getInstructions().iterator();
+                while (iterator.hasNext()) {
+                    Instruction instruction = iterator.next();
+                    if (isHoistable(instruction)
+                            && isInvariant(instruction.getLeft(), modified, definedInLoop)
+                            && isInvariant(instruction.getRight(), modified, definedInLoop)) {
+                        iterator.remove();
+                        hoisted.add(instruction);
+                        definedInLoop.remove((Temp) instruction.getResult());
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return hoisted;
+    }
+
+    private static boolean isHoistable(Instruction instruction) {
+        return switch (instruction.getOpcode()) {
+            case ADD, SUB, MUL, AND, OR, NOT, COMPARE -> true;
+            case DIV -> instruction.getRight() instanceof Const divisor && divisor.getValue() != 0;
+            default -> false;
+        };
+    }
+
+    private static boolean isInvariant(Operand operand, Set<Var> modified, Set<Temp> definedInLoop) {
+        if (operand == null || operand instanceof Const) {
+            return true;
+        }
+        if (operand instanceof Var var) {
+            return !modified.contains(var);
+        }
+        return !definedInLoop.contains((Temp) operand);
+    }
+}
@@ -0,0 +1,56 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.TokenKind;
+
+/**
+ * Operações da IR de três endereços.
+ * As operações binárias têm a forma 'resultado = esquerdo op direito'; COMPARE materializa o
+ * resultado (0 ou 1) de uma comparação, e BRANCH salta quando a comparação é verdadeira.
+ * SELECT escolhe, sem desvio, entre dois valores de acordo com uma comparação.
+ */
+public enum Opcode {
+    ADD("+"),
+    SUB("-"),
+    MUL("*"),
+    DIV("/"),
+    AND("and"),
+    OR("or"),
+    NOT("not"),
+    COMPARE("cmp"),
+    COPY("="),
+    STRING_COPY("strcpy"),
+    READ("readln"),
+    WRITE("write"),
+    WRITELN("writeln"),
+    LABEL(":"),
+    JUMP("goto"),
+    BRANCH("if"),
+    SELECT("?");
+
+    private final String symbol;
+
+    Opcode(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    // Operações aritméticas e lógicas da forma 'resultado = esquerdo op direito'.
+    public boolean isBinary() {
+        return this == ADD || this == SUB || this == MUL || this == DIV || this == AND || this == OR;
+    }
+
+    public static Opcode fromOperator(TokenKind operator) {
+        return switch (operator) {
+            case PLUS -> ADD;
+            case MINUS -> SUB;
+            case STAR -> MUL;
+            case SLASH -> DIV;
+            case AND -> AND;
+            case OR -> OR;
+            default -> throw new IllegalArgumentException("Operador sem operação binária: " + operator);
+        };
+    }
+}
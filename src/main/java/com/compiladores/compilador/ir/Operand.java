@@ -0,0 +1,30 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.LcType;
+
+/**
+ * Operando de uma instrução de três endereços: um temporário, uma variável (ou constante
+ * declarada) ou um valor literal. Todo operando tem o tipo da linguagem já verificado.
+ */
+public abstract class Operand {
+
+    private final LcType type;
+
+    protected Operand(LcType type) {
+        this.type = type;
+    }
+
+    public LcType getType() {
+        return type;
+    }
+
+    // Indica se o operando é um temporário criado pela tradução das expressões.
+    public boolean isTemp() {
+        return false;
+    }
+
+    // Indica se o operando é um valor conhecido em tempo de compilação.
+    public boolean isConst() {
+        return false;
+    }
+}
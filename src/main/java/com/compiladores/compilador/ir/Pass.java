@@ -0,0 +1,18 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.exceptions.CompilerException;
+
+// Passagem de otimização sobre a IR, executada pelo PassManager.
+public interface Pass {
+
+    // Nome exibido no relatório do PassManager.
+    String name();
+
+    // Uma passagem pode encontrar erros que só aparecem ao avaliar o programa (ex: estouro de constantes).
+    void run(IrProgram program) throws CompilerException;
+
+    // Quantidade de expressões eliminadas na última execução, exibida no relatório (0 se não se aplica).
+    default int eliminated() {
+        return 0;
+    }
+}
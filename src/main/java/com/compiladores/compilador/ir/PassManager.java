@@ -0,0 +1,108 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.exceptions.CompilerException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executa as passagens de otimização em ordem sobre a IR e registra, para cada uma,
+ * o tempo gasto e a variação no número de instruções.
+ */
+public class PassManager {
+
+    private final List<Pass> passes = new ArrayList<>();
+    private final List<PassStats> stats = new ArrayList<>();
+
+    // Passagens usadas pelo compilador, na ordem em que são executadas.
+    public static PassManager defaultPipeline() {
+        return defaultPipeline(true);
+    }
+
+    // Com 'branchless' falso, os 'if' simples continuam como desvios (sem cmov/setcc).
+    public static PassManager defaultPipeline(boolean branchless) {
+        PassManager manager = new PassManager()
+                .add(new ConstantFolding());
+        if (branchless) {
+            manager.add(new IfConversion());
+        }
+        return manager.add(new LoopInvariantCodeMotion())
+                .add(new CommonSubexpressionElimination())
+                .add(new DeadCodeElimination());
+    }
+
+    public PassManager add(Pass pass) {
+        passes.add(pass);
+        return this;
+    }
+
+    public List<Pass> getPasses() {
+        return passes;
+    }
+
+    public void run(IrProgram program) throws CompilerException {
+        for (Pass pass : passes) {
+            int before = program.size();
+            long start = System.nanoTime();
+            pass.run(program);
+            long elapsed = System.nanoTime() - start;
+            stats.add(new PassStats(pass.name(), elapsed, before, program.size(), pass.eliminated()));
+        }
+    }
+
+    public List<PassStats> getStats() {
+        return stats;
+    }
+
+    public void printReport() {
+        System.out.printf("%-28s %10s %8s %8s %8s %10s%n", "Passagem", "Tempo(ms)", "Antes", "Depois", "Delta",
+                "Eliminadas");
+        for (PassStats stat : stats) {
+            System.out.printf("%-28s %10.3f %8d %8d %+8d %10d%n", stat.getName(), stat.getNanos() / 1e6,
+                    stat.getInstructionsBefore(), stat.getInstructionsAfter(), stat.getDelta(), stat.getEliminated());
+        }
+    }
+
+    // Resultado de uma execução de passagem.
+    public static final class PassStats {
+
+        private final String name;
+        private final long nanos;
+        private final int instructionsBefore;
+        private final int instructionsAfter;
+        private final int eliminated;
+
+        PassStats(String name, long nanos, int instructionsBefore, int instructionsAfter, int eliminated) {
+            this.name = name;
+            this.nanos = nanos;
+            this.instructionsBefore = instructionsBefore;
+            this.instructionsAfter = instructionsAfter;
+            this.eliminated = eliminated;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public int getInstructionsBefore() {
+            return instructionsBefore;
+        }
+
+        public int getInstructionsAfter() {
+            return instructionsAfter;
+        }
+
+        public int getDelta() {
+            return instructionsAfter - instructionsBefore;
+        }
+
+        // Expressões eliminadas, para passagens que as contam (ex: subexpressões comuns).
+        public int getEliminated() {
+            return eliminated;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.LcType;
+
+// Temporário da IR, identificado por um número sequencial dentro do programa (t1, t2, ...).
+public final class Temp extends Operand {
+
+    private final int id;
+
+    Temp(int id, LcType type) {
+        super(type);
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isTemp() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Temp temp && temp.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "t" + id;
+    }
+}
@@ -0,0 +1,42 @@
+package com.compiladores.compilador.ir;
+
+import com.compiladores.compilador.lexer.LcType;
+
+/**
+ * Variável ou constante declarada no programa, referenciada pelo nome da declaração.
+ * Constantes ('final') também são Var: no Assembly elas viram símbolos 'equ'.
+ */
+public final class Var extends Operand {
+
+    private final String name;
+    private final boolean constant;
+
+    public Var(String name, LcType type, boolean constant) {
+        super(type);
+        this.name = name;
+        this.constant = constant;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isConstant() {
+        return constant;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Var var && var.name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
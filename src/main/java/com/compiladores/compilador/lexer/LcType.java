@@ -0,0 +1,47 @@
+package com.compiladores.compilador.lexer;
+
+/**
+ * Tipos de dado da linguagem LC associados aos tokens.
+ * NULL indica um token sem tipo (palavras reservadas, operadores e identificadores ainda
+ * não resolvidos) e FINAL marca temporariamente uma constante cujo tipo vem do seu valor.
+ */
+public enum LcType {
+    NULL("null"),
+    INT("int"),
+    BYTE("byte"),
+    STRING("string"),
+    BOOLEAN("boolean"),
+    FINAL("final");
+
+    private static final LcType[] VALUES = values();
+
+    // Nome do tipo como aparece no código-fonte e nas mensagens de erro.
+    private final String lcName;
+
+    LcType(String lcName) {
+        this.lcName = lcName;
+    }
+
+    public String lcName() {
+        return lcName;
+    }
+
+    // Tipos armazenados em um único byte: byte, boolean.
+    public boolean isByteSized() {
+        return this == BYTE || this == BOOLEAN;
+    }
+
+    public static LcType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // Converte o nome de um tipo ("int", "boolean", ...) no enum correspondente; desconhecidos viram NULL.
+    public static LcType fromName(String name) {
+        for (LcType type : VALUES) {
+            if (type.lcName.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return NULL;
+    }
+}
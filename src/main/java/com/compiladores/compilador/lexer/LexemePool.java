@@ -0,0 +1,137 @@
+package com.compiladores.compilador.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Repositório de lexemas internados: cada texto distinto é guardado uma única vez
+ * e identificado por um inteiro sequencial.
+ * A busca é feita diretamente sobre os caracteres do código-fonte (endereçamento aberto),
+ * então uma String só é criada na primeira vez em que o lexema aparece.
+ *
+ * Também há a forma sem diferenciação de maiúsculas (internIgnoreCase), que guarda o texto
+ * com as letras ASCII em minúsculas: "Soma" e "SOMA" recebem o mesmo id, com o texto "soma".
+ */
+public final class LexemePool {
+
+    private String[] lexemes = new String[256];
+    private int count = 0;
+
+    // Tabela hash com endereçamento aberto: guarda (id + 1) de cada lexema, 0 indica posição livre.
+    private int[] slots = new int[512];
+    private int[] hashes = new int[256];
+
+    // Interna o trecho [start, end) do código, sem copiá-lo se ele já estiver no repositório.
+    public int intern(CharSequence source, int start, int end) {
+        return intern(source, start, end, false);
+    }
+
+    // Interna o trecho [start, end) ignorando a caixa das letras ASCII; o texto guardado fica em minúsculas.
+    public int internIgnoreCase(CharSequence source, int start, int end) {
+        return intern(source, start, end, true);
+    }
+
+    private int intern(CharSequence source, int start, int end, boolean ignoreCase) {
+        int hash = hash(source, start, end, ignoreCase);
+        int mask = slots.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return insert(slot, hash, copy(source, start, end, ignoreCase));
+            }
+            int id = entry - 1;
+            if (hashes[id] == hash && contentEquals(lexemes[id], source, start, end, ignoreCase)) {
+                return id;
+            }
+        }
+    }
+
+    // Interna um lexema já existente como String (operadores, literais fixos).
+    public int intern(String lexeme) {
+        return intern(lexeme, 0, lexeme.length());
+    }
+
+    public String get(int id) {
+        return lexemes[id];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Bytes aproximados ocupados pelo repositório (tabelas e conteúdo das Strings).
+    public long footprintBytes() {
+        long bytes = 16L + 4L * lexemes.length + 4L * slots.length + 4L * hashes.length;
+        for (int i = 0; i < count; i++) {
+            bytes += 40L + lexemes[i].length(); // Cabeçalho da String e do array + conteúdo Latin-1.
+        }
+        return bytes;
+    }
+
+    private static String copy(CharSequence source, int start, int end, boolean ignoreCase) {
+        if (!ignoreCase) {
+            return source.subSequence(start, end).toString();
+        }
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = fold(source.charAt(i), true);
+        }
+        return new String(chars);
+    }
+
+    private int insert(int slot, int hash, String lexeme) {
+        int id = count++;
+        if (id == lexemes.length) {
+            lexemes = Arrays.copyOf(lexemes, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        lexemes[id] = lexeme;
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+
+        // Mantém a tabela no máximo meio cheia para que as sondagens continuem curtas.
+        if (count * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < count; id++) {
+            int slot = hashes[id] & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static int hash(CharSequence source, int start, int end, boolean ignoreCase) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(source.charAt(i), ignoreCase);
+        }
+        // Espalha os bits altos, já que a tabela usa apenas os bits baixos.
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(String lexeme, CharSequence source, int start, int end, boolean ignoreCase) {
+        if (lexeme.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < lexeme.length(); i++) {
+            if (lexeme.charAt(i) != fold(source.charAt(start + i), ignoreCase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Converte letras ASCII maiúsculas em minúsculas quando a caixa deve ser ignorada.
+    private static char fold(char c, boolean ignoreCase) {
+        return ignoreCase && c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+    }
+}
@@ -3,140 +3,379 @@ package com.compiladores.compilador.lexer;
 import com.compiladores.compilador.exceptions.CompilerException;
 import com.compiladores.compilador.exceptions.ErrorHandler;
 import com.compiladores.compilador.symboltable.SymbolsTable;
-import com.compiladores.compilador.utils.TokenUtils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 /**
  * Realiza a análise léxica do código fonte.
  * Responsável por ler o código caractere por caractere (através de uma linha inteira),
  * identificar padrões (lexemas) e convertê-los em tokens.
+ *
+ * O reconhecimento é feito por um autômato finito determinístico escrito à mão:
+ * o primeiro caractere de cada lexema decide o estado inicial (switch), e o autômato
+ * avança um índice sobre o código sem criar substrings do restante do texto.
+ *
+ * Há dois modos de entrada: linha a linha (analyze), e o arquivo inteiro de uma vez
+ * (analyzeSource), no qual comentários de bloco podem ocupar várias linhas e a posição
+ * de cada token é calculada a partir de um índice de quebras de linha.
+ *
+ * Os tokens são gravados diretamente em um TokenSink (a TokenStream da tabela de símbolos ou,
+ * no modo em pipeline, o TokenRingBuffer lido pelo parser), e cada lexema
+ * é internado a partir do próprio buffer: uma String só é criada na primeira ocorrência.
+ * A espécie (TokenKind) e o tipo (LcType) de cada token são resolvidos aqui, uma única vez.
  */
 public class LexicalAnalyzer {
 
-    private final SymbolsTable symbolsTable;
+    // Maior palavra reservada alfabética da linguagem ("boolean", "writeln").
+    private static final int MAX_RESERVED_WORD_LENGTH = 7;
 
-    // Expressões Regulares para identificar os padrões da linguagem
+    private final TokenSink tokens;
+    private final LexemePool lexemes;
 
-    private final Pattern numbers = Pattern.compile("\\d+"); // Encontra sequências de dígitos.
-    private final Pattern hexadecimals = Pattern.compile("0h[a-zA-Z0-9]*"); // Encontra hexadecimais no formato 0hHH.
-    private final Pattern identifiers = Pattern.compile("[a-zA-Z_]\\w*"); // Encontra identificadores (começa com letra ou _, seguido por letras, dígitos ou _).
-    private final Pattern bool = Pattern.compile("true|false", Pattern.CASE_INSENSITIVE); // Encontra "true" ou "false".
-    private final Pattern operators = Pattern.compile("==|<>|<=|>=|<|>|[+\\-*/=]"); // Encontra operadores relacionais e aritméticos.
-    private final Pattern delimiters = Pattern.compile("[,;()]"); // Encontra delimitadores.
-    private final Pattern comments = Pattern.compile("/\\*(.|\\R)*?\\*/|\\{[^\\}]*\\}"); // Encontra comentários de bloco (/*...*/ ou {...}).
-    private final Pattern strings = Pattern.compile("\"([^\"\\\\\\r\\n]|\\\\.)*\""); // Encontra literais string entre aspas.
-    private final Pattern whitespaces = Pattern.compile("\\s+"); // Encontra espaços em branco.
+    // Espécie já calculada de cada lexema (identificador ou palavra reservada), por id do lexema.
+    private byte[] wordKinds = new byte[256];
+    private int classifiedWords = 0;
+
+    // Lexemas fixos, internados uma única vez: literais booleanos e o texto de cada operador.
+    private final int trueId;
+    private final int falseId;
+    private final int[] operatorIds = new int[TokenKind.values().length];
+
+    // Estado da varredura atual: código, fim da região analisada e origem das posições.
+    private CharSequence code;
+    private int end;
+    private LineIndex lineIndex; // Nulo no modo linha a linha.
+    private int fixedLine;       // Linha usada no modo linha a linha.
+    private int legacyColumn;    // Coluna do modo linha a linha (não conta espaços em branco).
+
+    // Posição do lexema que está sendo reconhecido.
+    private int lineNumber;
+    private int columnNumber;
 
     public LexicalAnalyzer(SymbolsTable symbolsTable) {
-        this.symbolsTable = symbolsTable;
+        this(symbolsTable.getTokens());
     }
 
-    // Analisa uma única linha de código, transformando-a em tokens.
+    // Publica os tokens em outro destino, como o TokenRingBuffer do modo em pipeline.
+    public LexicalAnalyzer(TokenSink tokens) {
+        this.tokens = tokens;
+        this.lexemes = tokens.getLexemes();
+        this.trueId = lexemes.intern("Fh");
+        this.falseId = lexemes.intern("0h");
+        for (TokenKind kind : TokenKind.values()) {
+            if (kind.classification() == TokenKind.Classification.RESERVED_WORD) {
+                operatorIds[kind.ordinal()] = lexemes.intern(kind.text());
+            }
+        }
+    }
+
+    /**
+     * Analisa uma única linha de código, transformando-a em tokens.
+     * A coluna de cada token é contada apenas pelos lexemas e comentários consumidos:
+     * espaços em branco são descartados sem avançar a coluna.
+     */
     public void analyze(String code, int lineNumber) throws CompilerException {
-        int columnNumber = 1;
-        code = code.stripLeading();
-
-        while (!code.isEmpty()) {
-            Matcher matcher = null;
-            boolean matched = false;
-            int consumedLength = 0;
-
-            // Ignorar espaços e comentários
-            matcher = ignoreLexeme(code);
-            if (matcher != null && matcher.lookingAt()) {
-                consumedLength = matcher.end();
-                matched = true;
-            } else if (code.startsWith("\"")) {
-                Matcher stringMatcher = strings.matcher(code);
-                if (stringMatcher.lookingAt()) {
-                    String lexeme = stringMatcher.group();
-
-                    if (lexeme.length() > 255) {
-                        ErrorHandler.lexicalErrorStringTooLong(lineNumber, columnNumber);
-                    }
+        this.lineIndex = null;
+        this.fixedLine = lineNumber;
+        this.legacyColumn = 1;
+        scan(code);
+    }
 
-                    symbolsTable.addToken(new Token(lexeme, "const", "string", lineNumber, columnNumber));
-                    consumedLength = stringMatcher.end();
-                    matched = true;
-                } else {
-                    ErrorHandler.lexicalErrorBreakLine(lineNumber, columnNumber);
+    /**
+     * Analisa o código-fonte completo em uma única passada, sem dividi-lo em linhas.
+     * Linha e coluna de cada token são obtidas pelo deslocamento do lexema no buffer.
+     */
+    public void analyzeSource(CharSequence source) throws CompilerException {
+        this.lineIndex = LineIndex.build(source);
+        scan(source);
+    }
+
+    // Percorre o código reconhecendo um lexema por vez a partir do seu primeiro caractere.
+    private void scan(CharSequence source) throws CompilerException {
+        this.code = source;
+        this.end = source.length();
+        int position = 0;
+
+        while (position < end) {
+            char current = code.charAt(position);
+
+            // Espaços em branco são ignorados e não contam na coluna.
+            if (Character.isWhitespace(current)) {
+                position++;
+                continue;
+            }
+
+            int start = position;
+            locate(start);
+
+            switch (current) {
+                case '/' -> {
+                    // Comentário de bloco /* ... */; sem o fechamento, '/' é o operador de divisão.
+                    int commentEnd = position + 1 < end && code.charAt(position + 1) == '*'
+                            ? indexOfCommentEnd(position + 2) : -1;
+                    if (commentEnd >= 0) {
+                        position = commentEnd + 2;
+                    } else {
+                        addOperator(TokenKind.SLASH);
+                        position++;
+                    }
                 }
-            } else if ((matcher = bool.matcher(code)).lookingAt()) {
-                symbolsTable.addToken(new Token(resolveBoolean(matcher.group()), "const", "boolean", lineNumber, columnNumber));
-                consumedLength = matcher.end();
-                matched = true;
-            } else if ((matcher = hexadecimals.matcher(code)).lookingAt()) {
-                String hexLexeme = matcher.group();
-                String hexValue = hexLexeme.substring(2);
-                if (!hexValue.matches("[a-fA-F0-9]{1,2}")) {
-                    ErrorHandler.lexicalErrorInvalidHexByte(hexLexeme, lineNumber, columnNumber);
+                case '{' -> {
+                    // Comentário de bloco { ... }; sem o fechamento, '{' não é um símbolo válido.
+                    int commentEnd = indexOf('}', position + 1);
+                    if (commentEnd < 0) {
+                        ErrorHandler.lexicalErrorInvalidSymbol(current, lineNumber, columnNumber);
+                    }
+                    position = commentEnd + 1;
                 }
-                symbolsTable.addToken(new Token(hexLexeme, "const", "byte", lineNumber, columnNumber));
-                consumedLength = matcher.end();
-                matched = true;
-            } else if ((matcher = numbers.matcher(code)).lookingAt()) {
-                String intLexeme = matcher.group();
-                int value = Integer.parseInt(intLexeme);
-                if (value < -32768 || value > 32767) {
-                    ErrorHandler.lexicalErrorIntOutOfRange(intLexeme, lineNumber, columnNumber);
+                case '"' -> position = scanString(position);
+                case '=' -> position = scanOperator(position, '=', TokenKind.EQ_EQ, TokenKind.ASSIGN);
+                case '>' -> position = scanOperator(position, '=', TokenKind.GE, TokenKind.GT);
+                case '<' -> {
+                    char next = position + 1 < end ? code.charAt(position + 1) : '\0';
+                    if (next == '>') {
+                        addOperator(TokenKind.NOT_EQ);
+                        position += 2;
+                    } else if (next == '=') {
+                        addOperator(TokenKind.LE);
+                        position += 2;
+                    } else {
+                        addOperator(TokenKind.LT);
+                        position++;
+                    }
                 }
-                symbolsTable.addToken(new Token(intLexeme, "const", "int", lineNumber, columnNumber));
-                consumedLength = matcher.end();
-                matched = true;
-            } else if ((matcher = matchReservedOrID(code)) != null && matcher.lookingAt()) {
-                String lexeme = matcher.group();
-                String lexemeLower = lexeme.toLowerCase();
-
-                if (lexemeLower.length() > 255) {
-                    ErrorHandler.lexicalErrorIdentifierTooLong(lexeme, lineNumber, columnNumber);
+                case '+' -> position = addSingle(TokenKind.PLUS, position);
+                case '-' -> position = addSingle(TokenKind.MINUS, position);
+                case '*' -> position = addSingle(TokenKind.STAR, position);
+                case ',' -> position = addSingle(TokenKind.COMMA, position);
+                case ';' -> position = addSingle(TokenKind.SEMICOLON, position);
+                case '(' -> position = addSingle(TokenKind.LPAREN, position);
+                case ')' -> position = addSingle(TokenKind.RPAREN, position);
+                default -> {
+                    if (isBooleanAt(position, "true")) {
+                        addToken(TokenKind.BOOLEAN_LITERAL, LcType.BOOLEAN, trueId);
+                        position += 4;
+                    } else if (isBooleanAt(position, "false")) {
+                        addToken(TokenKind.BOOLEAN_LITERAL, LcType.BOOLEAN, falseId);
+                        position += 5;
+                    } else if (current == '0' && position + 1 < end && code.charAt(position + 1) == 'h') {
+                        position = scanHexadecimal(position);
+                    } else if (isDigit(current)) {
+                        position = scanNumber(position);
+                    } else if (isIdentifierStart(current)) {
+                        position = scanIdentifier(position);
+                    } else {
+                        ErrorHandler.lexicalErrorInvalidSymbol(current, lineNumber, columnNumber);
+                    }
                 }
+            }
 
-                String type = symbolsTable.isReservedWord(lexemeLower) ? "reserved_word" : "id";
-                symbolsTable.addToken(new Token(lexeme, type, "null", lineNumber, columnNumber));
-                consumedLength = matcher.end();
-                matched = true;
+            legacyColumn += position - start;
+        }
+    }
+
+    // Define a linha e a coluna do lexema que começa no deslocamento informado.
+    private void locate(int offset) {
+        if (lineIndex == null) {
+            lineNumber = fixedLine;
+            columnNumber = legacyColumn;
+        } else {
+            lineNumber = lineIndex.lineOf(offset);
+            columnNumber = lineIndex.columnOf(offset, lineNumber);
+        }
+    }
+
+    // Reconhece um literal string entre aspas, aceitando sequências de escape (\x) na mesma linha.
+    private int scanString(int start) throws CompilerException {
+        int position = start + 1;
+
+        while (true) {
+            if (position >= end) {
+                ErrorHandler.lexicalErrorBreakLine(lineNumber, columnNumber);
+            }
+            char current = code.charAt(position);
+            if (current == '"') {
+                position++;
+                break;
+            }
+            if (current == '\\') {
+                if (position + 1 >= end || isLineTerminator(code.charAt(position + 1))) {
+                    ErrorHandler.lexicalErrorBreakLine(lineNumber, columnNumber);
+                }
+                position += 2;
+            } else if (current == '\r' || current == '\n') {
+                ErrorHandler.lexicalErrorBreakLine(lineNumber, columnNumber);
             } else {
-                ErrorHandler.lexicalErrorInvalidSymbol(code.charAt(0), lineNumber, columnNumber);
+                position++;
+            }
+        }
+
+        if (position - start > 255) {
+            ErrorHandler.lexicalErrorStringTooLong(lineNumber, columnNumber);
+        }
+
+        addToken(TokenKind.STRING_LITERAL, LcType.STRING, lexemes.intern(code, start, position));
+        return position;
+    }
+
+    // Reconhece um byte hexadecimal no formato 0hHH e valida a quantidade e o alfabeto dos dígitos.
+    private int scanHexadecimal(int start) throws CompilerException {
+        int position = start + 2;
+        boolean validDigits = true;
+
+        while (position < end && isAsciiLetterOrDigit(code.charAt(position))) {
+            validDigits &= isHexDigit(code.charAt(position));
+            position++;
+        }
+
+        int digits = position - start - 2;
+        if (!validDigits || digits < 1 || digits > 2) {
+            ErrorHandler.lexicalErrorInvalidHexByte(lexeme(start, position), lineNumber, columnNumber);
+        }
+
+        addToken(TokenKind.BYTE_LITERAL, LcType.BYTE, lexemes.intern(code, start, position));
+        return position;
+    }
+
+    // Reconhece uma sequência de dígitos decimais e valida o intervalo de 16 bits.
+    private int scanNumber(int start) throws CompilerException {
+        int position = start + 1;
+
+        while (position < end && isDigit(code.charAt(position))) {
+            position++;
+        }
+
+        int id = lexemes.intern(code, start, position);
+        String intLexeme = lexemes.get(id);
+        int value = Integer.parseInt(intLexeme);
+        if (value < -32768 || value > 32767) {
+            ErrorHandler.lexicalErrorIntOutOfRange(intLexeme, lineNumber, columnNumber);
+        }
+
+        addToken(TokenKind.INT_LITERAL, LcType.INT, id);
+        return position;
+    }
+
+    // Reconhece um identificador ou palavra reservada.
+    private int scanIdentifier(int start) throws CompilerException {
+        int position = start + 1;
+
+        while (position < end && isIdentifierPart(code.charAt(position))) {
+            position++;
+        }
+
+        if (position - start > 255) {
+            ErrorHandler.lexicalErrorIdentifierTooLong(lexeme(start, position), lineNumber, columnNumber);
+        }
+
+        int id = lexemes.intern(code, start, position);
+        addToken(classifyWord(id), LcType.NULL, id);
+        return position;
+    }
+
+    // Resolve a espécie de um lexema de palavra uma única vez; as ocorrências seguintes reutilizam o resultado.
+    private TokenKind classifyWord(int id) {
+        while (classifiedWords <= id) {
+            if (classifiedWords == wordKinds.length) {
+                wordKinds = Arrays.copyOf(wordKinds, classifiedWords * 2);
             }
+            String lexeme = lexemes.get(classifiedWords);
+            // Só vale a pena normalizar a caixa quando o lexema cabe em uma palavra reservada.
+            TokenKind reserved = lexeme.length() <= MAX_RESERVED_WORD_LENGTH
+                    ? TokenKind.reserved(lexeme.toLowerCase()) : null;
+            wordKinds[classifiedWords++] = (byte) (reserved != null ? reserved : TokenKind.IDENTIFIER).ordinal();
+        }
+        return TokenKind.fromOrdinal(wordKinds[id]);
+    }
 
-            if (matched) {
-                columnNumber += consumedLength;
-                code = code.substring(consumedLength).stripLeading();
+    // Reconhece um operador de um ou dois caracteres cujo segundo caractere opcional é 'second'.
+    private int scanOperator(int position, char second, TokenKind twoChars, TokenKind oneChar) {
+        if (position + 1 < end && code.charAt(position + 1) == second) {
+            addOperator(twoChars);
+            return position + 2;
+        }
+        addOperator(oneChar);
+        return position + 1;
+    }
+
+    // Adiciona um operador ou delimitador de um único caractere.
+    private int addSingle(TokenKind kind, int position) {
+        addOperator(kind);
+        return position + 1;
+    }
+
+    // Operadores e delimitadores usam lexemas internados na construção, sem nenhuma busca.
+    private void addOperator(TokenKind kind) {
+        addToken(kind, LcType.NULL, operatorIds[kind.ordinal()]);
+    }
+
+    private void addToken(TokenKind kind, LcType type, int lexemeId) {
+        tokens.add(kind, type, lexemeId, lineNumber, columnNumber);
+    }
+
+    // Copia o lexema reconhecido para mensagens de erro.
+    private String lexeme(int start, int position) {
+        return code.subSequence(start, position).toString();
+    }
+
+    // Procura o fechamento "*/" de um comentário a partir da posição informada.
+    private int indexOfCommentEnd(int from) {
+        for (int i = from; i + 1 < end; i++) {
+            if (code.charAt(i) == '*' && code.charAt(i + 1) == '/') {
+                return i;
             }
         }
+        return -1;
     }
 
-    // Tenta encontrar correspondência com padrões que devem ser ignorados (espaços e comentários).
-    private Matcher ignoreLexeme(String code) {
-        Matcher matcher = whitespaces.matcher(code);
-        if (matcher.lookingAt()) {
-            return matcher;
+    private int indexOf(char target, int from) {
+        for (int i = from; i < end; i++) {
+            if (code.charAt(i) == target) {
+                return i;
+            }
         }
-        matcher = comments.matcher(code);
-        if (matcher.lookingAt()) {
-            return matcher;
+        return -1;
+    }
+
+    // Verifica, sem diferenciar maiúsculas (apenas ASCII), se o literal booleano começa na posição indicada.
+    private boolean isBooleanAt(int position, String literal) {
+        if (position + literal.length() > end) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if ((code.charAt(position + i) | 0x20) != literal.charAt(i)) {
+                return false;
+            }
         }
-        return null;
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
-    // Tenta encontrar correspondência com identificadores, operadores ou delimitadores.
-    private Matcher matchReservedOrID(String code) {
-        Matcher matcher = identifiers.matcher(code);
-        if (matcher.lookingAt()) return matcher;
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
 
-        matcher = operators.matcher(code);
-        if (matcher.lookingAt()) return matcher;
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
 
-        matcher = delimiters.matcher(code);
-        if (matcher.lookingAt()) return matcher;
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || isDigit(c);
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return isAsciiLetter(c) || c == '_';
+    }
 
-        return null;
+    private static boolean isIdentifierPart(char c) {
+        return isAsciiLetterOrDigit(c) || c == '_';
     }
 
-    // Converte os literais "true" e "false" para seus equivalentes hexadecimais, conforme a especificação.
-    private String resolveBoolean(String code) {
-        return code.equalsIgnoreCase("true") ? "Fh" : "0h";
+    // Terminadores de linha reconhecidos pelo '.' das expressões regulares do Java.
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
-}
\ No newline at end of file
+}
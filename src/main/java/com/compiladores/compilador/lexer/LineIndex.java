@@ -0,0 +1,62 @@
+package com.compiladores.compilador.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Índice de quebras de linha de um código-fonte carregado por inteiro.
+ * Guarda o deslocamento em que cada linha começa, permitindo converter um deslocamento
+ * no buffer em linha e coluna sem que o analisador léxico precise contar caracteres.
+ * Reconhece as mesmas quebras de linha do BufferedReader: '\n', '\r' e "\r\n".
+ */
+final class LineIndex {
+
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    // Última linha consultada; os tokens chegam em ordem crescente de deslocamento.
+    private int cursor = 0;
+
+    private LineIndex(int[] lineStarts, int lineCount) {
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+    }
+
+    // Percorre o código uma única vez registrando o início de cada linha.
+    static LineIndex build(CharSequence source) {
+        final int length = source.length();
+        int[] starts = new int[Math.max(16, length / 32)];
+        int count = 1; // A primeira linha sempre começa no deslocamento 0.
+
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < length && source.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+
+        return new LineIndex(starts, count);
+    }
+
+    // Retorna a linha (a partir de 1) que contém o deslocamento informado.
+    int lineOf(int offset) {
+        if (offset < lineStarts[cursor]) {
+            int found = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+            cursor = found >= 0 ? found : -found - 2;
+        }
+        while (cursor + 1 < lineCount && lineStarts[cursor + 1] <= offset) {
+            cursor++;
+        }
+        return cursor + 1;
+    }
+
+    // Retorna a coluna (a partir de 1) do deslocamento dentro da linha informada.
+    int columnOf(int offset, int line) {
+        return offset - lineStarts[line - 1] + 1;
+    }
+}
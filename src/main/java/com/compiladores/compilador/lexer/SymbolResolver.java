@@ -0,0 +1,40 @@
+package com.compiladores.compilador.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Atribui o id de símbolo de cada lexema: identificadores, palavras reservadas e literais
+ * numéricos são internados sem diferenciar maiúsculas, e literais string exatamente.
+ * O resultado é guardado por id de lexema, então cada lexema distinto é resolvido uma única vez.
+ */
+final class SymbolResolver {
+
+    private final LexemePool symbols = new LexemePool();
+
+    // Id de símbolo (+1) já calculado para cada id de lexema; 0 indica ainda não calculado.
+    private int[] symbolOfLexeme = new int[256];
+
+    LexemePool symbols() {
+        return symbols;
+    }
+
+    int symbolOf(TokenKind kind, int lexemeId, String lexeme) {
+        if (lexemeId >= symbolOfLexeme.length) {
+            symbolOfLexeme = Arrays.copyOf(symbolOfLexeme, Math.max(lexemeId + 1, symbolOfLexeme.length * 2));
+        }
+        int cached = symbolOfLexeme[lexemeId];
+        if (cached != 0) {
+            return cached - 1;
+        }
+        // O conteúdo de uma string é exibido como está; o restante da linguagem não diferencia maiúsculas.
+        int symbolId = kind == TokenKind.STRING_LITERAL
+                ? symbols.intern(lexeme)
+                : symbols.internIgnoreCase(lexeme, 0, lexeme.length());
+        symbolOfLexeme[lexemeId] = symbolId + 1;
+        return symbolId;
+    }
+
+    long footprintBytes() {
+        return 4L * symbolOfLexeme.length + symbols.footprintBytes();
+    }
+}
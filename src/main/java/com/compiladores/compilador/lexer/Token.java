@@ -2,20 +2,20 @@ package com.compiladores.compilador.lexer;
 
 /**
  * Representa um token, a unidade fundamental de código fonte para o compilador.
- * Cada token possui um nome (o lexema), uma classificação, um tipo de dado,
+ * Cada token possui um nome (o lexema), uma espécie (TokenKind), um tipo de dado (LcType),
  * e sua localização (linha e coluna) no arquivo fonte original.
  */
 public class Token {
 
     private final String name;
-    private String type;
-    private final String classification;
+    private final TokenKind kind;
+    private final LcType type;
     private final int line;
     private final int column;
 
-    public Token(String name, String classification, String type, int line, int column) {
+    public Token(String name, TokenKind kind, LcType type, int line, int column) {
         this.name = name;
-        this.classification = classification;
+        this.kind = kind;
         this.type = type;
         this.line = line;
         this.column = column;
@@ -25,12 +25,20 @@ public class Token {
         return this.name;
     }
 
-    public String getType() {
+    public TokenKind getKind() {
+        return this.kind;
+    }
+
+    public LcType getLcType() {
         return this.type;
     }
 
+    public String getType() {
+        return this.type.lcName();
+    }
+
     public String getClassification() {
-        return this.classification;
+        return this.kind.classification().label();
     }
 
     public int getLine() {
@@ -41,13 +49,9 @@ public class Token {
         return this.column;
     }
 
-    public void setType(String type) {
-        this.type = type;
-    }
-
     @Override
     public String toString() {
-        return String.format("Name: %s, Class: %s, Type: %s, Line: %d, Column: %d]", this.name, this.classification,
-                this.type, this.line, this.column);
+        return String.format("Name: %s, Class: %s, Type: %s, Line: %d, Column: %d]", this.name, getClassification(),
+                getType(), this.line, this.column);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.compiladores.compilador.lexer;
+
+/**
+ * Leitura sequencial de tokens, com o token atual como lookahead.
+ * É o que o analisador sintático precisa da origem dos tokens: o Cursor da TokenStream
+ * (tokens já armazenados) ou o consumidor do TokenRingBuffer (tokens produzidos em paralelo).
+ */
+public interface TokenCursor {
+
+    void advance();
+
+    // Indica se o cursor está no último token da sequência.
+    boolean atLast();
+
+    TokenKind kind();
+
+    LcType type();
+
+    String lexeme();
+
+    int symbolId();
+
+    int line();
+
+    int column();
+
+    boolean is(TokenKind kind);
+
+    // Materializa o token atual; usado apenas em mensagens de erro.
+    Token toToken();
+}
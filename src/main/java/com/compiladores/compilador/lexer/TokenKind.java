@@ -0,0 +1,153 @@
+package com.compiladores.compilador.lexer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Espécie de cada token, resolvida uma única vez pelo analisador léxico.
+ * Palavras reservadas e operadores têm uma espécie própria (WHILE, IF, PLUS, EQ_EQ, ...),
+ * o que permite às fases seguintes decidir com um switch sobre o enum em vez de comparar Strings.
+ */
+public enum TokenKind {
+    // Literais e identificadores.
+    INT_LITERAL("CONSTANTE", Classification.CONST),
+    BYTE_LITERAL("CONSTANTE", Classification.CONST),
+    STRING_LITERAL("CONSTANTE", Classification.CONST),
+    BOOLEAN_LITERAL("CONSTANTE", Classification.CONST),
+    IDENTIFIER("id", Classification.ID),
+
+    // Palavras reservadas.
+    FINAL("final"),
+    INT("int"),
+    BYTE("byte"),
+    STRING("string"),
+    BOOLEAN("boolean"),
+    WHILE("while"),
+    IF("if"),
+    ELSE("else"),
+    AND("and"),
+    OR("or"),
+    NOT("not"),
+    BEGIN("begin"),
+    END("end"),
+    READLN("readln"),
+    WRITE("write"),
+    WRITELN("writeln"),
+
+    // Operadores relacionais.
+    EQ_EQ("=="),
+    NOT_EQ("<>"),
+    LT("<"),
+    GT(">"),
+    LE("<="),
+    GE(">="),
+
+    // Operadores aritméticos e de atribuição.
+    PLUS("+"),
+    MINUS("-"),
+    STAR("*"),
+    SLASH("/"),
+    ASSIGN("="),
+
+    // Delimitadores.
+    COMMA(","),
+    SEMICOLON(";"),
+    LPAREN("("),
+    RPAREN(")");
+
+    /**
+     * Classificação geral do token, como era exibida na tabela de símbolos.
+     */
+    public enum Classification {
+        CONST("const"),
+        ID("id"),
+        RESERVED_WORD("reserved_word");
+
+        private final String label;
+
+        Classification(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final TokenKind[] VALUES = values();
+    private static final Map<String, TokenKind> RESERVED = new HashMap<>();
+
+    static {
+        for (TokenKind kind : VALUES) {
+            if (kind.classification == Classification.RESERVED_WORD) {
+                RESERVED.put(kind.text, kind);
+            }
+        }
+    }
+
+    // Texto canônico do token (em minúsculas), usado nas mensagens de erro.
+    private final String text;
+    private final Classification classification;
+
+    TokenKind(String text) {
+        this(text, Classification.RESERVED_WORD);
+    }
+
+    TokenKind(String text, Classification classification) {
+        this.text = text;
+        this.classification = classification;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public Classification classification() {
+        return classification;
+    }
+
+    public boolean isLiteral() {
+        return classification == Classification.CONST;
+    }
+
+    // Verifica se o token é uma constante ou um identificador (um operando).
+    public boolean isConstOrId() {
+        return classification != Classification.RESERVED_WORD;
+    }
+
+    public boolean isPrimitiveType() {
+        return this == INT || this == BYTE || this == STRING || this == BOOLEAN;
+    }
+
+    public boolean isRelational() {
+        return this == EQ_EQ || this == NOT_EQ || this == LT || this == GT || this == LE || this == GE;
+    }
+
+    public boolean isArithmetic() {
+        return this == PLUS || this == MINUS || this == STAR || this == SLASH;
+    }
+
+    // Operadores lógicos ou relacionais.
+    public boolean isLogical() {
+        return isRelational() || this == AND || this == OR || this == NOT;
+    }
+
+    public static TokenKind fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // Retorna a palavra reservada ou operador com o texto informado (em minúsculas), ou null.
+    public static TokenKind reserved(String lowerCaseText) {
+        return RESERVED.get(lowerCaseText);
+    }
+
+    // Espécie de um literal a partir do seu tipo de dado.
+    public static TokenKind literalOf(LcType type) {
+        return switch (type) {
+            case BYTE -> BYTE_LITERAL;
+            case STRING -> STRING_LITERAL;
+            case BOOLEAN -> BOOLEAN_LITERAL;
+            default -> INT_LITERAL;
+        };
+    }
+}
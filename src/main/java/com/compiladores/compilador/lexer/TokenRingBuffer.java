@@ -0,0 +1,196 @@
+package com.compiladores.compilador.lexer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fila circular limitada de tokens, com um único produtor (o analisador léxico, em sua própria
+ * thread) e um único consumidor (o analisador sintático).
+ * Os atributos de cada token ficam em arrays primitivos paralelos, como na TokenStream, mas os
+ * slots são reaproveitados: a memória ocupada depende da capacidade, e não do tamanho do arquivo.
+ *
+ * A sincronização usa apenas os dois contadores voláteis: o produtor escreve o slot e depois
+ * publica 'tail'; o consumidor lê o slot e depois libera a posição avançando 'head'.
+ * Quando a fila está cheia (ou vazia), a thread espera ativamente por alguns ciclos e depois
+ * se estaciona por curtos intervalos.
+ */
+public final class TokenRingBuffer implements TokenSink {
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    // Com um único núcleo, a outra thread só avança se esta ceder o processador: não adianta esperar ativamente.
+    private static final int SPIN_LIMIT = Runtime.getRuntime().availableProcessors() > 1 ? 128 : 0;
+
+    // Lexemas internados pelo produtor; só a thread do léxico acessa este repositório.
+    private final LexemePool lexemes = new LexemePool();
+
+    private final int capacity;
+    private final int mask;
+    private final byte[] kinds;
+    private final byte[] types;
+    private final int[] lexemeIds;
+    private final String[] texts; // O texto viaja com o token, pois o repositório não é compartilhado.
+    private final int[] lines;
+    private final int[] columns;
+
+    // Próxima posição a ser publicada pelo produtor.
+    private volatile long tail = 0;
+    // Posição do token atual do consumidor; as anteriores já podem ser reescritas.
+    private volatile long head = 0;
+    // O produtor terminou: não haverá tokens além de 'tail'.
+    private volatile boolean closed = false;
+    // O consumidor desistiu (terminou ou encontrou um erro): os próximos tokens são descartados.
+    private volatile boolean abandoned = false;
+
+    public TokenRingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // A capacidade é arredondada para a próxima potência de 2, para indexar os slots com uma máscara.
+    public TokenRingBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.kinds = new byte[this.capacity];
+        this.types = new byte[this.capacity];
+        this.lexemeIds = new int[this.capacity];
+        this.texts = new String[this.capacity];
+        this.lines = new int[this.capacity];
+        this.columns = new int[this.capacity];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public LexemePool getLexemes() {
+        return lexemes;
+    }
+
+    // Publica um token, esperando enquanto a fila estiver cheia.
+    @Override
+    public void add(TokenKind kind, LcType type, int lexemeId, int line, int column) {
+        long position = tail;
+        for (int spins = 0; position - head >= capacity; spins++) {
+            if (abandoned) {
+                return;
+            }
+            backOff(spins);
+        }
+        if (abandoned) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = (byte) kind.ordinal();
+        types[slot] = (byte) type.ordinal();
+        lexemeIds[slot] = lexemeId;
+        texts[slot] = lexemes.get(lexemeId);
+        lines[slot] = line;
+        columns[slot] = column;
+        tail = position + 1; // Escrita volátil: torna o slot visível ao consumidor.
+    }
+
+    // Chamado pelo produtor ao final da análise léxica (com ou sem erro).
+    public void close() {
+        closed = true;
+    }
+
+    // Chamado pelo consumidor quando não vai mais ler; libera o produtor se ele estiver esperando.
+    public void abandon() {
+        abandoned = true;
+    }
+
+    // Cria o cursor do consumidor, posicionado no primeiro token (espera até que ele seja publicado).
+    public TokenCursor cursor() {
+        return new Consumer();
+    }
+
+    private static void backOff(int spins) {
+        if (spins < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (spins < SPIN_LIMIT + 128) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    /**
+     * Lado do consumidor. O token atual permanece no seu slot até o próximo advance(),
+     * então os acessos leem direto dos arrays, sem copiar o token.
+     * Os ids de símbolo são calculados aqui, na thread do parser, com um repositório próprio.
+     */
+    private final class Consumer implements TokenCursor {
+
+        private final SymbolResolver symbols = new SymbolResolver();
+        private long position = 0;
+        private int slot = 0;
+
+        Consumer() {
+            awaitToken(0);
+        }
+
+        // Espera até que a posição seja publicada ou o produtor termine; retorna se ela existe.
+        private boolean awaitToken(long index) {
+            for (int spins = 0; index >= tail; spins++) {
+                if (closed) {
+                    return index < tail;
+                }
+                backOff(spins);
+            }
+            return true;
+        }
+
+        @Override
+        public void advance() {
+            position++;
+            slot = (int) position & mask;
+            head = position; // Libera o slot do token anterior para o produtor.
+            awaitToken(position);
+        }
+
+        @Override
+        public boolean atLast() {
+            return !awaitToken(position + 1);
+        }
+
+        @Override
+        public TokenKind kind() {
+            return TokenKind.fromOrdinal(kinds[slot]);
+        }
+
+        @Override
+        public LcType type() {
+            return LcType.fromOrdinal(types[slot]);
+        }
+
+        @Override
+        public String lexeme() {
+            return texts[slot];
+        }
+
+        @Override
+        public int symbolId() {
+            return symbols.symbolOf(kind(), lexemeIds[slot], texts[slot]);
+        }
+
+        @Override
+        public int line() {
+            return lines[slot];
+        }
+
+        @Override
+        public int column() {
+            return columns[slot];
+        }
+
+        @Override
+        public boolean is(TokenKind kind) {
+            return kinds[slot] == kind.ordinal();
+        }
+
+        @Override
+        public Token toToken() {
+            return new Token(lexeme(), kind(), type(), line(), column());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.compiladores.compilador.lexer;
+
+/**
+ * Destino dos tokens produzidos pelo analisador léxico.
+ * A TokenStream guarda todos os tokens para as fases seguintes; o TokenRingBuffer os
+ * repassa ao analisador sintático à medida que são produzidos (modo em pipeline).
+ */
+public interface TokenSink {
+
+    // Repositório onde o léxico interna os lexemas antes de publicar cada token.
+    LexemePool getLexemes();
+
+    void add(TokenKind kind, LcType type, int lexemeId, int line, int column);
+}
@@ -0,0 +1,199 @@
+package com.compiladores.compilador.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Sequência compacta de tokens organizada como "estrutura de arrays".
+ * Em vez de um objeto Token por lexema, cada atributo fica em um array primitivo paralelo
+ * (espécie, tipo, lexema internado, linha e coluna), indexado pela posição do token.
+ * Espécie e tipo são guardados pelo ordinal dos enums TokenKind e LcType.
+ * Os lexemas repetidos são guardados uma única vez no LexemePool.
+ *
+ * Além do lexema, cada token recebe um id de símbolo: identificadores, palavras reservadas e
+ * literais numéricos são internados sem diferenciar maiúsculas ("Soma" e "SOMA" têm o mesmo id),
+ * e literais string são internados exatamente. As fases seguintes comparam esses ids inteiros
+ * e os usam como índice de arrays, em vez de comparar Strings.
+ *
+ * As fases do compilador percorrem a sequência com um Cursor, que lê os atributos
+ * diretamente dos arrays, sem criar objetos por token.
+ */
+public final class TokenStream implements TokenSink {
+
+    private final LexemePool lexemes = new LexemePool();
+    private final SymbolResolver symbols = new SymbolResolver();
+
+    private byte[] kinds = new byte[1024];
+    private byte[] types = new byte[1024];
+    private int[] lexemeIds = new int[1024];
+    private int[] symbolIds = new int[1024];
+    private int[] lines = new int[1024];
+    private int[] columns = new int[1024];
+    private int size = 0;
+
+    @Override
+    public void add(TokenKind kind, LcType type, int lexemeId, int line, int column) {
+        if (size == kinds.length) {
+            grow();
+        }
+        kinds[size] = (byte) kind.ordinal();
+        types[size] = (byte) type.ordinal();
+        lexemeIds[size] = lexemeId;
+        symbolIds[size] = symbols.symbolOf(kind, lexemeId, lexemes.get(lexemeId));
+        lines[size] = line;
+        columns[size] = column;
+        size++;
+    }
+
+    @Override
+    public LexemePool getLexemes() {
+        return lexemes;
+    }
+
+    // Repositório dos nomes normalizados, indexado pelo id de símbolo.
+    public LexemePool getSymbols() {
+        return symbols.symbols();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenKind kind(int index) {
+        return TokenKind.fromOrdinal(kinds[index]);
+    }
+
+    public LcType type(int index) {
+        return LcType.fromOrdinal(types[index]);
+    }
+
+    public void setType(int index, LcType type) {
+        types[index] = (byte) type.ordinal();
+    }
+
+    public int lexemeId(int index) {
+        return lexemeIds[index];
+    }
+
+    public String lexeme(int index) {
+        return lexemes.get(lexemeIds[index]);
+    }
+
+    public int symbolId(int index) {
+        return symbolIds[index];
+    }
+
+    public int line(int index) {
+        return lines[index];
+    }
+
+    public int column(int index) {
+        return columns[index];
+    }
+
+    // Materializa o token de uma posição; usado apenas em mensagens de erro e depuração.
+    public Token toToken(int index) {
+        return new Token(lexeme(index), kind(index), type(index), lines[index], columns[index]);
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Bytes aproximados ocupados pelos arrays de tokens e pelo repositório de lexemas.
+    public long footprintBytes() {
+        long arrays = 6 * 16L + kinds.length * (1L + 1L + 4L + 4L + 4L + 4L);
+        return arrays + lexemes.footprintBytes() + symbols.footprintBytes();
+    }
+
+    private void grow() {
+        int capacity = kinds.length * 2;
+        kinds = Arrays.copyOf(kinds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        lexemeIds = Arrays.copyOf(lexemeIds, capacity);
+        symbolIds = Arrays.copyOf(symbolIds, capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        columns = Arrays.copyOf(columns, capacity);
+    }
+
+    /**
+     * Posição de leitura sobre a sequência de tokens.
+     * Cada fase mantém o seu próprio cursor; todos os acessos retornam valores primitivos
+     * ou o lexema já internado, sem alocação.
+     */
+    public final class Cursor implements TokenCursor {
+
+        private int index = 0;
+
+        public int index() {
+            return index;
+        }
+
+        public void seek(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void advance() {
+            index++;
+        }
+
+        public void retreat() {
+            index--;
+        }
+
+        // Indica se o cursor passou do último token.
+        public boolean atEnd() {
+            return index >= size;
+        }
+
+        // Indica se o cursor está no último token da sequência.
+        @Override
+        public boolean atLast() {
+            return index >= size - 1;
+        }
+
+        @Override
+        public TokenKind kind() {
+            return TokenKind.fromOrdinal(kinds[index]);
+        }
+
+        @Override
+        public LcType type() {
+            return LcType.fromOrdinal(types[index]);
+        }
+
+        public void setType(LcType type) {
+            types[index] = (byte) type.ordinal();
+        }
+
+        @Override
+        public String lexeme() {
+            return lexemes.get(lexemeIds[index]);
+        }
+
+        @Override
+        public int symbolId() {
+            return symbolIds[index];
+        }
+
+        @Override
+        public int line() {
+            return lines[index];
+        }
+
+        @Override
+        public int column() {
+            return columns[index];
+        }
+
+        @Override
+        public boolean is(TokenKind kind) {
+            return kinds[index] == kind.ordinal();
+        }
+
+        @Override
+        public Token toToken() {
+            return TokenStream.this.toToken(index);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.compiladores.compilador.main;
 
+import com.compiladores.compilador.ast.Program;
 import com.compiladores.compilador.codegen.AssemblyGenerator;
 import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.ir.IrBuilder;
+import com.compiladores.compilador.ir.IrProgram;
+import com.compiladores.compilador.ir.PassManager;
+import com.compiladores.compilador.parser.PipelinedParser;
 import com.compiladores.compilador.parser.SyntaticAnalyzer;
 import com.compiladores.compilador.lexer.LexicalAnalyzer;
 import com.compiladores.compilador.semantic.SemanticAnalyzer;
@@ -11,11 +16,15 @@ import com.compiladores.compilador.optimizer.PeepholeOptimizer;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Classe principal que executa o processo de compilação.
  * Ela inicializa todos os componentes do compilador e executa cada fase
- * em sequência: Léxica, Sintática, Semântica, Geração de Código e Otimização.
+ * em sequência: Léxica, Sintática, Semântica, Geração da IR, Otimização da IR,
+ * Geração de Código e Otimização Peephole.
  */
 public class Main {
 
@@ -64,6 +73,15 @@ public class Main {
             String outputDir = "src/main/java/com/compiladores/compilador/codegen/out";
             String asmFilePath = outputDir + File.separator + fileName + ".asm";
 
+            // Com --mmap, o arquivo é mapeado em memória e analisado inteiro, em vez de linha por linha.
+            boolean wholeFile = Arrays.asList(args).contains("--mmap");
+            // Com --pipeline, o léxico roda em outra thread e entrega os tokens ao parser por uma fila limitada.
+            boolean pipelined = Arrays.asList(args).contains("--pipeline");
+            // Com --no-cmov, os 'if' simples são traduzidos com saltos em vez de setcc/cmovcc.
+            boolean branchless = !Arrays.asList(args).contains("--no-cmov");
+            // Com --dump-asm, o código ainda não otimizado também é escrito, para depuração.
+            boolean dumpAsm = Arrays.asList(args).contains("--dump-asm");
+
             System.out.println("Lendo o arquivo: " + inputFile.getAbsolutePath());
 
             // --- Início do Pipeline de Compilação ---
@@ -74,11 +92,18 @@ public class Main {
             ReadLCCode reader = new ReadLCCode();
 
             // Executa cada fase sequencialmente.
-            runLexicalAnalysis(inputFile.getPath(), reader, lexer, table);
-            runSyntacticAnalysis(table);
-            runSemanticAnalysis(table);
-            runAssemblyGeneration(table, fileName);
-            runPeepholeOptimizer(asmFilePath);
+            Program program;
+            if (pipelined) {
+                program = runPipelinedAnalysis(inputFile.getPath(), wholeFile);
+            } else {
+                runLexicalAnalysis(inputFile.getPath(), reader, lexer, table, wholeFile);
+                program = runSyntacticAnalysis(table);
+            }
+            runSemanticAnalysis(table, program);
+            IrProgram ir = runIrGeneration(program);
+            runIrOptimization(ir, branchless);
+            List<String> assembly = runAssemblyGeneration(table, ir, fileName, dumpAsm);
+            runPeepholeOptimizer(assembly, asmFilePath);
 
             System.out.println("\nCompilação finalizada com sucesso!");
 
@@ -89,39 +114,80 @@ public class Main {
     }
 
     // Encapsula a execução da análise léxica.
-    private static void runLexicalAnalysis(String path, ReadLCCode reader, LexicalAnalyzer lexer, SymbolsTable table) throws CompilerException {
+    private static void runLexicalAnalysis(String path, ReadLCCode reader, LexicalAnalyzer lexer, SymbolsTable table, boolean wholeFile) throws CompilerException {
         System.out.println("\n=== Iniciando Análise Léxica ===");
-        reader.readFileAndAnalyze(path, lexer);
+        if (wholeFile) {
+            reader.readWholeFileAndAnalyze(path, lexer);
+        } else {
+            reader.readFileAndAnalyze(path, lexer);
+        }
         // table.printSymbols(); // Descomente para depurar a tabela de símbolos após a análise léxica.
         System.out.println("Análise Léxica concluída.");
     }
 
-    // Encapsula a execução da análise sintática.
-    private static void runSyntacticAnalysis(SymbolsTable table) throws CompilerException {
+    // Encapsula a execução da análise sintática, que produz a AST do programa.
+    private static Program runSyntacticAnalysis(SymbolsTable table) throws CompilerException {
         System.out.println("\n=== Iniciando Análise Sintática ===");
-        new SyntaticAnalyzer(table).parseProgram();
+        Program program = new SyntaticAnalyzer(table).parseProgram();
         System.out.println("Análise Sintática concluída.");
+        return program;
+    }
+
+    // Encapsula a execução das análises léxica e sintática em pipeline (os tokens não ficam na tabela de símbolos).
+    private static Program runPipelinedAnalysis(String path, boolean wholeFile) throws CompilerException {
+        System.out.println("\n=== Iniciando Análise Léxica e Sintática (pipeline) ===");
+        Program program = new PipelinedParser().parseFile(path, wholeFile);
+        System.out.println("Análise Léxica e Sintática concluídas.");
+        return program;
     }
 
     // Encapsula a execução da análise semântica.
-    private static void runSemanticAnalysis(SymbolsTable table) throws CompilerException {
+    private static void runSemanticAnalysis(SymbolsTable table, Program program) throws CompilerException {
         System.out.println("\n=== Iniciando Análise Semântica ===");
-        new SemanticAnalyzer(table).analyze();
+        new SemanticAnalyzer(table).analyze(program);
         // table.printSymbols(); // Descomente para depurar a tabela de símbolos após a análise semântica.
         System.out.println("Análise Semântica concluída.");
     }
 
-    // Encapsula a execução da geração de código Assembly.
-    private static void runAssemblyGeneration(SymbolsTable table, String fileName) throws CompilerException {
+    // Encapsula a tradução da AST para o código de três endereços.
+    private static IrProgram runIrGeneration(Program program) {
+        System.out.println("\n=== Iniciando Geração da IR ===");
+        IrProgram ir = new IrBuilder().build(program);
+        // System.out.print(ir.dump()); // Descomente para depurar a IR gerada.
+        System.out.println("Geração da IR concluída (" + ir.size() + " instruções).");
+        return ir;
+    }
+
+    // Encapsula a execução das passagens de otimização sobre a IR.
+    private static void runIrOptimization(IrProgram ir, boolean branchless) throws CompilerException {
+        PassManager passes = PassManager.defaultPipeline(branchless);
+        if (passes.getPasses().isEmpty()) {
+            return;
+        }
+        System.out.println("\n=== Iniciando Otimização da IR ===");
+        passes.run(ir);
+        passes.printReport();
+        System.out.println("Otimização da IR concluída.");
+    }
+
+    // Encapsula a execução da geração de código Assembly; as linhas ficam em memória até o otimizador.
+    private static List<String> runAssemblyGeneration(SymbolsTable table, IrProgram ir, String fileName, boolean dumpAsm) throws CompilerException {
         System.out.println("\n=== Iniciando Geração de Código Assembly ===");
-        new AssemblyGenerator(table, fileName).convert();
+        AssemblyGenerator generator = new AssemblyGenerator(table, fileName);
+        List<String> assembly = generator.convert(ir);
+        if (dumpAsm) {
+            generator.writeDebugDump(assembly);
+        }
         System.out.println("Geração de Código concluída.");
+        return assembly;
     }
 
-    // Encapsula a execução do otimizador Peephole.
-    private static void runPeepholeOptimizer(String asmFilePath) throws IOException {
+    // Encapsula a execução do otimizador Peephole, que escreve o arquivo .asm final.
+    private static void runPeepholeOptimizer(List<String> assembly, String asmFilePath) throws IOException {
         System.out.println("\n=== Iniciando Otimização Peephole ===");
-        PeepholeOptimizer.optimizeFile(asmFilePath);
+        PeepholeOptimizer optimizer = new PeepholeOptimizer();
+        optimizer.optimizeToFile(assembly, Path.of(asmFilePath));
+        optimizer.printReport();
         System.out.println("Otimização concluída.");
     }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.compiladores.compilador.optimizer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Otimizações de desvios, que precisam do programa inteiro e não cabem numa janela:
+ *   - encadeamento de saltos: um salto para um rótulo seguido de 'jmp L2' passa a saltar para L2;
+ *   - inversão: 'jcc L1; jmp L2; L1:' vira 'jncc L2; L1:';
+ *   - saltos para o ponto logo adiante (depois apenas de rótulos) são removidos;
+ *   - o código depois de 'jmp'/'ret' até o próximo rótulo nunca executa e é removido;
+ *   - rótulos que nenhum salto ou diretiva referencia são removidos.
+ *
+ * Cada rodada monta o índice rótulo -> posição uma única vez; as instruções removidas durante a
+ * rodada ficam nulas e a lista só é compactada no fim, para o índice continuar válido.
+ */
+class BranchOptimizer {
+
+    static final String[] NAMES = {
+            "Encadeamento de saltos", "Inversão de desvio sobre jmp", "Salto para adiante sem código",
+            "Código após jmp/ret", "Rótulo sem referência"};
+
+    private static final int THREADED = 0;
+    private static final int INVERTED = 1;
+    private static final int JUMP_TO_NEXT = 2;
+    private static final int DEAD_CODE = 3;
+    private static final int UNUSED_LABEL = 4;
+
+    private final int[] hits = new int[NAMES.length];
+
+    int[] getHits() {
+        return hits;
+    }
+
+    // Aplica uma rodada das otimizações na lista; devolve verdadeiro se algo mudou.
+    boolean optimize(List<Instruction> code) {
+        Map<String, Integer> labels = new HashMap<>();
+        for (int i = 0; i < code.size(); i++) {
+            if (code.get(i).opcode() == Mnemonic.LABEL) {
+                labels.putIfAbsent(code.get(i).label(), i);
+            }
+        }
+        int before = total();
+        for (int i = 0; i < code.size(); i++) {
+            Instruction instruction = code.get(i);
+            if (instruction != null && isJump(instruction)) {
+                optimizeJump(code, labels, i);
+            }
+        }
+        for (int i = 0; i < code.size(); i++) {
+            Instruction instruction = code.get(i);
+            if (instruction != null && (instruction.opcode() == Mnemonic.JMP || instruction.opcode() == Mnemonic.RET)) {
+                removeDeadCode(code, i);
+            }
+        }
+        removeUnusedLabels(code);
+        code.removeIf(instruction -> instruction == null);
+        return total() != before;
+    }
+
+    private void optimizeJump(List<Instruction> code, Map<String, Integer> labels, int index) {
+        Instruction jump = code.get(index);
+        String target = thread(code, labels, jump.operand(0));
+        if (!target.equals(jump.operand(0))) {
+            jump = Instruction.of(jump.opcode(), target);
+            code.set(index, jump);
+            hits[THREADED]++;
+        }
+
+        if (fallsInto(code, index, target)) {
+            code.set(index, null);
+            hits[JUMP_TO_NEXT]++;
+            return;
+        }
+
+        // jcc L1; jmp L2; L1:  ->  jncc L2; L1:
+        int next = nextSignificant(code, index + 1);
+        if (jump.opcode().isConditionalJump() && next >= 0 && code.get(next).opcode() == Mnemonic.JMP
+                && isJump(code.get(next)) && fallsInto(code, next, target)) {
+            code.set(index, Instruction.of(jump.opcode().negate(), code.get(next).operand(0)));
+            code.set(next, null);
+            hits[INVERTED]++;
+        }
+    }
+
+    /**
+     * Destino final de um salto: enquanto o rótulo for seguido (depois de outros rótulos) por
+     * um 'jmp', segue para o destino dele. Um ciclo de saltos para no primeiro rótulo repetido.
+     */
+    private static String thread(List<Instruction> code, Map<String, Integer> labels, String target) {
+        Set<String> visited = new HashSet<>();
+        String current = target;
+        while (visited.add(current)) {
+            Integer position = labels.get(current);
+            if (position == null) {
+                break;
+            }
+            int next = nextInstruction(code, position + 1);
+            if (next < 0 || code.get(next).opcode() != Mnemonic.JMP || !isJump(code.get(next))) {
+                break;
+            }
+            current = code.get(next).operand(0);
+        }
+        return current;
+    }
+
+    // Verdadeiro se entre a posição e o rótulo de destino só há rótulos e linhas vazias.
+    private static boolean fallsInto(List<Instruction> code, int index, String target) {
+        for (int i = index + 1; i < code.size(); i++) {
+            Instruction instruction = code.get(i);
+            if (instruction == null || instruction.isTrivia()) {
+                continue;
+            }
+            if (instruction.opcode() != Mnemonic.LABEL) {
+                return false;
+            }
+            if (instruction.label().equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Remove as instruções depois de um salto incondicional até o próximo rótulo ou diretiva.
+    private void removeDeadCode(List<Instruction> code, int index) {
+        for (int i = index + 1; i < code.size(); i++) {
+            Instruction instruction = code.get(i);
+            if (instruction == null || instruction.isTrivia()) {
+                continue;
+            }
+            if (instruction.opcode() == Mnemonic.LABEL || instruction.opcode() == Mnemonic.OTHER) {
+                return;
+            }
+            code.set(i, null);
+            hits[DEAD_CODE]++;
+        }
+    }
+
+    /**
+     * Remove os rótulos cujo nome não aparece em nenhum operando nem em linhas não reconhecidas
+     * (ex: "end start"). Rótulos anônimos (@@), referenciados por @F/@B, são mantidos.
+     */
+    private void removeUnusedLabels(List<Instruction> code) {
+        Set<String> referenced = new HashSet<>();
+        for (Instruction instruction : code) {
+            if (instruction == null) {
+                continue;
+            }
+            if (instruction.opcode() == Mnemonic.OTHER) {
+                addWords(instruction.source(), referenced);
+            }
+            for (String operand : instruction.operands()) {
+                addWords(operand, referenced);
+            }
+        }
+        for (int i = 0; i < code.size(); i++) {
+            Instruction instruction = code.get(i);
+            if (instruction != null && instruction.opcode() == Mnemonic.LABEL
+                    && !instruction.label().equals("@@") && !referenced.contains(instruction.label())) {
+                code.set(i, null);
+                hits[UNUSED_LABEL]++;
+            }
+        }
+    }
+
+    private static void addWords(String text, Set<String> words) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && isWordChar(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '@' || c == '$' || c == '?' || c == '.';
+    }
+
+    // Salto (condicional ou não) cujo operando é o nome de um rótulo.
+    private static boolean isJump(Instruction instruction) {
+        Mnemonic opcode = instruction.opcode();
+        return (opcode == Mnemonic.JMP || opcode.isConditionalJump()) && instruction.operandCount() == 1
+                && Effects.isSymbol(instruction.operand(0)) && !instruction.operand(0).startsWith("@");
+    }
+
+    // Próxima instrução que não é linha vazia nem foi removida, a partir da posição.
+    private static int nextSignificant(List<Instruction> code, int from) {
+        for (int i = from; i < code.size(); i++) {
+            if (code.get(i) != null && !code.get(i).isTrivia()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Como nextSignificant, mas também pulando rótulos.
+    private static int nextInstruction(List<Instruction> code, int from) {
+        int i = nextSignificant(code, from);
+        while (i >= 0 && code.get(i).opcode() == Mnemonic.LABEL) {
+            i = nextSignificant(code, i + 1);
+        }
+        return i;
+    }
+
+    private int total() {
+        int sum = 0;
+        for (int hit : hits) {
+            sum += hit;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,198 @@
+package com.compiladores.compilador.optimizer;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * O que cada instrução lê e escreve, usado pelas regras que acompanham o valor de registradores
+ * e variáveis ao longo da janela. Um local é um registrador (eax, al e ax são o mesmo local) ou
+ * uma variável em memória referenciada pelo nome. Um operando de memória mais complexo
+ * ([ebx+4], dword ptr x) pode ser qualquer variável, e as respostas são sempre conservadoras.
+ */
+final class Effects {
+
+    // Registradores de 32 bits, na numeração de family().
+    private static final int EAX = 0;
+    private static final int EDX = 3;
+    private static final int ESP = 7;
+
+    // Instruções que escrevem no primeiro operando.
+    private static final Set<Mnemonic> WRITES_DESTINATION = EnumSet.of(
+            Mnemonic.MOV, Mnemonic.MOVZX, Mnemonic.MOVSX, Mnemonic.LEA,
+            Mnemonic.ADD, Mnemonic.SUB, Mnemonic.IMUL, Mnemonic.INC, Mnemonic.DEC, Mnemonic.NEG, Mnemonic.NOT,
+            Mnemonic.AND, Mnemonic.OR, Mnemonic.XOR, Mnemonic.SHL, Mnemonic.SHR, Mnemonic.SAR,
+            Mnemonic.SETE, Mnemonic.SETNE, Mnemonic.SETL, Mnemonic.SETLE, Mnemonic.SETG, Mnemonic.SETGE,
+            Mnemonic.CMOVE, Mnemonic.CMOVNE, Mnemonic.CMOVL, Mnemonic.CMOVLE, Mnemonic.CMOVG, Mnemonic.CMOVGE,
+            Mnemonic.POP);
+
+    // Das anteriores, as que não leem o valor anterior do primeiro operando.
+    private static final Set<Mnemonic> OVERWRITES_DESTINATION = EnumSet.of(
+            Mnemonic.MOV, Mnemonic.MOVZX, Mnemonic.MOVSX, Mnemonic.LEA, Mnemonic.POP);
+
+    private Effects() {
+    }
+
+    /**
+     * Instruções que nenhuma regra atravessa: rótulos (outro caminho pode chegar ali), saltos,
+     * chamadas (alteram eax, ecx, edx e qualquer variável) e linhas não reconhecidas.
+     */
+    static boolean isBarrier(Instruction instruction) {
+        return switch (instruction.opcode()) {
+            case LABEL, OTHER, JMP, CALL, RET, INVOKE -> true;
+            default -> instruction.opcode().isConditionalJump();
+        };
+    }
+
+    static boolean isRegister32(String operand) {
+        return Instruction.isRegister(operand) && operand.length() == 3 && operand.charAt(0) == 'e';
+    }
+
+    // Variável referenciada só pelo nome (sem colchetes, 'ptr' ou expressões).
+    static boolean isSymbol(String operand) {
+        if (Instruction.isRegister(operand) || Instruction.immediate(operand) != null) {
+            return false;
+        }
+        for (int i = 0; i < operand.length(); i++) {
+            char c = operand.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '@' && c != '$' && c != '?') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isMemory(String operand) {
+        return !Instruction.isRegister(operand) && Instruction.immediate(operand) == null;
+    }
+
+    // Verdadeiro se a instrução pode ler o local (registrador ou variável).
+    static boolean reads(Instruction instruction, String location) {
+        Mnemonic opcode = instruction.opcode();
+        int count = instruction.operandCount();
+        if (Instruction.isRegister(location)) {
+            int family = family(location);
+            if (readsImplicitly(opcode, count, family)) {
+                return true;
+            }
+            for (int i = 0; i < count; i++) {
+                String operand = instruction.operand(i);
+                // O destino só é lido nas instruções que o combinam com a origem; os
+                // registradores do endereço de um destino em memória são sempre lidos.
+                boolean whole = i > 0 || !OVERWRITES_DESTINATION.contains(opcode);
+                if (mentionsRegister(operand, family, whole || !Instruction.isRegister(operand))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (i == 0 && OVERWRITES_DESTINATION.contains(opcode)) {
+                continue;
+            }
+            if (opcode == Mnemonic.LEA) {
+                continue; // O operando de 'lea' é só um endereço; a memória não é lida.
+            }
+            if (mayBe(instruction.operand(i), location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Verdadeiro se a instrução pode escrever no local (registrador ou variável).
+    static boolean writes(Instruction instruction, String location) {
+        Mnemonic opcode = instruction.opcode();
+        int count = instruction.operandCount();
+        boolean register = Instruction.isRegister(location);
+        if (register && writesImplicitly(opcode, count, family(location))) {
+            return true;
+        }
+        if (!WRITES_DESTINATION.contains(opcode) || count == 0
+                || opcode == Mnemonic.IMUL && count == 1) {
+            return false;
+        }
+        String destination = instruction.operand(0);
+        if (register) {
+            return Instruction.isRegister(destination) && family(destination) == family(location);
+        }
+        return mayBe(destination, location);
+    }
+
+    // Verdadeiro se a instrução substitui todo o valor do registrador sem lê-lo antes.
+    static boolean overwrites(Instruction instruction, String register) {
+        return OVERWRITES_DESTINATION.contains(instruction.opcode()) && instruction.operandCount() >= 1
+                && instruction.operand(0).equals(register) && isRegister32(register)
+                && !reads(instruction, register);
+    }
+
+    // O operando de memória pode ser a variável: é ela mesma, ou um endereço que não se sabe qual é.
+    private static boolean mayBe(String operand, String symbol) {
+        return operand.equals(symbol) || isMemory(operand) && !isSymbol(operand) && !operand.startsWith("addr ")
+                && !operand.startsWith("offset ");
+    }
+
+    // Verdadeiro se o operando é o registrador (ou parte dele) ou o usa num endereço.
+    static boolean mentions(String operand, String register) {
+        return mentionsRegister(operand, family(register), true);
+    }
+
+    /**
+     * Registrador de 32 bits que contém o registrador dado (eax para ax, al e ah), numerado
+     * eax, ebx, ecx, edx, esi, edi, ebp, esp.
+     */
+    private static int family(String register) {
+        char first = register.charAt(register.length() - 2);
+        char second = register.charAt(register.length() - 1);
+        if (register.length() == 2 && (second == 'l' || second == 'h')) {
+            second = 'x';
+        }
+        return switch (second) {
+            case 'x' -> first - 'a';
+            case 'i' -> first == 's' ? 4 : 5;
+            default -> first == 'b' ? 6 : ESP;
+        };
+    }
+
+    private static boolean mentionsRegister(String operand, int family, boolean includeBare) {
+        if (Instruction.isRegister(operand)) {
+            return includeBare && family(operand) == family;
+        }
+        int start = -1;
+        for (int i = 0; i <= operand.length(); i++) {
+            boolean word = i < operand.length() && Character.isLetterOrDigit(operand.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                if (i - start <= 3) {
+                    String token = operand.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (Instruction.isRegister(token) && family(token) == family) {
+                        return true;
+                    }
+                }
+                start = -1;
+            }
+        }
+        return false;
+    }
+
+    private static boolean readsImplicitly(Mnemonic opcode, int count, int family) {
+        return switch (opcode) {
+            case CDQ, MUL -> family == EAX;
+            case IDIV, DIV -> family == EAX || family == EDX;
+            case IMUL -> count == 1 && family == EAX;
+            case PUSH, POP -> family == ESP;
+            default -> false;
+        };
+    }
+
+    private static boolean writesImplicitly(Mnemonic opcode, int count, int family) {
+        return switch (opcode) {
+            case CDQ -> family == EDX;
+            case IDIV, DIV, MUL -> family == EAX || family == EDX;
+            case IMUL -> count == 1 && (family == EAX || family == EDX);
+            case PUSH, POP -> family == ESP;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package com.compiladores.compilador.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Linha do Assembly já analisada: mnemônico, operandos e, para linhas de rótulo, o nome do
+ * rótulo. A linha original ('source') é guardada para ser escrita sem alterações quando a
+ * instrução não é reescrita; as instruções criadas pelas regras não têm linha original.
+ * Os nomes de registradores são normalizados para minúsculas, e os demais operandos ficam
+ * como estão (com 'option casemap :none', os nomes das variáveis diferenciam maiúsculas).
+ */
+public record Instruction(Mnemonic opcode, String label, List<String> operands, String source) {
+
+    private static final String INDENT = "    ";
+
+    public static Instruction of(Mnemonic opcode, String... operands) {
+        return new Instruction(opcode, null, List.of(operands), null);
+    }
+
+    public static Instruction label(String name) {
+        return new Instruction(Mnemonic.LABEL, name, List.of(), null);
+    }
+
+    /**
+     * Analisa uma linha do arquivo. Uma linha que não é um rótulo isolado nem começa com um
+     * mnemônico conhecido (diretivas, declarações de dados, rótulo seguido de instrução) vira
+     * OTHER, que nenhuma regra atravessa.
+     */
+    public static Instruction parse(String line) {
+        int start = 0;
+        int end = line.length();
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        if (start == end || line.charAt(start) == ';') {
+            return new Instruction(Mnemonic.NONE, null, List.of(), line);
+        }
+        int tokenEnd = start;
+        while (tokenEnd < end && !Character.isWhitespace(line.charAt(tokenEnd))) {
+            tokenEnd++;
+        }
+        int rest = tokenEnd;
+        while (rest < end && Character.isWhitespace(line.charAt(rest))) {
+            rest++;
+        }
+        boolean nothingAfter = rest == end || line.charAt(rest) == ';';
+
+        if (line.charAt(tokenEnd - 1) == ':' && tokenEnd - start > 1 && nothingAfter) {
+            return new Instruction(Mnemonic.LABEL, line.substring(start, tokenEnd - 1), List.of(), line);
+        }
+        String name = line.substring(start, tokenEnd);
+        Mnemonic opcode = Mnemonic.of(name);
+        if (opcode == null) {
+            opcode = Mnemonic.of(name.toLowerCase(Locale.ROOT));
+        }
+        if (opcode == null) {
+            return new Instruction(Mnemonic.OTHER, null, List.of(), line);
+        }
+        return new Instruction(opcode, null, splitOperands(line, rest, end), line);
+    }
+
+    // Separa os operandos pelas vírgulas que não estão entre colchetes ou aspas, até o comentário.
+    private static List<String> splitOperands(String line, int start, int end) {
+        List<String> operands = new ArrayList<>(4);
+        int depth = 0;
+        char quote = 0;
+        int begin = start;
+        int i = start;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addOperand(operands, line, begin, i);
+                begin = i + 1;
+            } else if (c == ';') {
+                break;
+            }
+        }
+        addOperand(operands, line, begin, i);
+        // A maioria das instruções tem um ou dois operandos, guardados de forma compacta.
+        return switch (operands.size()) {
+            case 0 -> List.of();
+            case 1 -> List.of(operands.get(0));
+            case 2 -> List.of(operands.get(0), operands.get(1));
+            default -> operands;
+        };
+    }
+
+    private static void addOperand(List<String> operands, String line, int begin, int end) {
+        String operand = operand(line, begin, end);
+        if (operand != null) {
+            operands.add(operand);
+        }
+    }
+
+    // Operando entre as posições, sem espaços nas pontas e com registradores em minúsculas.
+    private static String operand(String line, int begin, int end) {
+        while (begin < end && Character.isWhitespace(line.charAt(begin))) {
+            begin++;
+        }
+        while (end > begin && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        if (begin == end) {
+            return null;
+        }
+        int length = end - begin;
+        if (length <= 3) {
+            char[] lower = new char[length];
+            boolean changed = false;
+            for (int k = 0; k < length; k++) {
+                char c = line.charAt(begin + k);
+                lower[k] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+                changed |= lower[k] != c;
+            }
+            if (changed && isRegister(new String(lower))) {
+                return new String(lower);
+            }
+        }
+        return line.substring(begin, end);
+    }
+
+    // Registradores de 32, 16 e 8 bits (em minúsculas), reconhecidos pelos caracteres, sem tabela.
+    public static boolean isRegister(String operand) {
+        int length = operand.length();
+        if (length == 3) {
+            return operand.charAt(0) == 'e' && isRegister16(operand.charAt(1), operand.charAt(2));
+        }
+        if (length == 2) {
+            char first = operand.charAt(0);
+            char second = operand.charAt(1);
+            return isRegister16(first, second) || first >= 'a' && first <= 'd' && (second == 'l' || second == 'h');
+        }
+        return false;
+    }
+
+    private static boolean isRegister16(char first, char second) {
+        return second == 'x' ? first >= 'a' && first <= 'd'
+                : second == 'i' ? first == 's' || first == 'd'
+                : second == 'p' && (first == 's' || first == 'b');
+    }
+
+    // Valor de um operando imediato decimal ou hexadecimal (sufixo 'h'), ou nulo se não for imediato.
+    public static Long immediate(String operand) {
+        char first = operand.charAt(0);
+        if (!Character.isDigit(first) && first != '-') {
+            return null;
+        }
+        try {
+            char last = operand.charAt(operand.length() - 1);
+            if ((last == 'h' || last == 'H') && Character.isDigit(operand.charAt(0))) {
+                return Long.parseLong(operand.substring(0, operand.length() - 1), 16);
+            }
+            return Long.parseLong(operand);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String operand(int index) {
+        return operands.get(index);
+    }
+
+    public int operandCount() {
+        return operands.size();
+    }
+
+    // Linhas vazias e comentários não contam nas janelas das regras.
+    public boolean isTrivia() {
+        return opcode == Mnemonic.NONE;
+    }
+
+    // Texto da instrução no arquivo de saída.
+    public String text() {
+        if (source != null) {
+            return source;
+        }
+        if (opcode == Mnemonic.LABEL) {
+            return label + ":";
+        }
+        return operands.isEmpty() ? INDENT + opcode.text() : INDENT + opcode.text() + " " + String.join(", ", operands);
+    }
+}
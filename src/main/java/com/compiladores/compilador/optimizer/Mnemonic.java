@@ -0,0 +1,71 @@
+package com.compiladores.compilador.optimizer;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mnemônicos x86 reconhecidos pelo otimizador Peephole. Linhas com outros mnemônicos ou
+ * diretivas (.data, include, declarações) viram OTHER e são mantidas como estão; linhas vazias
+ * e comentários viram NONE. LABEL representa uma linha com apenas um rótulo ("_loop1:").
+ */
+public enum Mnemonic {
+    MOV, MOVZX, MOVSX, LEA,
+    ADD, SUB, IMUL, IDIV, MUL, DIV, CDQ, INC, DEC, NEG, NOT,
+    AND, OR, XOR, SHL, SHR, SAR,
+    CMP, TEST,
+    SETE, SETNE, SETL, SETLE, SETG, SETGE,
+    CMOVE, CMOVNE, CMOVL, CMOVLE, CMOVG, CMOVGE,
+    JMP, JE, JNE, JL, JLE, JG, JGE, JZ, JNZ, JA, JAE, JB, JBE,
+    PUSH, POP, CALL, RET, INVOKE,
+    LABEL, OTHER, NONE;
+
+    private static final Map<String, Mnemonic> BY_NAME = new HashMap<>();
+
+    private final String text;
+
+    Mnemonic() {
+        this.text = name().toLowerCase(Locale.ROOT);
+    }
+
+    static {
+        for (Mnemonic mnemonic : values()) {
+            if (mnemonic.ordinal() < LABEL.ordinal()) {
+                BY_NAME.put(mnemonic.text(), mnemonic);
+            }
+        }
+    }
+
+    // Mnemônico com o nome dado (em minúsculas), ou nulo se não for reconhecido.
+    static Mnemonic of(String name) {
+        return BY_NAME.get(name);
+    }
+
+    // Nome como aparece no Assembly.
+    public String text() {
+        return text;
+    }
+
+    public boolean isConditionalJump() {
+        return compareTo(JE) >= 0 && compareTo(JBE) <= 0;
+    }
+
+    // Salto condicional com a condição oposta (usado para inverter um desvio sobre um 'jmp').
+    public Mnemonic negate() {
+        return switch (this) {
+            case JE -> JNE;
+            case JNE -> JE;
+            case JZ -> JNZ;
+            case JNZ -> JZ;
+            case JL -> JGE;
+            case JGE -> JL;
+            case JLE -> JG;
+            case JG -> JLE;
+            case JA -> JBE;
+            case JBE -> JA;
+            case JAE -> JB;
+            case JB -> JAE;
+            default -> throw new IllegalArgumentException("Não é um salto condicional: " + this);
+        };
+    }
+}
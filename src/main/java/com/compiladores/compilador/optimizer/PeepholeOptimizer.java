@@ -1,134 +1,353 @@
 package com.compiladores.compilador.optimizer;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
- * Implementa um otimizador Peephole simples para o código Assembly gerado.
+ * Implementa um otimizador Peephole para o código Assembly gerado.
  * Este otimizador examina uma pequena "janela" (peephole) de instruções
  * e substitui sequências conhecidas por outras mais eficientes.
+ *
+ * As linhas são analisadas uma única vez em instruções ({@link Instruction}) e as regras são
+ * indexadas pelo mnemônico da primeira instrução da janela. Depois de cada substituição o
+ * otimizador volta algumas instruções (o tamanho da maior janela menos um), pois a troca pode
+ * ter criado uma nova oportunidade que começa antes dela; assim o resultado é um ponto fixo,
+ * em que nenhuma regra se aplica mais.
  */
 public class PeepholeOptimizer {
 
+    private final List<PeepholeRule> rules;
+    // Posições (na lista de regras) das regras de cada mnemônico inicial.
+    private final Map<Mnemonic, int[]> rulesByLeading = new EnumMap<>(Mnemonic.class);
+    private final int maxWindow;
+    // Quantas vezes cada regra foi aplicada, na ordem da lista de regras.
+    private final int[] hits;
+    private final BranchOptimizer branches = new BranchOptimizer();
+    private final boolean branchOptimization;
+
+    public PeepholeOptimizer() {
+        this(PeepholeRules.defaults(), true);
+    }
+
+    /**
+     * Com 'branchOptimization' falso só as regras das janelas são aplicadas, como no modo
+     * streaming; as otimizações de desvios precisam do programa inteiro em memória.
+     */
+    public PeepholeOptimizer(List<PeepholeRule> rules, boolean branchOptimization) {
+        this.rules = rules;
+        this.branchOptimization = branchOptimization;
+        this.hits = new int[rules.size()];
+        int largest = 1;
+        for (int i = 0; i < rules.size(); i++) {
+            PeepholeRule rule = rules.get(i);
+            for (Mnemonic leading : rule.leading()) {
+                int[] previous = rulesByLeading.getOrDefault(leading, new int[0]);
+                int[] indexes = Arrays.copyOf(previous, previous.length + 1);
+                indexes[previous.length] = i;
+                rulesByLeading.put(leading, indexes);
+            }
+            largest = Math.max(largest, rule.size());
+        }
+        this.maxWindow = largest;
+    }
+
     //Otimiza um arquivo .asm de entrada e salva o resultado em um novo arquivo.
-    public static void optimizeFile(String inputPath) throws IOException {
+    public void optimizeFile(String inputPath) throws IOException {
+        File inputFile = new File(inputPath);
+        if (!inputFile.exists()) {
+            throw new FileNotFoundException("Arquivo de entrada não encontrado: " + inputFile.getAbsolutePath());
+        }
+
+        optimizeToFile(Files.readAllLines(inputFile.toPath()), outputFileFor(inputFile));
+    }
+
+    /**
+     * Como optimizeFile, mas em streaming, para arquivos .asm muito grandes: o arquivo é lido
+     * linha a linha e o resultado é escrito à medida que sai da janela, com memória constante.
+     * Só as regras das janelas são aplicadas (ver optimizeStream).
+     */
+    public void optimizeFileStreaming(String inputPath) throws IOException {
         File inputFile = new File(inputPath);
         if (!inputFile.exists()) {
             throw new FileNotFoundException("Arquivo de entrada não encontrado: " + inputFile.getAbsolutePath());
         }
+        Path outputPath = outputFileFor(inputFile);
+        optimizeStream(inputFile.toPath(), outputPath);
+        System.out.println("Arquivo otimizado gerado: " + outputPath.toAbsolutePath().normalize());
+    }
 
-        // Gera o nome do arquivo de saída (ex: "programa.asm" -> "programa_optimized.asm").
+    // Gera o nome do arquivo de saída (ex: "programa.asm" -> "programa_optimized.asm").
+    private static Path outputFileFor(File inputFile) {
         String baseName = inputFile.getName().replaceFirst("[.][^.]+$", "");
-        File outputFile = new File(inputFile.getParent(), baseName + "_optimized.asm");
+        return new File(inputFile.getAbsoluteFile().getParent(), baseName + "_optimized.asm").toPath();
+    }
 
-        List<String> originalLines = Files.readAllLines(inputFile.toPath());
-        List<String> optimizedLines = optimize(originalLines);
-        Files.write(outputFile.toPath(), optimizedLines);
+    /**
+     * Otimiza em streaming: lê a entrada por uma janela deslizante do tamanho da maior regra e
+     * escreve cada instrução assim que nenhuma regra pode mais alterá-la. O resultado é o mesmo
+     * de optimize com as otimizações de desvios desligadas, que precisam do programa inteiro.
+     */
+    public void optimizeStream(Path inputPath, Path outputPath) throws IOException {
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+        try (BufferedReader reader = Files.newBufferedReader(inputPath);
+             BufferedWriter writer = Files.newBufferedWriter(outputPath)) {
+            applyRules(new LineIterator(reader), instruction -> write(writer, instruction));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void write(BufferedWriter writer, Instruction instruction) {
+        try {
+            writer.write(instruction.text());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Otimiza as linhas recebidas do gerador de código e escreve o resultado, de uma vez, no
+     * arquivo de saída; é o único arquivo escrito na compilação.
+     */
+    public void optimizeToFile(List<String> lines, Path outputPath) throws IOException {
+        List<Instruction> optimized = optimize(parse(lines));
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(outputPath)) {
+            for (Instruction instruction : optimized) {
+                write(writer, instruction);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        System.out.println("Arquivo otimizado gerado: " + outputPath.toAbsolutePath().normalize());
+    }
+
+    // Analisa as linhas, aplica as regras e devolve o texto resultante.
+    public List<String> optimizeLines(List<String> lines) {
+        List<Instruction> optimized = optimize(parse(lines));
+        List<String> result = new ArrayList<>(optimized.size());
+        for (Instruction instruction : optimized) {
+            result.add(instruction.text());
+        }
+        return result;
+    }
+
+    private static List<Instruction> parse(List<String> lines) {
+        List<Instruction> instructions = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            instructions.add(Instruction.parse(line));
+        }
+        return instructions;
+    }
+
+    /**
+     * Alterna as regras das janelas e as otimizações de desvios até nenhuma das duas mudar o
+     * código: remover um salto pode juntar instruções numa janela, e uma regra pode deixar um
+     * salto logo antes do seu destino.
+     */
+    public List<Instruction> optimize(List<Instruction> instructions) {
+        List<Instruction> optimized = applyRules(instructions);
+        while (branchOptimization && branches.optimize(optimized)) {
+            optimized = applyRules(optimized);
+        }
+        return optimized;
+    }
 
-        System.out.println("Arquivo otimizado gerado: " + outputFile.getAbsolutePath());
+    private List<Instruction> applyRules(List<Instruction> instructions) {
+        List<Instruction> optimized = new ArrayList<>(instructions.size());
+        applyRules(instructions.iterator(), optimized::add);
+        return optimized;
     }
 
     /**
-     * Aplica as regras de otimização Peephole a uma lista de instruções Assembly.
-     * A lógica foi tornada mais robusta para evitar exceções com formatos de instrução inesperados.
+     * Aplica as regras até nenhuma se aplicar. As instruções que faltam examinar ficam em
+     * 'pending' (a próxima é a primeira) e as já examinadas em 'done'; voltar depois de uma
+     * substituição é só devolver instruções de 'done' para o início de 'pending'. Como a volta
+     * nunca passa de maxWindow - 1 instruções, as mais antigas de 'done' já são definitivas e
+     * vão para 'output', e 'pending' só precisa ter lidas as instruções da maior janela: a
+     * memória usada não depende do tamanho da entrada.
      */
-    private static List<String> optimize(List<String> instructions) {
-        List<String> optimized = new ArrayList<>();
-        int i = 0;
-
-        while (i < instructions.size()) {
-            String currentLine = instructions.get(i);
-            String current = currentLine.trim();
-
-            // Pula linhas vazias
-            if (current.isEmpty()) {
-                optimized.add(currentLine);
-                i++;
+    private void applyRules(Iterator<Instruction> input, Consumer<Instruction> output) {
+        Deque<Instruction> pending = new ArrayDeque<>();
+        Deque<Instruction> done = new ArrayDeque<>();
+        List<Instruction> window = new ArrayList<>(maxWindow);
+        int doneSignificant = 0;
+        while (true) {
+            fill(pending, input);
+            if (pending.isEmpty()) {
+                break;
+            }
+            if (rewrite(pending, window)) {
+                doneSignificant -= backtrack(done, pending);
                 continue;
             }
+            Instruction instruction = pending.pollFirst();
+            done.addLast(instruction);
+            if (!instruction.isTrivia()) {
+                doneSignificant++;
+            }
+            while (!done.isEmpty() && (done.peekFirst().isTrivia() || doneSignificant >= maxWindow)) {
+                if (!done.peekFirst().isTrivia()) {
+                    doneSignificant--;
+                }
+                output.accept(done.pollFirst());
+            }
+        }
+        for (Instruction instruction : done) {
+            output.accept(instruction);
+        }
+    }
+
+    // Lê da entrada até 'pending' ter instruções suficientes para a maior janela (ou a entrada acabar).
+    private void fill(Deque<Instruction> pending, Iterator<Instruction> input) {
+        int significant = 0;
+        for (Instruction instruction : pending) {
+            if (!instruction.isTrivia() && ++significant == maxWindow) {
+                return;
+            }
+        }
+        while (significant < maxWindow && input.hasNext()) {
+            Instruction instruction = input.next();
+            pending.addLast(instruction);
+            if (!instruction.isTrivia()) {
+                significant++;
+            }
+        }
+    }
 
-            // Otimização: Remoção de operações de identidade.
-            // Ex: ADD EAX, 0 ou MUL EBX, 1 são inúteis.
-            if (current.toUpperCase().startsWith("ADD ") && current.endsWith(", 0") ||
-                    current.toUpperCase().startsWith("SUB ") && current.endsWith(", 0") ||
-                    current.toUpperCase().startsWith("IMUL ") && current.endsWith(", 1")) {
-                i++; // Simplesmente pula a instrução.
+    // Tenta as regras na janela que começa na próxima instrução; devolve verdadeiro se alguma se aplicou.
+    private boolean rewrite(Deque<Instruction> pending, List<Instruction> window) {
+        int[] candidates = rulesByLeading.get(pending.peekFirst().opcode());
+        if (candidates == null) {
+            return false;
+        }
+        for (int index : candidates) {
+            PeepholeRule rule = rules.get(index);
+            // Quantas entradas de 'pending' a janela ocupa (as linhas vazias são puladas).
+            int length = fillWindow(pending, rule.size(), window);
+            if (length < 0) {
+                continue;
+            }
+            List<Instruction> replacement = rule.rewrite().apply(window);
+            if (replacement == null) {
                 continue;
             }
+            hits[index]++;
+            for (int i = 0; i < length; i++) {
+                pending.pollFirst();
+            }
+            for (int i = replacement.size() - 1; i >= 0; i--) {
+                pending.addFirst(replacement.get(i));
+            }
+            return true;
+        }
+        return false;
+    }
 
-            // Otimização: Redução de força.
-            // Multiplicar por 2 é mais lento que um deslocamento de bits para a esquerda (SHL).
-            // Ex: IMUL EAX, 2 -> SHL EAX, 1
-            if (current.toUpperCase().matches("IMUL \\w+, 2")) {
-                String[] parts = current.split("\\s+");
-                if (parts.length > 1) {
-                    String reg = parts[1].split(",")[0];
-                    // Mantém a identação original
-                    String indentation = currentLine.substring(0, currentLine.indexOf(current.charAt(0)));
-                    optimized.add(indentation + "shl " + reg + ", 1");
-                    i++;
-                    continue;
-                }
+    private static int fillWindow(Deque<Instruction> pending, int size, List<Instruction> window) {
+        window.clear();
+        int length = 0;
+        for (Instruction instruction : pending) {
+            length++;
+            if (instruction.isTrivia()) {
+                continue;
             }
+            window.add(instruction);
+            if (window.size() == size) {
+                return length;
+            }
+        }
+        return -1;
+    }
 
-            // Otimização: Remoção de saltos redundantes.
-            // Um salto para a linha imediatamente seguinte é desnecessário.
-            // Ex: JMP _label1
-            //     _label1:
-            if (current.toUpperCase().startsWith("JMP ") && i + 1 < instructions.size()) {
-                String next = instructions.get(i + 1).trim();
-                String[] parts = current.split("\\s+");
-                if (parts.length > 1) {
-                    String targetLabel = parts[1];
-                    if (next.equalsIgnoreCase(targetLabel + ":")) {
-                        i++; // Pula a instrução JMP.
-                        continue;
-                    }
-                }
+    /**
+     * Devolve as últimas instruções examinadas, que podem formar uma janela com a substituição,
+     * e retorna quantas delas não são linhas vazias.
+     */
+    private int backtrack(Deque<Instruction> done, Deque<Instruction> pending) {
+        int count = 0;
+        while (count < maxWindow - 1 && !done.isEmpty()) {
+            Instruction instruction = done.pollLast();
+            pending.addFirst(instruction);
+            if (!instruction.isTrivia()) {
+                count++;
             }
+        }
+        return count;
+    }
+
+    // Número de aplicações de cada regra desde a criação do otimizador.
+    public Map<String, Integer> getHits() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            result.put(rules.get(i).name(), hits[i]);
+        }
+        for (int i = 0; i < BranchOptimizer.NAMES.length; i++) {
+            result.put(BranchOptimizer.NAMES[i], branches.getHits()[i]);
+        }
+        return result;
+    }
 
-            // Otimização: Remoção de movimentações redundantes (troca inútil).
-            // Ex: MOV EAX, EBX
-            //     MOV EBX, EAX
-            if (current.toUpperCase().startsWith("MOV ") && i + 1 < instructions.size()) {
-                String next = instructions.get(i + 1).trim();
-                if (next.toUpperCase().startsWith("MOV ")) {
-                    // Split robusto que lida com múltiplos espaços
-                    String[] parts1 = current.split("\\s+", 2);
-                    String[] parts2 = next.split("\\s+", 2);
-
-                    // Garante que a instrução tem o formato "MOV operands"
-                    if (parts1.length == 2 && parts2.length == 2) {
-                        String[] ops1 = parts1[1].split(",");
-                        String[] ops2 = parts2[1].split(",");
-
-                        // Garante que há dois operandos
-                        if (ops1.length == 2 && ops2.length == 2) {
-                            String r1Current = ops1[0].trim();
-                            String r2Current = ops1[1].trim();
-                            String r1Next = ops2[0].trim();
-                            String r2Next = ops2[1].trim();
-
-                            // Verifica a troca: MOV R1, R2 -> MOV R2, R1
-                            if (r1Current.equalsIgnoreCase(r2Next) && r2Current.equalsIgnoreCase(r1Next)) {
-                                optimized.add(currentLine); // Mantém a primeira instrução
-                                i += 2; // Pula as duas instruções originais.
-                                continue;
-                            }
-                        }
-                    }
+    public void printReport() {
+        System.out.printf("%-36s %10s%n", "Regra", "Aplicações");
+        for (Map.Entry<String, Integer> entry : getHits().entrySet()) {
+            System.out.printf("%-36s %10d%n", entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Lê e analisa uma linha do arquivo por vez.
+    private static final class LineIterator implements Iterator<Instruction> {
+
+        private final BufferedReader reader;
+        private String next;
+
+        LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = reader.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
             }
-
-            // Se nenhuma otimização for aplicada, mantém a instrução original.
-            optimized.add(currentLine);
-            i++;
+            return next != null;
         }
 
-        return optimized;
+        @Override
+        public Instruction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Instruction instruction = Instruction.parse(next);
+            next = null;
+            return instruction;
+        }
     }
 }
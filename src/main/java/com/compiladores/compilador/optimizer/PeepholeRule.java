@@ -0,0 +1,20 @@
+package com.compiladores.compilador.optimizer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Regra do otimizador Peephole: olha uma janela de 'size' instruções consecutivas (sem contar
+ * linhas vazias e comentários) que começa com um dos mnemônicos de 'leading' e devolve as
+ * instruções que a substituem. Toda regra precisa deixar o código menor ou mais barato, para
+ * que a aplicação repetida termine.
+ */
+public record PeepholeRule(String name, Set<Mnemonic> leading, int size, Rewrite rewrite) {
+
+    @FunctionalInterface
+    public interface Rewrite {
+
+        // Instruções que substituem a janela (lista vazia para removê-la), ou nulo se a regra não se aplica.
+        List<Instruction> apply(List<Instruction> window);
+    }
+}
@@ -0,0 +1,237 @@
+package com.compiladores.compilador.optimizer;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Regras padrão do otimizador Peephole, declaradas como padrão (mnemônico inicial e tamanho
+ * da janela) e substituição.
+ */
+public final class PeepholeRules {
+
+    // Alcance das regras que acompanham um valor: a instrução inicial e as três seguintes.
+    private static final int PUSH_POP_WINDOW = 4;
+    private static final int RELOAD_WINDOW = 4;
+
+    // Instruções cujo último operando pode ser um imediato no lugar do registrador.
+    private static final Set<Mnemonic> ACCEPTS_IMMEDIATE = EnumSet.of(
+            Mnemonic.MOV, Mnemonic.ADD, Mnemonic.SUB, Mnemonic.AND, Mnemonic.OR, Mnemonic.XOR,
+            Mnemonic.CMP, Mnemonic.TEST, Mnemonic.IMUL, Mnemonic.PUSH);
+
+    private PeepholeRules() {
+    }
+
+    public static List<PeepholeRule> defaults() {
+        return List.of(
+                // Ex: ADD EAX, 0 ou IMUL EBX, 1 são inúteis. Deslocar 0 bits não altera nem as flags.
+                rule("Operação identidade", 1, PeepholeRules::identity,
+                        Mnemonic.ADD, Mnemonic.SUB, Mnemonic.IMUL, Mnemonic.SHL, Mnemonic.SHR, Mnemonic.SAR),
+                // Ex: IMUL EAX, 8 -> SHL EAX, 3
+                rule("Multiplicação por potência de 2", 1, PeepholeRules::multiplyByPowerOfTwo, Mnemonic.IMUL),
+                // Ex: JMP _label1
+                //     _label1:
+                rule("Salto para a próxima instrução", 2, PeepholeRules::jumpToNext, Mnemonic.JMP),
+                // Ex: MOV EAX, EAX
+                rule("Movimentação para si mesmo", 1, PeepholeRules::selfMove, Mnemonic.MOV),
+                // Ex: MOV EAX, EBX
+                //     MOV EBX, EAX
+                rule("Movimentação de volta", 2, PeepholeRules::moveBack, Mnemonic.MOV),
+                // Ex: PUSH 5       PUSH EAX
+                //     POP EBX      POP EAX
+                rule("Push/pop em sequência", 2, PeepholeRules::pushPop, Mnemonic.PUSH),
+                // Ex: PUSH EBX
+                //     ADD EAX, ECX
+                //     POP EBX
+                rule("Push/pop sem uso do registrador", PUSH_POP_WINDOW, PeepholeRules::unusedSave, Mnemonic.PUSH),
+                // Ex: MOV EAX, x
+                //     ADD EBX, ECX
+                //     MOV EAX, x
+                rule("Recarga redundante", RELOAD_WINDOW, PeepholeRules::redundantReload, Mnemonic.MOV),
+                // Ex: MOV EBX, 5
+                //     ADD EAX, EBX  ->  ADD EAX, 5
+                //     MOV EBX, y
+                rule("Imediato no lugar do registrador", 3, PeepholeRules::immediateOperand, Mnemonic.MOV));
+    }
+
+    static PeepholeRule rule(String name, int size, PeepholeRule.Rewrite rewrite, Mnemonic first, Mnemonic... rest) {
+        return new PeepholeRule(name, EnumSet.of(first, rest), size, rewrite);
+    }
+
+    private static List<Instruction> identity(List<Instruction> window) {
+        Instruction instruction = window.get(0);
+        if (instruction.operandCount() != 2) {
+            return null;
+        }
+        Long value = Instruction.immediate(instruction.operand(1));
+        long neutral = instruction.opcode() == Mnemonic.IMUL ? 1 : 0;
+        return value != null && value == neutral ? List.of() : null;
+    }
+
+    private static List<Instruction> multiplyByPowerOfTwo(List<Instruction> window) {
+        Instruction instruction = window.get(0);
+        if (instruction.operandCount() != 2) {
+            return null;
+        }
+        Long value = Instruction.immediate(instruction.operand(1));
+        if (value == null || value < 2 || value > Integer.MAX_VALUE || Long.bitCount(value) != 1) {
+            return null;
+        }
+        String shift = Integer.toString(Long.numberOfTrailingZeros(value));
+        return List.of(Instruction.of(Mnemonic.SHL, instruction.operand(0), shift));
+    }
+
+    private static List<Instruction> jumpToNext(List<Instruction> window) {
+        Instruction jump = window.get(0);
+        Instruction next = window.get(1);
+        if (next.opcode() == Mnemonic.LABEL && jump.operandCount() == 1 && jump.operand(0).equals(next.label())) {
+            return List.of(next);
+        }
+        return null;
+    }
+
+    private static List<Instruction> selfMove(List<Instruction> window) {
+        Instruction move = window.get(0);
+        return move.operandCount() == 2 && Instruction.isRegister(move.operand(0))
+                && move.operand(0).equals(move.operand(1)) ? List.of() : null;
+    }
+
+    /**
+     * A segunda cópia devolve o valor que a primeira acabou de copiar. Operandos com colchetes
+     * ficam de fora: em MOV EAX, [EAX] o endereço muda depois da primeira instrução.
+     */
+    private static List<Instruction> moveBack(List<Instruction> window) {
+        Instruction first = window.get(0);
+        Instruction second = window.get(1);
+        if (second.opcode() != Mnemonic.MOV || first.operandCount() != 2 || second.operandCount() != 2) {
+            return null;
+        }
+        String target = first.operand(0);
+        String source = first.operand(1);
+        if (target.indexOf('[') >= 0 || source.indexOf('[') >= 0) {
+            return null;
+        }
+        return target.equals(second.operand(1)) && source.equals(second.operand(0)) ? List.of(first) : null;
+    }
+
+    /**
+     * Empilhar e desempilhar em seguida é uma cópia (ou nada, se for o mesmo local). Fica de fora
+     * a cópia entre duas posições de memória, que não existe em x86, e registradores de 8/16 bits.
+     */
+    private static List<Instruction> pushPop(List<Instruction> window) {
+        Instruction push = window.get(0);
+        Instruction pop = window.get(1);
+        if (pop.opcode() != Mnemonic.POP || push.operandCount() != 1 || pop.operandCount() != 1) {
+            return null;
+        }
+        String source = push.operand(0);
+        String target = pop.operand(0);
+        if (source.equals(target) && (Effects.isRegister32(source) || Effects.isSymbol(source))) {
+            return List.of();
+        }
+        boolean sourceOk = Effects.isRegister32(source) || Effects.isSymbol(source)
+                || Instruction.immediate(source) != null;
+        boolean targetOk = Effects.isRegister32(target) || Effects.isSymbol(target);
+        if (!sourceOk || !targetOk || source.equals("esp") || target.equals("esp")
+                || Effects.isSymbol(source) && Effects.isSymbol(target)) {
+            return null;
+        }
+        return List.of(Instruction.of(Mnemonic.MOV, target, source));
+    }
+
+    // Salvar e restaurar um registrador que as instruções entre o push e o pop não usam.
+    private static List<Instruction> unusedSave(List<Instruction> window) {
+        Instruction push = window.get(0);
+        if (push.operandCount() != 1 || !Effects.isRegister32(push.operand(0)) || push.operand(0).equals("esp")) {
+            return null;
+        }
+        String register = push.operand(0);
+        for (int i = 1; i < window.size(); i++) {
+            Instruction instruction = window.get(i);
+            if (instruction.opcode() == Mnemonic.POP && instruction.operandCount() == 1
+                    && instruction.operand(0).equals(register)) {
+                List<Instruction> result = new ArrayList<>(window);
+                result.remove(i);
+                result.remove(0);
+                return result;
+            }
+            if (Effects.isBarrier(instruction) || touches(instruction, register) || touches(instruction, "esp")) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Depois de MOV d, s os dois locais guardam o mesmo valor até que um deles seja escrito; uma
+     * nova cópia entre eles nesse intervalo não muda nada e é removida.
+     */
+    private static List<Instruction> redundantReload(List<Instruction> window) {
+        Instruction move = window.get(0);
+        if (move.operandCount() != 2) {
+            return null;
+        }
+        String target = move.operand(0);
+        String source = move.operand(1);
+        boolean immediate = Instruction.immediate(source) != null;
+        if (target.equals(source) || !isLocation(target) || !isLocation(source) && !immediate) {
+            return null;
+        }
+        for (int i = 1; i < window.size(); i++) {
+            Instruction instruction = window.get(i);
+            if (instruction.opcode() == Mnemonic.MOV && instruction.operandCount() == 2) {
+                String first = instruction.operand(0);
+                String second = instruction.operand(1);
+                if (first.equals(target) && second.equals(source) || first.equals(source) && second.equals(target)) {
+                    List<Instruction> result = new ArrayList<>(window);
+                    result.remove(i);
+                    return result;
+                }
+            }
+            if (Effects.isBarrier(instruction) || Effects.writes(instruction, target)
+                    || !immediate && Effects.writes(instruction, source)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Um registrador carregado com uma constante, lido por uma única instrução e escrito logo
+     * depois (sem ser lido) é trocado pela própria constante nessa instrução.
+     */
+    private static List<Instruction> immediateOperand(List<Instruction> window) {
+        Instruction load = window.get(0);
+        Instruction use = window.get(1);
+        Instruction next = window.get(2);
+        if (load.operandCount() != 2 || !Effects.isRegister32(load.operand(0))
+                || Instruction.immediate(load.operand(1)) == null || !ACCEPTS_IMMEDIATE.contains(use.opcode())) {
+            return null;
+        }
+        String register = load.operand(0);
+        int last = use.operandCount() - 1;
+        if (last < 0 || last > 1 || !use.operand(last).equals(register) || !Effects.overwrites(next, register)) {
+            return null;
+        }
+        if (last == 1) {
+            String destination = use.operand(0);
+            // 'imul' com imediato exige o destino num registrador; e o destino não pode usar o registrador.
+            if (use.opcode() == Mnemonic.IMUL && !Instruction.isRegister(destination)
+                    || Effects.mentions(destination, register)) {
+                return null;
+            }
+            return List.of(Instruction.of(use.opcode(), destination, load.operand(1)), next);
+        }
+        return use.opcode() == Mnemonic.PUSH ? List.of(Instruction.of(Mnemonic.PUSH, load.operand(1)), next) : null;
+    }
+
+    private static boolean touches(Instruction instruction, String register) {
+        return Effects.reads(instruction, register) || Effects.writes(instruction, register);
+    }
+
+    // Registrador ou variável referenciada pelo nome, cujo valor as regras conseguem acompanhar.
+    private static boolean isLocation(String operand) {
+        return Instruction.isRegister(operand) || Effects.isSymbol(operand);
+    }
+}
@@ -0,0 +1,81 @@
+package com.compiladores.compilador.parser;
+
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.exceptions.CompilerException;
+import com.compiladores.compilador.io.ReadLCCode;
+import com.compiladores.compilador.lexer.LexicalAnalyzer;
+import com.compiladores.compilador.lexer.TokenRingBuffer;
+
+/**
+ * Executa as análises léxica e sintática em pipeline.
+ * O léxico roda em uma thread própria e publica os tokens em um TokenRingBuffer limitado,
+ * enquanto o parser os consome na thread chamadora. Os tokens não são guardados na tabela de
+ * símbolos, então a memória usada por eles não cresce com o arquivo, e a leitura do arquivo e
+ * o léxico se sobrepõem ao parsing em máquinas com mais de um núcleo.
+ *
+ * Os erros são reportados como no modo sequencial: um erro léxico em qualquer ponto do arquivo
+ * tem prioridade sobre um erro sintático. Por isso, quando o parser termina (ou falha), o léxico
+ * continua até o fim do arquivo, descartando os tokens, antes de o resultado ser decidido.
+ */
+public class PipelinedParser {
+
+    private final ReadLCCode reader = new ReadLCCode();
+    private final int capacity;
+
+    public PipelinedParser() {
+        this(TokenRingBuffer.DEFAULT_CAPACITY);
+    }
+
+    public PipelinedParser(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // Analisa o arquivo e retorna a AST; 'wholeFile' escolhe o modo de leitura do léxico (ver ReadLCCode).
+    public Program parseFile(String filePath, boolean wholeFile) throws CompilerException {
+        TokenRingBuffer buffer = new TokenRingBuffer(capacity);
+        Throwable[] lexicalError = new Throwable[1];
+
+        Thread lexerThread = Thread.ofPlatform().name("lc-lexer").daemon().start(() -> {
+            try {
+                LexicalAnalyzer lexer = new LexicalAnalyzer(buffer);
+                if (wholeFile) {
+                    reader.readWholeFileAndAnalyze(filePath, lexer);
+                } else {
+                    reader.readFileAndAnalyze(filePath, lexer);
+                }
+            } catch (CompilerException | RuntimeException | Error e) {
+                lexicalError[0] = e; // Repassada à thread do parser, como se o léxico rodasse nela.
+            } finally {
+                buffer.close(); // Sinaliza o fim dos tokens ao parser.
+            }
+        });
+
+        Program program = null;
+        CompilerException syntaxError = null;
+        try {
+            program = new SyntaticAnalyzer(buffer.cursor()).parseProgram();
+        } catch (CompilerException e) {
+            syntaxError = e;
+        } finally {
+            buffer.abandon(); // O restante do arquivo ainda é analisado, mas sem guardar os tokens.
+        }
+
+        try {
+            lexerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (lexicalError[0] instanceof CompilerException e) {
+            throw e;
+        } else if (lexicalError[0] instanceof RuntimeException e) {
+            throw e;
+        } else if (lexicalError[0] instanceof Error e) {
+            throw e;
+        }
+        if (syntaxError != null) {
+            throw syntaxError;
+        }
+        return program;
+    }
+}
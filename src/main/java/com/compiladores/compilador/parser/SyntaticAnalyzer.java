@@ -1,306 +1,384 @@
 package com.compiladores.compilador.parser;
 
+import com.compiladores.compilador.ast.Assign;
+import com.compiladores.compilador.ast.Binary;
+import com.compiladores.compilador.ast.Block;
+import com.compiladores.compilador.ast.ConstDecl;
+import com.compiladores.compilador.ast.Decl;
+import com.compiladores.compilador.ast.Expression;
+import com.compiladores.compilador.ast.Identifier;
+import com.compiladores.compilador.ast.If;
+import com.compiladores.compilador.ast.Literal;
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.ast.Readln;
+import com.compiladores.compilador.ast.Statement;
+import com.compiladores.compilador.ast.Unary;
+import com.compiladores.compilador.ast.VarDecl;
+import com.compiladores.compilador.ast.While;
+import com.compiladores.compilador.ast.Write;
 import com.compiladores.compilador.exceptions.CompilerException;
 import com.compiladores.compilador.exceptions.ErrorHandler;
-import com.compiladores.compilador.lexer.Token;
+import com.compiladores.compilador.lexer.LcType;
+import com.compiladores.compilador.lexer.TokenCursor;
+import com.compiladores.compilador.lexer.TokenKind;
 import com.compiladores.compilador.symboltable.SymbolsTable;
 import com.compiladores.compilador.utils.TokenUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Realiza a análise sintática (parsing) da sequência de tokens.
- * Verifica se a estrutura do programa está em conformidade com a gramática da linguagem LC.
- * Utiliza a abordagem de "Recursive Descent Parsing".
+ * Verifica se a estrutura do programa está em conformidade com a gramática da linguagem LC
+ * e constrói a árvore sintática abstrata (AST), percorrida depois pelas fases semântica e de geração de código.
+ * Utiliza a abordagem de "Recursive Descent Parsing"; as listas (declarações, comandos, argumentos)
+ * são analisadas por laços e as expressões por precedência de operadores, de modo que a recursão
+ * acompanha apenas o aninhamento real de blocos e parênteses.
  */
 public class SyntaticAnalyzer {
 
-    private final SymbolsTable symbolsTable;
-    private Token currentToken;
-    private int currentTokenIndex = 0;
+    // Cursor sobre a sequência de tokens; começa no primeiro token.
+    private final TokenCursor currentToken;
 
     public SyntaticAnalyzer(SymbolsTable symbolsTable) {
-        this.symbolsTable = symbolsTable;
-        // Pega o primeiro token para iniciar a análise.
-        this.currentToken = symbolsTable.currentToken(currentTokenIndex);
+        this(symbolsTable.getTokens().cursor());
+    }
+
+    // Consome os tokens de outra origem, como o TokenRingBuffer do modo em pipeline.
+    public SyntaticAnalyzer(TokenCursor tokens) {
+        this.currentToken = tokens;
     }
 
     // Avança para o próximo token na tabela de símbolos.
     private void nextToken() {
-        if (currentTokenIndex < symbolsTable.getSize() - 1) {
-            currentToken = symbolsTable.currentToken(++currentTokenIndex);
+        if (!currentToken.atLast()) {
+            currentToken.advance();
         }
     }
 
     /**
-     * Valida se a classificação do token atual é a esperada.
-     * Lança um erro sintático se não for.
+     * Valida se o token atual é um identificador.
+     * Lança um erro sintático se não for; 'expected' é o texto exibido na mensagem.
      */
-    private void expectClassification(String expected) throws CompilerException {
-        if (!currentToken.getClassification().equalsIgnoreCase(expected) &&
-                !currentToken.getName().equalsIgnoreCase(expected)) {
-            ErrorHandler.syntaxError(expected, currentToken);
+    private void expectIdentifier(String expected) throws CompilerException {
+        if (!currentToken.is(TokenKind.IDENTIFIER)) {
+            ErrorHandler.syntaxError(expected, currentToken.toToken());
         }
     }
 
     /**
-     * Valida se o nome (lexema) do token atual é o esperado.
+     * Valida se a espécie do token atual é a esperada.
      * Lança um erro sintático se não for.
      */
-    private void expectName(String expected) throws CompilerException {
-        if (!currentToken.getName().equalsIgnoreCase(expected)) {
-            ErrorHandler.syntaxError(expected, currentToken);
+    private void expect(TokenKind expected) throws CompilerException {
+        if (!currentToken.is(expected)) {
+            ErrorHandler.syntaxError(expected.text(), currentToken.toToken());
+        }
+    }
+
+    // Cria o nó de um operando (identificador ou constante) a partir do token atual.
+    private Expression operand() {
+        if (currentToken.is(TokenKind.IDENTIFIER)) {
+            return identifier();
         }
+        return new Literal(currentToken.line(), currentToken.column(), currentToken.lexeme(),
+                currentToken.kind(), currentToken.type());
+    }
+
+    private Identifier identifier() {
+        return new Identifier(currentToken.line(), currentToken.column(), currentToken.lexeme(), currentToken.symbolId());
     }
 
     /**
      * Ponto de entrada do parser. Inicia a análise da estrutura geral do programa.
      * Gramática: Programa -> Declarações Bloco
      */
-    public void parseProgram() throws CompilerException {
-        parseDeclarations();
-        parseBlock();
+    public Program parseProgram() throws CompilerException {
+        List<Decl> declarations = parseDeclarations();
+        Block block = parseBlock();
+        return new Program(declarations, block);
     }
 
     /**
      * Analisa a seção de declarações de variáveis e constantes.
      * Gramática: Declarações -> (Declaração_Var | Declaração_Const) Declarações | ε
      */
-    private void parseDeclarations() throws CompilerException {
-        // Verifica se o token atual pode iniciar uma declaração.
-        if (TokenUtils.isPrimitiveType(this.currentToken) || currentToken.getName().equalsIgnoreCase("final")) {
+    private List<Decl> parseDeclarations() throws CompilerException {
+        List<Decl> declarations = new ArrayList<>();
+
+        // Cada iteração analisa uma declaração, enquanto o token atual puder iniciar uma.
+        while (TokenUtils.isPrimitiveType(this.currentToken) || currentToken.is(TokenKind.FINAL)) {
+            int line = currentToken.line();
+            int column = currentToken.column();
+            boolean isConstant = currentToken.is(TokenKind.FINAL);
+            LcType type = LcType.fromName(currentToken.lexeme());
+
             // Consome o tipo (int, byte, final, etc.)
             nextToken();
-            expectClassification("id"); // Espera um identificador.
+            expectIdentifier("id"); // Espera um identificador.
+            Identifier name = identifier();
 
             nextToken();
-            // Verifica se há uma inicialização opcional.
-            if (currentToken.getName().equalsIgnoreCase("=")) {
+            // Verifica se há uma inicialização opcional (obrigatória para constantes).
+            Expression initializer = null;
+            if (isConstant) {
+                expect(TokenKind.ASSIGN);
+            }
+            if (currentToken.is(TokenKind.ASSIGN)) {
                 nextToken();
                 if (!TokenUtils.isConstOrId(this.currentToken)) { // O valor deve ser uma constante ou outro id.
-                    ErrorHandler.syntaxErrorAssignment(currentToken);
+                    ErrorHandler.syntaxErrorAssignment(currentToken.toToken());
                 }
+                initializer = operand();
                 nextToken();
             }
 
-            expectName(";"); // Toda declaração termina com ';'.
+            expect(TokenKind.SEMICOLON); // Toda declaração termina com ';'.
             nextToken();
 
-            // Chamada recursiva para analisar múltiplas declarações.
-            parseDeclarations();
+            declarations.add(isConstant
+                    ? new ConstDecl(line, column, name, initializer)
+                    : new VarDecl(line, column, type, name, initializer));
         }
+        return declarations;
     }
 
     /**
      * Analisa um bloco de comandos.
      * Gramática: Bloco -> 'begin' Comandos 'end'
      */
-    private void parseBlock() throws CompilerException {
-        expectName("begin");
+    private Block parseBlock() throws CompilerException {
+        expect(TokenKind.BEGIN);
+        int line = currentToken.line();
+        int column = currentToken.column();
         nextToken();
-        parseCommands();
-        expectName("end");
+        List<Statement> statements = parseCommands();
+        expect(TokenKind.END);
         // Avança o token após o 'end' se não for o final do arquivo.
-        if (currentTokenIndex < symbolsTable.getSize() - 1) {
+        if (!currentToken.atLast()) {
             nextToken();
         }
+        return new Block(line, column, statements);
     }
 
     /**
      * Analisa uma sequência de comandos dentro de um bloco.
      * Gramática: Comandos -> Comando Comandos | ε
      */
-    private void parseCommands() throws CompilerException {
+    private List<Statement> parseCommands() throws CompilerException {
+        List<Statement> statements = new ArrayList<>();
         // A condição de parada é encontrar o 'end' do bloco.
-        if (!currentToken.getName().equalsIgnoreCase("end")) {
-            parseCommand();
-            parseCommands(); // Recursão para analisar o próximo comando.
+        while (!currentToken.is(TokenKind.END)) {
+            statements.add(parseCommand());
         }
+        return statements;
     }
 
     /**
      * Analisa um único comando, delegando para o método específico.
      * Gramática: Comando -> Comando_Atrib | Comando_IO | Comando_Cond | Comando_Rep | Bloco
      */
-    private void parseCommand() throws CompilerException {
-        String name = currentToken.getName().toLowerCase();
-
-        switch (name) {
-            case "write":
-            case "writeln":
-                parseWrite();
-                break;
-            case "readln":
-                parseReadln();
-                break;
-            case "while":
-                parseWhile();
-                break;
-            case "if":
-                parseIf();
-                break;
-            case "else":
-                parseElse();
-                break;
-            case "begin":
-                parseBlock(); // Um bloco pode conter outros blocos.
-                break;
+    private Statement parseCommand() throws CompilerException {
+        // A espécie já foi resolvida pelo léxico; o despacho é um switch sobre o enum.
+        switch (currentToken.kind()) {
+            case WRITE:
+            case WRITELN:
+                return parseWrite();
+            case READLN:
+                return parseReadln();
+            case WHILE:
+                return parseWhile();
+            case IF:
+                return parseIf();
+            case BEGIN:
+                return parseBlock(); // Um bloco pode conter outros blocos.
             default:
                 // Se não for uma palavra-chave de comando, deve ser uma atribuição (que começa com um id).
-                if (currentToken.getClassification().equalsIgnoreCase("id")) {
-                    parseAssignment();
-                } else {
-                    ErrorHandler.syntaxError("um comando válido", currentToken);
+                // Um 'else' fora do corpo de um 'if' também cai aqui, como comando inválido.
+                if (!currentToken.is(TokenKind.IDENTIFIER)) {
+                    ErrorHandler.syntaxError("um comando válido", currentToken.toToken());
                 }
+                return parseAssignment();
         }
     }
 
     // Analisa os comandos de escrita (write/writeln).
-    private void parseWrite() throws CompilerException {
+    private Write parseWrite() throws CompilerException {
+        int line = currentToken.line();
+        int column = currentToken.column();
+        boolean newLine = currentToken.is(TokenKind.WRITELN);
         nextToken(); // Consome 'write' ou 'writeln'
-        parseStrConcat(); // Analisa a lista de expressões a serem impressas.
-        expectName(";");
+        List<Expression> arguments = parseStrConcat(); // Analisa a lista de expressões a serem impressas.
+        expect(TokenKind.SEMICOLON);
         nextToken();
+        return new Write(line, column, newLine, arguments);
     }
 
     // Analisa a lista de expressões para os comandos de escrita.
-    private void parseStrConcat() throws CompilerException {
-        expectName(","); // A lista de expressões é separada por vírgula.
-        nextToken();
-
-        if (!TokenUtils.isConstOrId(this.currentToken)) {
-            ErrorHandler.syntaxErrorAssignment(currentToken);
-        }
-        nextToken();
-        // Verifica se há mais expressões na lista.
-        parseStrConcatTail();
-    }
+    private List<Expression> parseStrConcat() throws CompilerException {
+        List<Expression> arguments = new ArrayList<>();
+        // A lista de expressões é separada por vírgula; cada iteração consome ', valor'.
+        do {
+            expect(TokenKind.COMMA);
+            nextToken();
 
-    // Analisa a "cauda" (continuação) de uma lista de expressões de escrita.
-    private void parseStrConcatTail() throws CompilerException {
-        if (currentToken.getName().equalsIgnoreCase(",")) {
-            parseStrConcat(); // Se encontrar outra vírgula, analisa a próxima expressão.
-        }
+            if (!TokenUtils.isConstOrId(this.currentToken)) {
+                ErrorHandler.syntaxErrorAssignment(currentToken.toToken());
+            }
+            arguments.add(operand());
+            nextToken();
+        } while (currentToken.is(TokenKind.COMMA)); // Se encontrar outra vírgula, analisa a próxima expressão.
+        return arguments;
     }
 
     // Analisa o comando de leitura (readln).
-    private void parseReadln() throws CompilerException {
+    private Readln parseReadln() throws CompilerException {
+        int line = currentToken.line();
+        int column = currentToken.column();
         nextToken(); // Consome 'readln'
-        expectName(",");
+        expect(TokenKind.COMMA);
         nextToken();
-        expectClassification("ID"); // Espera um identificador de variável.
+        expectIdentifier("ID"); // Espera um identificador de variável.
+        Identifier target = identifier();
         nextToken();
-        expectName(";");
+        expect(TokenKind.SEMICOLON);
         nextToken();
+        return new Readln(line, column, target);
     }
 
     /**
      * Analisa um comando de atribuição.
      * Gramática: Atribuição -> id '=' Expressão ';'
      */
-    private void parseAssignment() throws CompilerException {
+    private Assign parseAssignment() throws CompilerException {
+        Identifier target = identifier();
         nextToken(); // Consome o 'id'
-        expectName("=");
+        expect(TokenKind.ASSIGN);
         nextToken();
-        parseExpression(false); // Analisa a expressão à direita. 'false' impede expressões lógicas aqui.
-        expectName(";");
+        Expression value = parseExpression(false); // Analisa a expressão à direita. 'false' impede expressões lógicas aqui.
+        expect(TokenKind.SEMICOLON);
         nextToken();
+        return new Assign(target.getLine(), target.getColumn(), target, value);
+    }
+
+    // Precedências (binding power) dos operadores binários; 0 indica que o token não é um operador binário.
+    private static final int PREC_OR = 1;
+    private static final int PREC_AND = 2;
+    private static final int PREC_RELATIONAL = 3;
+    private static final int PREC_ADDITIVE = 4;
+    private static final int PREC_MULTIPLICATIVE = 5;
+
+    private static int precedence(TokenKind kind) {
+        return switch (kind) {
+            case OR -> PREC_OR;
+            case AND -> PREC_AND;
+            case EQ_EQ, NOT_EQ, LT, GT, LE, GE -> PREC_RELATIONAL;
+            case PLUS, MINUS -> PREC_ADDITIVE;
+            case STAR, SLASH -> PREC_MULTIPLICATIVE;
+            default -> 0;
+        };
     }
 
     // Ponto de entrada para análise de qualquer tipo de expressão.
-    private void parseExpression(boolean allowLogical) throws CompilerException {
-        // Delega para o método de expressão lógica, que tem maior precedência.
-        parseLogicalExpression(allowLogical);
+    private Expression parseExpression(boolean allowLogical) throws CompilerException {
+        return parseExpression(PREC_OR, allowLogical);
     }
 
     /**
-     * Analisa expressões lógicas (com 'not', 'and', 'or').
-     * A estrutura segue a ordem de precedência.
+     * Analisa uma expressão por precedência de operadores (Pratt).
+     * Um laço consome todos os operadores com precedência maior ou igual a 'minPrecedence',
+     * associando à esquerda; só o operando direito de cada operador é analisado recursivamente,
+     * com a precedência seguinte. Assim, a profundidade da pilha depende apenas do aninhamento
+     * real (parênteses e 'not'), e não do comprimento da expressão.
+     * Precedência, da menor para a maior: or, and, relacionais, + -, * /.
      */
-    private void parseLogicalExpression(boolean allowLogical) throws CompilerException {
-        // 'not' tem alta precedência.
-        if (currentToken.getName().equalsIgnoreCase("not")) {
-            nextToken();
-            parseLogicalExpression(allowLogical);
-            return;
-        }
-
-        parseArithmeticExpression(allowLogical);
-
-        if (TokenUtils.isLogicalOp(this.currentToken)) {
-            if (!allowLogical) {
-                // Não se pode ter 'and' ou 'or' em uma atribuição normal.
-                ErrorHandler.syntaxErrorAssignmentLogicalExpression(this.currentToken);
-            } else {
-                nextToken();
-                parseArithmeticExpression(allowLogical);
+    private Expression parseExpression(int minPrecedence, boolean allowLogical) throws CompilerException {
+        Expression left = parsePrefix(allowLogical);
+
+        int precedence;
+        while ((precedence = precedence(currentToken.kind())) >= minPrecedence) {
+            if (!allowLogical && precedence <= PREC_RELATIONAL) {
+                // Não se pode ter operadores relacionais, 'and' ou 'or' em uma atribuição normal.
+                ErrorHandler.syntaxErrorAssignmentLogicalExpression(this.currentToken.toToken());
             }
-        }
-    }
-
-    // Os métodos a seguir (parseArithmeticExpression, parseTerm, parseFactor) implementam
-    // a análise de expressões aritméticas com a precedência correta:
-    // 1. Fator (números, variáveis, expressões entre parênteses)
-    // 2. Termo (multiplicação e divisão)
-    // 3. Expressão Aritmética (adição e subtração)
-
-    private void parseArithmeticExpression(boolean allowLogical) throws CompilerException {
-        parseTerm(allowLogical);
-        parseArithmeticExpressionTail(allowLogical);
-    }
-
-    private void parseArithmeticExpressionTail(boolean allowLogical) throws CompilerException {
-        if (currentToken.getName().equalsIgnoreCase("+") ||
-                currentToken.getName().equalsIgnoreCase("-")) {
+            int line = currentToken.line();
+            int column = currentToken.column();
+            TokenKind operator = currentToken.kind();
             nextToken();
-            parseTerm(allowLogical);
-            parseArithmeticExpressionTail(allowLogical); // Recursão para lidar com múltiplos operadores
+            Expression right = parseExpression(precedence + 1, allowLogical);
+            left = new Binary(line, column, operator, left, right);
         }
+        return left;
     }
 
-    private void parseTerm(boolean allowLogical) throws CompilerException {
-        parseFactor(allowLogical);
-        parseTermTail(allowLogical);
-    }
-
-    private void parseTermTail(boolean allowLogical) throws CompilerException {
-        if (currentToken.getName().equalsIgnoreCase("*") ||
-                currentToken.getName().equalsIgnoreCase("/")) {
+    /**
+     * Analisa o início de uma expressão: 'not', um valor, uma variável ou outra expressão entre parênteses.
+     * O operando de 'not' se estende até o próximo 'and'/'or' (ex: not a > b equivale a not (a > b)).
+     */
+    private Expression parsePrefix(boolean allowLogical) throws CompilerException {
+        if (currentToken.is(TokenKind.NOT)) {
+            int line = currentToken.line();
+            int column = currentToken.column();
             nextToken();
-            parseFactor(allowLogical);
-            parseTermTail(allowLogical); // Recursão
+            return new Unary(line, column, TokenKind.NOT, parseExpression(PREC_RELATIONAL, allowLogical));
         }
-    }
-
-    // Analisa o nível mais fundamental de uma expressão: um valor, uma variável ou outra expressão entre parênteses.
-    private void parseFactor(boolean allowLogical) throws CompilerException {
-        if (TokenUtils.isConstOrId(this.currentToken) || currentToken.getType().equalsIgnoreCase("boolean")) {
+        if (TokenUtils.isConstOrId(this.currentToken)) {
+            Expression operand = operand();
             nextToken();
-        } else if (currentToken.getName().equalsIgnoreCase("(")) { // Trata expressões entre parênteses.
+            return operand;
+        }
+        if (currentToken.is(TokenKind.LPAREN)) { // Trata expressões entre parênteses.
             nextToken();
-            parseExpression(allowLogical); // Analisa a expressão interna.
-            expectName(")");
+            Expression inner = parseExpression(allowLogical); // Analisa a expressão interna.
+            expect(TokenKind.RPAREN);
             nextToken();
-        } else {
-            ErrorHandler.syntaxError("CONST, ID ou EXPRESSÃO entre parênteses", currentToken);
+            return inner;
         }
+        ErrorHandler.syntaxError("CONST, ID ou EXPRESSÃO entre parênteses", currentToken.toToken());
+        return null;
     }
 
-    // Analisa um comando 'if'.
-    private void parseIf() throws CompilerException {
+    /**
+     * Analisa um comando 'if', com o 'else' opcional dentro do seu bloco.
+     * Gramática: If -> 'if' Expressão 'begin' Comandos ['else' Bloco] 'end'
+     */
+    private If parseIf() throws CompilerException {
+        int line = currentToken.line();
+        int column = currentToken.column();
         nextToken(); // consome 'if'
-        parseExpression(true); // A condição do 'if' deve ser uma expressão lógica.
-        parseBlock(); // O corpo do 'if' é um bloco.
+        Expression condition = parseExpression(true); // A condição do 'if' deve ser uma expressão lógica.
+
+        // O corpo do 'if' é um bloco, que termina no 'else' ou no 'end'.
+        expect(TokenKind.BEGIN);
+        int blockLine = currentToken.line();
+        int blockColumn = currentToken.column();
+        nextToken();
+        List<Statement> statements = new ArrayList<>();
+        while (!currentToken.is(TokenKind.END) && !currentToken.is(TokenKind.ELSE)) {
+            statements.add(parseCommand());
+        }
+        Block thenBlock = new Block(blockLine, blockColumn, statements);
+
+        Block elseBlock = null;
+        if (currentToken.is(TokenKind.ELSE)) {
+            nextToken(); // consome 'else'
+            elseBlock = parseBlock();
+        }
+
+        expect(TokenKind.END);
+        if (!currentToken.atLast()) {
+            nextToken();
+        }
+        return new If(line, column, condition, thenBlock, elseBlock);
     }
 
     // Analisa um comando 'while'.
-    private void parseWhile() throws CompilerException {
+    private While parseWhile() throws CompilerException {
+        int line = currentToken.line();
+        int column = currentToken.column();
         nextToken(); // consome 'while'
-        parseExpression(true); // A condição do 'while' deve ser uma expressão lógica.
-        parseBlock(); // O corpo do 'while' é um bloco.
-    }
-
-    // Analisa a cláusula 'else'.
-    private void parseElse() throws CompilerException {
-        nextToken(); // consome 'else'
-        parseBlock();
+        Expression condition = parseExpression(true); // A condição do 'while' deve ser uma expressão lógica.
+        Block body = parseBlock(); // O corpo do 'while' é um bloco.
+        return new While(line, column, condition, body);
     }
-}
\ No newline at end of file
+}
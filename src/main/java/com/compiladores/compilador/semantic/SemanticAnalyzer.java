@@ -1,323 +1,274 @@
 package com.compiladores.compilador.semantic;
 
+import com.compiladores.compilador.ast.Assign;
+import com.compiladores.compilador.ast.AstVisitor;
+import com.compiladores.compilador.ast.Binary;
+import com.compiladores.compilador.ast.Block;
+import com.compiladores.compilador.ast.ConstDecl;
+import com.compiladores.compilador.ast.Decl;
+import com.compiladores.compilador.ast.Expression;
+import com.compiladores.compilador.ast.Identifier;
+import com.compiladores.compilador.ast.If;
+import com.compiladores.compilador.ast.Literal;
+import com.compiladores.compilador.ast.Program;
+import com.compiladores.compilador.ast.Readln;
+import com.compiladores.compilador.ast.Statement;
+import com.compiladores.compilador.ast.Unary;
+import com.compiladores.compilador.ast.VarDecl;
+import com.compiladores.compilador.ast.While;
+import com.compiladores.compilador.ast.Write;
 import com.compiladores.compilador.exceptions.CompilerException;
 import com.compiladores.compilador.exceptions.ErrorHandler;
+import com.compiladores.compilador.lexer.LcType;
 import com.compiladores.compilador.lexer.Token;
+import com.compiladores.compilador.lexer.TokenKind;
+import com.compiladores.compilador.symboltable.Declaration;
+import com.compiladores.compilador.symboltable.DeclarationTable;
 import com.compiladores.compilador.symboltable.SymbolsTable;
-import com.compiladores.compilador.utils.TokenUtils;
-
-import java.util.ArrayList;
 
 /**
  * Realiza a análise semântica do código.
  * Esta fase verifica a coerência e o significado do programa, como a checagem de tipos,
  * a declaração de variáveis e a validade das expressões.
+ *
+ * É um visitante da AST: cada identificador é ligado à sua declaração (busca O(1) na
+ * tabela de declarações) e cada expressão recebe o seu tipo, que a geração de código reutiliza.
+ * As visitas de expressões retornam o tipo calculado; as de comandos retornam nulo.
  */
-public class SemanticAnalyzer {
+public class SemanticAnalyzer implements AstVisitor<LcType, CompilerException> {
 
-    private final SymbolsTable symbolsTable;
-    // Lista para manter o controle de todos os identificadores (variáveis/constantes) declarados.
-    private final ArrayList<Token> declaredTokens = new ArrayList<>();
-    // Lista para guardar os nomes das constantes.
-    private final ArrayList<String> constantNames = new ArrayList<>();
-    private Token currentToken;
-    private int currentTokenIndex = 0;
-    // Mantém o tipo esperado durante a análise de uma declaração ou expressão.
-    private String currentType;
+    // Declarações de variáveis e constantes, indexadas pelo id de símbolo do nome.
+    private final DeclarationTable declarations;
 
     public SemanticAnalyzer(SymbolsTable symbolsTable) {
-        this.symbolsTable = symbolsTable;
-        this.currentToken = symbolsTable.currentToken(currentTokenIndex);
+        this.declarations = symbolsTable.getDeclarations();
     }
 
     // Ponto de entrada principal para a análise semântica.
-    public void analyze() throws CompilerException {
-        // 1. Processa todas as declarações primeiro para popular a lista de 'declaredTokens'.
-        checkDeclarations();
-        // 2. Com base nas declarações, atualiza o tipo de todos os tokens na tabela de símbolos.
-        updateSymbolTypes();
-        // 3. Percorre o código novamente para verificar a semântica das atribuições e expressões.
-        checkAssignments();
+    public void analyze(Program program) throws CompilerException {
+        program.accept(this);
     }
 
-    private void nextToken() {
-        if (currentTokenIndex < symbolsTable.getSize() - 1) {
-            currentToken = symbolsTable.currentToken(++currentTokenIndex);
-        }
-    }
-
-    private void previousToken() {
-        currentToken = symbolsTable.currentToken(--currentTokenIndex);
-    }
-
-    // Verifica se o token atual (um identificador) já foi declarado.
-    private boolean isDeclared() {
-        for (Token t : declaredTokens) {
-            if (t.getName().equalsIgnoreCase(currentToken.getName())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    // Valida se o tipo do token atual é compatível com o tipo do alvo da atribuição.
-    private void expectAssignment(Token target) throws CompilerException {
-        if (!currentToken.getType().equalsIgnoreCase(target.getType())) {
-            ErrorHandler.semanticErrorAssignment(currentToken, target);
+    @Override
+    public LcType visitProgram(Program node) throws CompilerException {
+        // 1. Processa todas as declarações primeiro para popular a tabela de declarações.
+        for (Decl declaration : node.getDeclarations()) {
+            declaration.accept(this);
         }
+        // 2. Percorre o bloco principal verificando atribuições e expressões.
+        node.getBlock().accept(this);
+        return null;
     }
 
     /*
-     * Percorre a seção de declarações, registrando cada variável e constante declarada.
-     * Também realiza a primeira verificação de tipo para declarações com inicialização.
+     * Registra uma variável declarada e, se houver inicialização, verifica se o valor tem o tipo declarado.
+     * Na seção de declarações, o valor inicial precisa ser uma constante literal: um identificador
+     * ainda não tem tipo resolvido nesse ponto.
      */
-    private void checkDeclarations() throws CompilerException {
-        if (TokenUtils.isPrimitiveType(this.currentToken) || currentToken.getName().equalsIgnoreCase("final")) {
-            // Verifica se a declaração atual é de uma constante.
-            boolean isConstant = currentToken.getName().equalsIgnoreCase("final");
-
-            if (isConstant) {
-                currentType = "final";
-            } else {
-                currentType = currentToken.getName();
-            }
-            nextToken(); // Avança para o ID
-
-            Token declared = currentToken;
-
-            // ADICIONADO: Se for uma constante, registre seu nome.
-            if (isConstant) {
-                constantNames.add(declared.getName());
-            }
-
-            declared.setType(currentType);
-            declaredTokens.add(declared);
-            nextToken(); // Avança para '=' ou ';'
-
-            // Se for uma declaração com inicialização
-            if (currentToken.getName().equals("=")) {
-                nextToken(); // Avança para o valor
-
-                if (currentType.equalsIgnoreCase("final")) {
-                    currentType = currentToken.getType();
-                    declared.setType(currentType); // Define o tipo de dado real (int, string, etc.)
-                }
-
-                expectAssignment(declared);
-                nextToken();
+    @Override
+    public LcType visitVarDecl(VarDecl node) throws CompilerException {
+        Declaration declaration = declare(node, node.getType(), false);
+
+        if (node.hasInitializer()) {
+            Expression value = node.getInitializer();
+            LcType valueType = value instanceof Literal ? value.getType() : LcType.NULL;
+            if (valueType != node.getType()) {
+                ErrorHandler.semanticErrorAssignment(tokenOf(value, valueType), tokenOf(declaration));
             }
-
-            nextToken();
-            checkDeclarations();
         }
+        return null;
     }
 
-    /**
-     * Percorre o corpo do programa (após as declarações) para validar o uso de variáveis.
-     * Verifica atribuições e expressões em estruturas de controle.
-     */
-    private void checkAssignments() throws CompilerException {
-        nextToken();
-
-        // Se encontrar um identificador, pode ser o início de uma atribuição.
-        if (currentToken.getClassification().equalsIgnoreCase("id")) {
-            if (!isDeclared()) {
-                ErrorHandler.semanticErrorNotDeclared(currentToken);
-            }
-            checkAssignment();
-        }
+    // Registra uma constante; o tipo da constante é o do seu valor.
+    @Override
+    public LcType visitConstDecl(ConstDecl node) throws CompilerException {
+        Expression value = node.getInitializer();
+        LcType type = value instanceof Literal ? value.getType() : LcType.NULL;
+        declare(node, type, true);
+        return null;
+    }
 
-        // Se for uma estrutura de controle, a expressão seguinte deve ser booleana.
-        if (currentToken.getName().equalsIgnoreCase("while") || currentToken.getName().equalsIgnoreCase("if")) {
-            currentType = "boolean"; // O tipo esperado para a expressão é 'boolean'.
-            checkBooleanExpression();
-        }
+    private Declaration declare(Decl node, LcType type, boolean constant) {
+        Identifier name = node.getName();
+        Declaration declaration = declarations.declare(name.getSymbolId(), name.getName(), type, constant,
+                name.getLine(), name.getColumn(), node.getInitializer());
+        name.setDeclaration(declaration);
+        return declaration;
+    }
 
-        // Continua a verificação até o final da tabela de símbolos.
-        if (currentTokenIndex < symbolsTable.getSize() - 1) {
-            checkAssignments();
+    // Cada bloco abre um escopo; ao sair dele, as declarações internas deixam de ser visíveis.
+    @Override
+    public LcType visitBlock(Block node) throws CompilerException {
+        declarations.enterScope();
+        for (Statement statement : node.getStatements()) {
+            statement.accept(this);
         }
+        declarations.exitScope();
+        return null;
     }
 
-    // Valida uma única instrução de atribuição.
-    private void checkAssignment() throws CompilerException {
-        // Loop para verificar se o token atual é uma constante.
-        for (String constName : constantNames) {
-            if (constName.equalsIgnoreCase(currentToken.getName())) {
-                ErrorHandler.semanticErrorAssignmentToConstant(currentToken);
-            }
-        }
-
-        for (Token declared : declaredTokens) {
-            // Encontra a declaração correspondente ao ID atual.
-            if (declared.getName().equalsIgnoreCase(currentToken.getName())) {
-                currentType = declared.getType(); // Define o tipo esperado para a expressão.
-                nextToken(); // Avança para o '='
-
-                if (currentToken.getName().equals("=")) {
-                    nextToken(); // Avança para o início da expressão.
-
-                    // Se for uma atribuição simples (ex: x = 10;), a validação é mais direta.
-                    if (isSimpleValue()) {
-                        expectAssignment(declared);
-                        nextToken();
-                    } else {
-                        // Se for uma expressão complexa (ex: x = 5 * y;), valida a expressão inteira.
-                        validateExpression();
-                    }
-                }
-            }
+    // A condição do 'if' deve ser booleana.
+    @Override
+    public LcType visitIf(If node) throws CompilerException {
+        checkCondition(node.getCondition());
+        node.getThenBlock().accept(this);
+        if (node.hasElse()) {
+            node.getElseBlock().accept(this);
         }
+        return null;
     }
 
-    // Verifica se uma atribuição é de um valor simples (sem operadores).
-    private boolean isSimpleValue() {
-        nextToken();
-        boolean isEnd = currentToken.getName().equals(";");
-        previousToken();
-        return isEnd;
+    // A condição do 'while' deve ser booleana.
+    @Override
+    public LcType visitWhile(While node) throws CompilerException {
+        checkCondition(node.getCondition());
+        node.getBody().accept(this);
+        return null;
     }
 
-    // Valida uma expressão complexa, garantindo que o tipo resultante seja o esperado.
-    private void validateExpression() throws CompilerException {
-        String resultType = evaluateExpression(); // Calcula o tipo resultante da expressão.
-
-        // Compara o tipo resultante com o tipo da variável que recebe a atribuição.
-        if (!resultType.equalsIgnoreCase(currentType)) {
-            ErrorHandler.semanticErrorInvalidExpression(currentType, resultType, currentToken);
+    // Valida a expressão de um 'if' ou 'while', garantindo que resulte em 'boolean'.
+    private void checkCondition(Expression condition) throws CompilerException {
+        LcType resultType = condition.accept(this);
+        if (resultType != LcType.BOOLEAN) {
+            ErrorHandler.semanticErrorInvalidExpression("boolean", resultType.lcName(), tokenOf(condition));
         }
     }
 
     /**
-     * Avalia uma expressão e retorna seu tipo resultante.
-     * Lida com operadores aritméticos.
+     * Valida uma atribuição: o alvo deve estar declarado, não pode ser uma constante,
+     * e o valor deve ter o mesmo tipo da variável.
      */
-    private String evaluateExpression() throws CompilerException {
-        String leftType;
-
-        if (currentToken.getName().equals("(")) { // Expressão entre parênteses
-            nextToken();
-            leftType = evaluateExpression();
-            nextToken(); // consome ')'
-        } else if (TokenUtils.isConstOrId(this.currentToken)) { // Valor ou variável
-            leftType = currentToken.getType();
-            nextToken();
-        } else {
-            ErrorHandler.semanticErrorInvalidToken(currentToken);
-            return "unknown";
-        }
-
-        // Loop para lidar com operadores
-        while (!isExpressionEnd()) {
-            String op = currentToken.getName();
-            boolean isArith = TokenUtils.isArithmeticOperator(op);
-            boolean isLogic = TokenUtils.isLogicalOperator(op);
-
-            nextToken();
-            String rightType = evaluateExpression(); // Avalia o lado direito recursivamente.
-
-            if (isArith) {
-                // Para operações aritméticas, ambos os operandos devem ser 'int'.
-                if (!leftType.equals("int") || !rightType.equals("int")) {
-                    ErrorHandler.semanticErrorInvalidExpression("int", rightType, currentToken);
-                }
-                leftType = "int"; // O resultado de uma operação aritmética é 'int'.
-            } else if (isLogic) {
-                // Para operações lógicas, ambos devem ser 'int' ou 'boolean' (dependendo do operador).
-                if (!leftType.equals("int") || !rightType.equals("int")) {
-                    ErrorHandler.semanticErrorInvalidExpression("boolean", rightType, currentToken);
-                }
-                leftType = "boolean"; // O resultado é 'boolean'.
-                break;
+    @Override
+    public LcType visitAssign(Assign node) throws CompilerException {
+        Declaration declaration = resolveTarget(node.getTarget());
+        Expression value = node.getValue();
+        LcType valueType = value.accept(this);
+
+        if (valueType != declaration.getType()) {
+            if (value.isOperand()) {
+                // Atribuição simples (ex: x = 10;).
+                ErrorHandler.semanticErrorAssignment(tokenOf(value, valueType), tokenOf(declaration));
+            } else {
+                // Expressão complexa (ex: x = 5 * y;).
+                ErrorHandler.semanticErrorInvalidExpression(declaration.getType().lcName(), valueType.lcName(),
+                        tokenOf(value));
             }
         }
-
-        return leftType;
+        return null;
     }
 
-    // Verifica se o token atual marca o fim de uma expressão.
-    private boolean isExpressionEnd() {
-        String name = currentToken.getName();
-        return name.equals(";") || name.equals(")") || name.equals(",") || (!TokenUtils.isArithmeticOp(this.currentToken) && !TokenUtils.isLogicalOp(this.currentToken));
+    // Os valores escritos podem ser literais ou variáveis declaradas.
+    @Override
+    public LcType visitWrite(Write node) throws CompilerException {
+        for (Expression argument : node.getArguments()) {
+            argument.accept(this);
+        }
+        return null;
     }
 
-    // Valida a expressão de um 'if' ou 'while', garantindo que resulte em 'boolean'.
-    private void checkBooleanExpression() throws CompilerException {
-        nextToken(); // Avança para o início da expressão.
-        String resultType = parseExpressionUntil("begin");
-        if (!resultType.equals("boolean")) {
-            ErrorHandler.semanticErrorInvalidExpression("boolean", resultType, currentToken);
-        }
+    // O destino da leitura recebe um valor, então segue as mesmas regras do alvo de uma atribuição.
+    @Override
+    public LcType visitReadln(Readln node) throws CompilerException {
+        resolveTarget(node.getTarget());
+        return null;
     }
 
     /**
-     * Analisa uma expressão até encontrar um token de parada (como 'begin').
-     * Usado para expressões de if/while.
+     * Calcula o tipo de uma operação binária.
+     * Operadores aritméticos exigem 'int' nos dois lados e resultam em 'int'.
+     * Operadores relacionais comparam dois 'int' ou dois 'boolean' e resultam em 'boolean';
+     * 'and' e 'or' operam sobre dois 'boolean'.
      */
-    private String parseExpressionUntil(String stopToken) throws CompilerException {
-        String exprType = null;
-
-        if (TokenUtils.isConstOrId(this.currentToken)) {
-            if (currentToken.getClassification().equalsIgnoreCase("id") && !isDeclared()) {
-                ErrorHandler.semanticErrorNotDeclared(currentToken);
+    @Override
+    public LcType visitBinary(Binary node) throws CompilerException {
+        LcType leftType = node.getLeft().accept(this);
+        LcType rightType = node.getRight().accept(this);
+        TokenKind operator = node.getOperator();
+        LcType resultType;
+
+        if (operator.isArithmetic()) {
+            if (leftType != LcType.INT || rightType != LcType.INT) {
+                LcType invalidType = leftType != LcType.INT ? leftType : rightType;
+                ErrorHandler.semanticErrorInvalidExpression("int", invalidType.lcName(), tokenOf(node));
             }
-            exprType = currentToken.getType();
-            nextToken();
+            resultType = LcType.INT;
+        } else if (operator == TokenKind.AND || operator == TokenKind.OR) {
+            if (leftType != LcType.BOOLEAN || rightType != LcType.BOOLEAN) {
+                LcType invalidType = leftType != LcType.BOOLEAN ? leftType : rightType;
+                ErrorHandler.semanticErrorInvalidExpression("boolean", invalidType.lcName(), tokenOf(node));
+            }
+            resultType = LcType.BOOLEAN;
         } else {
-            ErrorHandler.semanticErrorInvalidExpressionAfterControl(currentToken);
+            if (!(leftType == LcType.INT && rightType == LcType.INT) &&
+                    !(leftType == LcType.BOOLEAN && rightType == LcType.BOOLEAN)) {
+                ErrorHandler.semanticErrorInvalidExpression(leftType.lcName(), rightType.lcName(), tokenOf(node));
+            }
+            resultType = LcType.BOOLEAN;
         }
 
-        while (!currentToken.getName().equalsIgnoreCase(stopToken)) {
-            String op = currentToken.getName();
-            boolean isLogic = TokenUtils.isLogicalOperator(op);
-            boolean isArith = TokenUtils.isArithmeticOperator(op);
+        node.setType(resultType);
+        return resultType;
+    }
 
-            nextToken();
+    // 'not' nega um valor 'boolean'.
+    @Override
+    public LcType visitUnary(Unary node) throws CompilerException {
+        LcType operandType = node.getOperand().accept(this);
+        if (operandType != LcType.BOOLEAN) {
+            ErrorHandler.semanticErrorInvalidExpression("boolean", operandType.lcName(), tokenOf(node));
+        }
+        node.setType(LcType.BOOLEAN);
+        return LcType.BOOLEAN;
+    }
 
-            if (!TokenUtils.isConstOrId(this.currentToken)) {
-                ErrorHandler.semanticErrorExpectedOperandAfter(op, currentToken);
-            }
+    // O tipo de um literal já foi definido pelo analisador léxico.
+    @Override
+    public LcType visitLiteral(Literal node) {
+        return node.getType();
+    }
 
-            String rightType = currentToken.getType();
+    // Liga o uso do identificador à sua declaração; o tipo do nó passa a ser o tipo declarado.
+    @Override
+    public LcType visitIdentifier(Identifier node) throws CompilerException {
+        return resolve(node).getType();
+    }
 
-            if (isLogic) {
-                // Operadores lógicos (and, or) podem operar em booleanos.
-                // Operadores relacionais (==, <, >) operam em inteiros e resultam em booleano.
-                if (!(exprType.equals("int") && rightType.equals("int")) &&
-                        !(exprType.equals("boolean") && rightType.equals("boolean"))) {
-                    ErrorHandler.semanticErrorInvalidExpression(exprType, rightType, currentToken);
-                }
-                exprType = "boolean"; // O resultado final é sempre booleano.
-            } else if (isArith) {
-                if (!exprType.equals("int") || !rightType.equals("int")) {
-                    ErrorHandler.semanticErrorInvalidExpression("int", rightType, currentToken);
-                }
-                exprType = "int"; // O resultado intermediário é inteiro.
-            }
+    private Declaration resolve(Identifier node) throws CompilerException {
+        Declaration declaration = declarations.lookup(node.getSymbolId());
+        if (declaration == null) {
+            ErrorHandler.semanticErrorNotDeclared(tokenOf(node, LcType.NULL));
+        }
+        node.setDeclaration(declaration);
+        return declaration;
+    }
 
-            nextToken();
+    // Resolve o identificador que recebe um valor ('id = ...' ou 'readln, id'), que não pode ser constante.
+    private Declaration resolveTarget(Identifier target) throws CompilerException {
+        Declaration declaration = resolve(target);
+        if (declaration.isConstant()) {
+            ErrorHandler.semanticErrorAssignmentToConstant(tokenOf(target, declaration.getType()));
         }
+        return declaration;
+    }
 
-        return exprType;
+    // Reconstrói o token de um nó da AST para as mensagens de erro.
+    private static Token tokenOf(Expression node) {
+        return tokenOf(node, node.getType());
     }
 
-    /**
-     * Após as declarações serem processadas, esta função percorre a tabela de símbolos inteira
-     * e atualiza o tipo de cada token de identificador com o tipo que foi determinado
-     * na análise de declaração.
-     */
-    private void updateSymbolTypes() {
-        // Para cada variável/constante que foi declarada
-        for (Token declared : declaredTokens) {
-            // percorre toda a tabela de símbolos.
-            for (int i = 0; i < symbolsTable.getSize(); i++) {
-                Token symbol = symbolsTable.currentToken(i);
-                // Se encontrar um uso dessa variável
-                if (declared.getName().equalsIgnoreCase(symbol.getName())) {
-                    // atualize seu tipo.
-                    symbol.setType(declared.getType());
-                }
-            }
+    private static Token tokenOf(Expression node, LcType type) {
+        if (node instanceof Identifier identifier) {
+            return new Token(identifier.getName(), TokenKind.IDENTIFIER, type, node.getLine(), node.getColumn());
+        }
+        if (node instanceof Literal literal) {
+            return new Token(literal.getLexeme(), literal.getKind(), type, node.getLine(), node.getColumn());
         }
+        TokenKind operator = node instanceof Binary binary ? binary.getOperator() : ((Unary) node).getOperator();
+        return new Token(operator.text(), operator, type, node.getLine(), node.getColumn());
+    }
+
+    private static Token tokenOf(Declaration declaration) {
+        return new Token(declaration.getName(), TokenKind.IDENTIFIER, declaration.getType(),
+                declaration.getLine(), declaration.getColumn());
     }
-}
\ No newline at end of file
+}
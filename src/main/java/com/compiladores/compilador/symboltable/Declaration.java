@@ -0,0 +1,79 @@
+package com.compiladores.compilador.symboltable;
+
+import com.compiladores.compilador.ast.Expression;
+import com.compiladores.compilador.lexer.LcType;
+
+/**
+ * Registro de uma declaração de variável ou constante.
+ * Guarda o nome, o tipo, se é constante, a posição (linha e coluna) do nome declarado e o
+ * seu valor inicial (nulo, quando não há inicialização), além do escopo em que foi feita.
+ */
+public class Declaration {
+
+    private final int symbolId;
+    private final String name;
+    private final LcType type;
+    private final boolean constant;
+    private final int line;
+    private final int column;
+    private final Expression initializer;
+    private final int scopeDepth;
+
+    // Declaração do mesmo nome em um escopo externo, ocultada por esta (ou nula).
+    final Declaration shadowed;
+
+    Declaration(int symbolId, String name, LcType type, boolean constant, int line, int column,
+                Expression initializer, int scopeDepth, Declaration shadowed) {
+        this.symbolId = symbolId;
+        this.name = name;
+        this.type = type;
+        this.constant = constant;
+        this.line = line;
+        this.column = column;
+        this.initializer = initializer;
+        this.scopeDepth = scopeDepth;
+        this.shadowed = shadowed;
+    }
+
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LcType getType() {
+        return type;
+    }
+
+    public boolean isConstant() {
+        return constant;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public Expression getInitializer() {
+        return initializer;
+    }
+
+    public boolean hasInitializer() {
+        return initializer != null;
+    }
+
+    public int getScopeDepth() {
+        return scopeDepth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Declaration{name='%s', type='%s', constant=%s, line=%d, column=%d, scope=%d}",
+                name, type.lcName(), constant, line, column, scopeDepth);
+    }
+}
@@ -0,0 +1,101 @@
+package com.compiladores.compilador.symboltable;
+
+import com.compiladores.compilador.ast.Expression;
+import com.compiladores.compilador.lexer.LcType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabela de declarações com escopos aninhados, separada da sequência de tokens.
+ *
+ * Os nomes já chegam internados pelo léxico (id de símbolo sem diferenciar maiúsculas),
+ * então a tabela hash é o próprio repositório de símbolos: aqui cada id indexa diretamente
+ * a declaração visível mais interna, e a busca é O(1).
+ * Uma declaração em um bloco interno oculta a de mesmo nome do bloco externo; ao sair do
+ * bloco, as declarações dele são desfeitas e as ocultadas voltam a ser visíveis.
+ */
+public class DeclarationTable {
+
+    // Declaração visível de cada id de símbolo (nula se o nome não estiver declarado).
+    private Declaration[] visible = new Declaration[256];
+
+    // Declarações do escopo corrente e dos externos, em ordem; 'scopeStarts' marca onde cada escopo começa.
+    private final ArrayList<Declaration> scopeStack = new ArrayList<>();
+    private int[] scopeStarts = new int[16];
+    private int depth = 0;
+
+    // Todas as declarações já feitas, na ordem do código (inclusive as de escopos encerrados).
+    private final ArrayList<Declaration> all = new ArrayList<>();
+
+    // Abre um novo escopo (início de um bloco 'begin').
+    public void enterScope() {
+        depth++;
+        if (depth == scopeStarts.length) {
+            scopeStarts = Arrays.copyOf(scopeStarts, depth * 2);
+        }
+        scopeStarts[depth] = scopeStack.size();
+    }
+
+    // Fecha o escopo corrente (fim do bloco 'end'), restaurando as declarações ocultadas.
+    public void exitScope() {
+        if (depth == 0) {
+            return; // O escopo global nunca é fechado.
+        }
+        int start = scopeStarts[depth];
+        for (int i = scopeStack.size() - 1; i >= start; i--) {
+            Declaration declaration = scopeStack.remove(i);
+            visible[declaration.getSymbolId()] = declaration.shadowed;
+        }
+        depth--;
+    }
+
+    public int scopeDepth() {
+        return depth;
+    }
+
+    /**
+     * Registra uma declaração no escopo corrente.
+     * Uma nova declaração do mesmo nome no mesmo escopo substitui a anterior.
+     */
+    public Declaration declare(int symbolId, String name, LcType type, boolean constant,
+                               int line, int column, Expression initializer) {
+        ensureCapacity(symbolId);
+        Declaration declaration = new Declaration(symbolId, name, type, constant, line, column,
+                initializer, depth, visible[symbolId]);
+        visible[symbolId] = declaration;
+        scopeStack.add(declaration);
+        all.add(declaration);
+        return declaration;
+    }
+
+    // Declaração visível para o id de símbolo, procurando do escopo mais interno para o externo.
+    public Declaration lookup(int symbolId) {
+        return symbolId < visible.length ? visible[symbolId] : null;
+    }
+
+    // Declaração do id de símbolo feita no próprio escopo corrente (ou nula).
+    public Declaration lookupCurrentScope(int symbolId) {
+        Declaration declaration = lookup(symbolId);
+        return declaration != null && declaration.getScopeDepth() == depth ? declaration : null;
+    }
+
+    public boolean isDeclared(int symbolId) {
+        return lookup(symbolId) != null;
+    }
+
+    public List<Declaration> getDeclarations() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    private void ensureCapacity(int symbolId) {
+        if (symbolId >= visible.length) {
+            visible = Arrays.copyOf(visible, Math.max(symbolId + 1, visible.length * 2));
+        }
+    }
+}
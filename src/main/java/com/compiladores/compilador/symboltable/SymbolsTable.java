@@ -1,65 +1,67 @@
 package com.compiladores.compilador.symboltable;
 
+import com.compiladores.compilador.lexer.LcType;
 import com.compiladores.compilador.lexer.Token;
-
-import java.util.Set;
-import java.util.ArrayList;
+import com.compiladores.compilador.lexer.TokenKind;
+import com.compiladores.compilador.lexer.TokenStream;
 
 /**
  * Gerencia todos os tokens (símbolos) do código fonte.
  * Funciona como um repositório central que armazena os tokens na ordem em que aparecem
  * e fornece métodos para acessá-los e validá-los.
+ * Os tokens ficam em uma TokenStream (arrays primitivos paralelos), e não em objetos Token.
+ * As declarações de variáveis e constantes ficam à parte, em uma DeclarationTable com escopos.
  */
 public class SymbolsTable {
 
-    // Conjunto de todas as palavras reservadas da linguagem LC
-    private static final Set<String> reservedWords = Set.of(
-            "final", "int", "byte", "string", "while", "if", "else",
-            "and", "or", "not", "==", "=", "(", ")",
-            "<", ">", "<>", ">=", "<=", ",", "+",
-            "-", "*", "/", ";", "begin", "end", "readln",
-            "write", "writeln", "true", "false", "boolean");
-
-    private final ArrayList<Token> table;
+    private final TokenStream tokens;
+    private final DeclarationTable declarations;
 
     public SymbolsTable() {
-        this.table = new ArrayList<Token>();
+        this.tokens = new TokenStream();
+        this.declarations = new DeclarationTable();
+    }
+
+    public TokenStream getTokens() {
+        return this.tokens;
+    }
+
+    public DeclarationTable getDeclarations() {
+        return this.declarations;
     }
 
+    // Materializa o token de uma posição (para mensagens de erro e depuração).
     public Token currentToken(int index) {
-        return this.table.get(index);
+        return this.tokens.toToken(index);
     }
 
     public void addToken(Token token) {
-        table.add(token);
+        this.tokens.add(token.getKind(), token.getLcType(), this.tokens.getLexemes().intern(token.getName()),
+                token.getLine(), token.getColumn());
     }
 
+    // Palavras reservadas e operadores da linguagem LC (em minúsculas).
     public boolean isReservedWord(String word) {
-        return reservedWords.contains(word);
+        return TokenKind.reserved(word) != null;
     }
 
-    // Busca na tabela de símbolos o tipo de um determinado identificador.
-    public String getSymbolType(String symbolName) {
-        for (int i = this.table.size() - 1; i >= 0; i--) {
-            Token token = this.table.get(i);
-            if (token.getName().equals(symbolName)) {
-                if (token.getType() != null) {
-                    return token.getType();
-                }
-            }
+    // Busca na tabela de declarações o tipo de um determinado identificador, pelo seu id de símbolo.
+    public LcType getSymbolType(int symbolId) {
+        Declaration declaration = this.declarations.lookup(symbolId);
+        if (declaration == null) {
+            return LcType.NULL; // Retorna NULL se o símbolo não for encontrado.
         }
-        return null; // Retorna nulo se o símbolo não for encontrado.
+        return declaration.getType();
     }
 
     public int getSize() {
-        return this.table.size();
+        return this.tokens.size();
     }
 
     public void printSymbols() {
         System.out.println("Tabela de Simbolos:\n============================================================================");
-        int indexSymbol = 0;
-        for (var token : table) {
-            System.out.printf("[Token: %s, %s\n", indexSymbol++, token);
+        for (int indexSymbol = 0; indexSymbol < this.tokens.size(); indexSymbol++) {
+            System.out.printf("[Token: %s, %s\n", indexSymbol, this.tokens.toToken(indexSymbol));
         }
         System.out.println("============================================================================");
     }
@@ -1,47 +1,43 @@
 package com.compiladores.compilador.utils;
 
-import com.compiladores.compilador.lexer.Token;
+import com.compiladores.compilador.lexer.TokenCursor;
+import com.compiladores.compilador.lexer.TokenKind;
 
 /**
  * Classe utilitária com métodos estáticos para facilitar a verificação
  * de propriedades de Tokens. Isso ajuda a evitar a repetição de código
  * e torna os analisadores mais legíveis.
+ * Todas as verificações usam a espécie (TokenKind) resolvida pelo analisador léxico.
  */
 public class TokenUtils {
 
-    // Verifica se uma string representa um operador lógico ou relacional.
-    public static boolean isLogicalOperator(String op) {
-        return op.equals("==") || op.equals("<") || op.equals("<=") ||
-                op.equals(">") || op.equals(">=") || op.equals("<>") ||
-                op.equalsIgnoreCase("and") || op.equalsIgnoreCase("or") ||
-                op.equalsIgnoreCase("not");
+    // Verifica se a espécie representa um operador lógico ou relacional.
+    public static boolean isLogicalOperator(TokenKind op) {
+        return op.isLogical();
     }
 
-    // Verifica se uma string representa um operador aritmético.
-    public static boolean isArithmeticOperator(String op) {
-        return op.equals("+") || op.equals("-") || op.equals("*") || op.equals("/");
+    // Verifica se a espécie representa um operador aritmético.
+    public static boolean isArithmeticOperator(TokenKind op) {
+        return op.isArithmetic();
     }
 
-    // Verifica se um token representa um tipo de dado primitivo da linguagem.
-    public static boolean isPrimitiveType(Token token) {
-        String name = token.getName().toLowerCase();
-        return name.equals("int") || name.equals("string") ||
-                name.equals("boolean") || name.equals("byte");
+    // Verifica se o token sob o cursor representa um tipo de dado primitivo da linguagem.
+    public static boolean isPrimitiveType(TokenCursor token) {
+        return token.kind().isPrimitiveType();
     }
 
-    // Verifica se a classificação de um token é "const" (constante) ou "id" (identificador).
-    public static boolean isConstOrId(Token token) {
-        String classification = token.getClassification();
-        return classification.equalsIgnoreCase("const") || classification.equalsIgnoreCase("id");
+    // Verifica se o token sob o cursor é uma constante ou um identificador.
+    public static boolean isConstOrId(TokenCursor token) {
+        return token.kind().isConstOrId();
     }
 
-    // Atalho para verificar se um token é um operador lógico.
-    public static boolean isLogicalOp(Token token) {
-        return isLogicalOperator(token.getName());
+    // Atalho para verificar se o token sob o cursor é um operador lógico.
+    public static boolean isLogicalOp(TokenCursor token) {
+        return isLogicalOperator(token.kind());
     }
 
-    // Atalho para verificar se um token é um operador aritmético.
-    public static boolean isArithmeticOp(Token token) {
-        return isArithmeticOperator(token.getName());
+    // Atalho para verificar se o token sob o cursor é um operador aritmético.
+    public static boolean isArithmeticOp(TokenCursor token) {
+        return isArithmeticOperator(token.kind());
     }
-}
\ No newline at end of file
+}